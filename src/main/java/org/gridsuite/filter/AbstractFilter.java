@@ -6,6 +6,7 @@
  */
 package org.gridsuite.filter;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import lombok.AllArgsConstructor;
@@ -37,6 +38,8 @@ import java.util.UUID;
     @JsonSubTypes.Type(value = IdentifierListFilter.class, name = "IDENTIFIER_LIST"),
     @JsonSubTypes.Type(value = ExpertFilter.class, name = "EXPERT")
 })
+// the type is written first, so that the subtype is known from the first property and the rest is read in a single pass
+@JsonPropertyOrder({"type"})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
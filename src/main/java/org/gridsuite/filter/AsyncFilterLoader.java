@@ -0,0 +1,24 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous counterpart of {@link FilterLoader}.
+ * <p>
+ * The returned future completes with the found filters, in the order of the requested {@link UUID UUIDs},
+ * missing filters being omitted.
+ *
+ * @see CoalescingFilterLoader
+ * @author agent <agent at local>
+ */
+public interface AsyncFilterLoader {
+    CompletableFuture<List<AbstractFilter>> getFiltersAsync(List<UUID> uuids);
+}
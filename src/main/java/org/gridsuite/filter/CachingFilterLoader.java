@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter;
+
+import lombok.Builder;
+import lombok.NonNull;
+import org.gridsuite.filter.utils.TimeUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link FilterLoader} decorator keeping the loaded filters in a bounded LRU cache.
+ * <p>
+ * Entries may expire after a time-to-live, missing filters are remembered (negative caching) so that
+ * they are not requested again, and entries can be invalidated by {@link UUID}.
+ * When a {@link FilterMetadataLoader} is provided, the modification date of a cached filter is
+ * checked on its first access after each revalidation interval and outdated filters are reloaded.
+ * <p>
+ * This loader is thread-safe. The cached filters are shared between callers and must not be modified.
+ * Concurrent misses on the same {@link UUID} may load it several times. The filters loaded while an
+ * invalidation occurs are returned but not cached, since they may be older than the invalidation.
+ *
+ * @author agent <agent at local>
+ */
+public class CachingFilterLoader implements FilterLoader {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+    public static final Duration DEFAULT_REVALIDATION_INTERVAL = Duration.ofSeconds(5);
+
+    private record CacheEntry(AbstractFilter filter, Instant expiresAt, Instant checkedAt) {
+        boolean isExpired(Instant now) {
+            return expiresAt != null && !now.isBefore(expiresAt);
+        }
+
+        boolean needsRevalidation(Instant now, Duration revalidationInterval) {
+            return filter != null && !now.isBefore(checkedAt.plus(revalidationInterval));
+        }
+    }
+
+    private final FilterLoader delegate;
+    private final Duration timeToLive;
+    private final boolean negativeCaching;
+    private final FilterMetadataLoader filterMetadataLoader;
+    private final Duration revalidationInterval;
+
+    private final Map<UUID, CacheEntry> entries;
+    // incremented by each invalidation, guarded by the entries
+    private long invalidationCount;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public CachingFilterLoader(@NonNull FilterLoader delegate) {
+        this(delegate, null, null, null, null, null);
+    }
+
+    /**
+     * @param delegate the loader used on cache misses
+     * @param maximumSize the maximum number of cached entries, {@link #DEFAULT_MAXIMUM_SIZE} if {@code null}
+     * @param timeToLive the duration after which an entry expires, no expiration if {@code null}
+     * @param negativeCaching whether missing filters are cached, {@code true} if {@code null}
+     * @param filterMetadataLoader if not {@code null}, used to check the modification date of cached filters
+     * @param revalidationInterval the minimum duration between two checks of the modification date of a cached filter,
+     * {@link #DEFAULT_REVALIDATION_INTERVAL} if {@code null}, {@link Duration#ZERO} to check it on each access
+     */
+    @Builder
+    public CachingFilterLoader(@NonNull FilterLoader delegate, Integer maximumSize, Duration timeToLive,
+                               Boolean negativeCaching, FilterMetadataLoader filterMetadataLoader,
+                               Duration revalidationInterval) {
+        if (maximumSize != null && maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be strictly positive");
+        }
+        if (revalidationInterval != null && revalidationInterval.isNegative()) {
+            throw new IllegalArgumentException("revalidationInterval must not be negative");
+        }
+        this.delegate = delegate;
+        this.timeToLive = timeToLive;
+        this.negativeCaching = negativeCaching == null || negativeCaching;
+        this.filterMetadataLoader = filterMetadataLoader;
+        this.revalidationInterval = revalidationInterval != null ? revalidationInterval : DEFAULT_REVALIDATION_INTERVAL;
+        int capacity = maximumSize != null ? maximumSize : DEFAULT_MAXIMUM_SIZE;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CacheEntry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public List<AbstractFilter> getFilters(List<UUID> uuids) {
+        Map<UUID, AbstractFilter> filters = new HashMap<>();
+        Map<UUID, CacheEntry> entriesToCheck = new HashMap<>();
+        List<UUID> uuidsToLoad = new ArrayList<>();
+        Instant now = TimeUtils.now();
+        long initialInvalidationCount;
+
+        synchronized (entries) {
+            initialInvalidationCount = invalidationCount;
+            for (UUID uuid : new LinkedHashSet<>(uuids)) {
+                CacheEntry entry = entries.get(uuid);
+                if (entry != null && !entry.isExpired(now)) {
+                    filters.put(uuid, entry.filter());
+                    if (filterMetadataLoader != null && entry.needsRevalidation(now, revalidationInterval)) {
+                        entriesToCheck.put(uuid, entry);
+                    }
+                } else {
+                    uuidsToLoad.add(uuid);
+                }
+            }
+        }
+        uuidsToLoad.addAll(removeOutdatedFilters(filters, entriesToCheck, now));
+        hitCount.add(filters.size());
+        missCount.add(uuidsToLoad.size());
+
+        if (!uuidsToLoad.isEmpty()) {
+            filters.putAll(load(uuidsToLoad, now, initialInvalidationCount));
+        }
+        return uuids.stream()
+            .map(filters::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    private List<UUID> removeOutdatedFilters(Map<UUID, AbstractFilter> cachedFilters, Map<UUID, CacheEntry> entriesToCheck, Instant now) {
+        if (entriesToCheck.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> uuidsToCheck = List.copyOf(entriesToCheck.keySet());
+        Map<UUID, Date> modificationDates = new HashMap<>();
+        List<? extends IFilterAttributes> filtersMetadata = filterMetadataLoader.getFiltersMetadata(uuidsToCheck);
+        if (filtersMetadata != null) {
+            filtersMetadata.stream()
+                .filter(Objects::nonNull)
+                .forEach(metadata -> modificationDates.put(metadata.getId(), metadata.getModificationDate()));
+        }
+        // a filter without metadata has been deleted, it is reloaded to be negatively cached
+        List<UUID> outdatedUuids = uuidsToCheck.stream()
+            .filter(uuid -> !modificationDates.containsKey(uuid)
+                || !Objects.equals(modificationDates.get(uuid), cachedFilters.get(uuid).getModificationDate()))
+            .toList();
+        outdatedUuids.forEach(cachedFilters::remove);
+
+        // the up-to-date entries are not checked again before the next revalidation interval
+        synchronized (entries) {
+            entriesToCheck.forEach((uuid, entry) -> {
+                if (!outdatedUuids.contains(uuid)) {
+                    entries.replace(uuid, entry, new CacheEntry(entry.filter(), entry.expiresAt(), now));
+                }
+            });
+        }
+        return outdatedUuids;
+    }
+
+    private Map<UUID, AbstractFilter> load(List<UUID> uuids, Instant now, long initialInvalidationCount) {
+        Map<UUID, AbstractFilter> loadedFilters = new HashMap<>();
+        List<AbstractFilter> filters = delegate.getFilters(uuids);
+        if (filters != null) {
+            filters.stream()
+                .filter(filter -> filter != null && filter.getId() != null)
+                .forEach(filter -> loadedFilters.putIfAbsent(filter.getId(), filter));
+        }
+
+        Instant expiresAt = timeToLive != null ? now.plus(timeToLive) : null;
+        synchronized (entries) {
+            if (invalidationCount != initialInvalidationCount) {
+                // the filters may have been loaded before the invalidation
+                return loadedFilters;
+            }
+            for (UUID uuid : uuids) {
+                AbstractFilter filter = loadedFilters.get(uuid);
+                if (filter != null || negativeCaching) {
+                    entries.put(uuid, new CacheEntry(filter, expiresAt, now));
+                } else {
+                    entries.remove(uuid);
+                }
+            }
+        }
+        return loadedFilters;
+    }
+
+    /**
+     * Removes a filter from the cache, whether it is cached as present or missing.
+     */
+    public void invalidate(@NonNull UUID uuid) {
+        synchronized (entries) {
+            invalidationCount++;
+            entries.remove(uuid);
+        }
+    }
+
+    /**
+     * Removes a filter from the cache if the cached version is older than the given modification date,
+     * typically when receiving a filter update notification.
+     */
+    public void invalidateIfOlderThan(@NonNull UUID uuid, @NonNull Date modificationDate) {
+        synchronized (entries) {
+            // a load in progress may return the version older than the given date
+            invalidationCount++;
+            CacheEntry entry = entries.get(uuid);
+            if (entry != null && (entry.filter() == null
+                || entry.filter().getModificationDate() == null
+                || entry.filter().getModificationDate().before(modificationDate))) {
+                entries.remove(uuid);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            invalidationCount++;
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+}
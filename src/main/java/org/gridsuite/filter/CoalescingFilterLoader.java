@@ -0,0 +1,256 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter;
+
+import lombok.Builder;
+import lombok.NonNull;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * {@link FilterLoader} decorator reducing the number of calls made to the delegate loader:
+ * <ul>
+ *     <li>a {@link UUID} already being loaded is not requested again, the callers share the same result (single-flight),</li>
+ *     <li>the {@link UUID UUIDs} requested within a short batch window are loaded with a single delegate call (micro-batching).</li>
+ * </ul>
+ * The synchronous {@link #getFilters(List)} doesn't wait for the end of the batch window: the pending {@link UUID UUIDs}
+ * are loaded at once with the ones it requests.
+ * The delegate is called on the given executor, {@link ForkJoinPool#commonPool()} by default, which should be replaced
+ * by a dedicated executor when the delegate is blocking (remote calls...).
+ * <p>
+ * Nothing is kept once a load completes, a {@link CachingFilterLoader} can be used as the delegate to also cache the results.
+ * This loader is thread-safe and should be {@link #close() closed} to release its batching thread.
+ *
+ * @author agent <agent at local>
+ */
+public class CoalescingFilterLoader implements AsyncFilterLoader, FilterLoader, AutoCloseable {
+
+    public static final Duration DEFAULT_BATCH_WINDOW = Duration.ofMillis(5);
+    public static final int DEFAULT_MAXIMUM_BATCH_SIZE = 100;
+
+    private final FilterLoader delegate;
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+    private final Duration batchWindow;
+    private final int maximumBatchSize;
+
+    /**
+     * Pending loads by {@link UUID}, completed with {@code null} for missing filters.
+     */
+    private final Map<UUID, CompletableFuture<AbstractFilter>> inFlightFilters = new ConcurrentHashMap<>();
+
+    private final List<UUID> pendingUuids = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    public CoalescingFilterLoader(@NonNull FilterLoader delegate) {
+        this(delegate, null, null, null, null);
+    }
+
+    /**
+     * @param delegate the loader actually loading the filters
+     * @param executor the executor calling the delegate, {@link ForkJoinPool#commonPool()} if {@code null}
+     * @param scheduler the scheduler used to flush the batches, a dedicated thread is created if {@code null}
+     * @param batchWindow how long the requested {@link UUID UUIDs} are gathered before being loaded,
+     *                    {@link #DEFAULT_BATCH_WINDOW} if {@code null}, no micro-batching if {@link Duration#ZERO zero}
+     * @param maximumBatchSize the number of {@link UUID UUIDs} above which a batch is loaded without waiting,
+     *                         {@link #DEFAULT_MAXIMUM_BATCH_SIZE} if {@code null}
+     */
+    @Builder
+    public CoalescingFilterLoader(@NonNull FilterLoader delegate, Executor executor, ScheduledExecutorService scheduler,
+                                  Duration batchWindow, Integer maximumBatchSize) {
+        if (batchWindow != null && batchWindow.isNegative()) {
+            throw new IllegalArgumentException("batchWindow must not be negative");
+        }
+        if (maximumBatchSize != null && maximumBatchSize <= 0) {
+            throw new IllegalArgumentException("maximumBatchSize must be strictly positive");
+        }
+        this.delegate = delegate;
+        this.executor = executor != null ? executor : ForkJoinPool.commonPool();
+        this.batchWindow = batchWindow != null ? batchWindow : DEFAULT_BATCH_WINDOW;
+        this.maximumBatchSize = maximumBatchSize != null ? maximumBatchSize : DEFAULT_MAXIMUM_BATCH_SIZE;
+        this.ownsScheduler = scheduler == null && !this.batchWindow.isZero();
+        this.scheduler = ownsScheduler ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "filter-loader-batching");
+            thread.setDaemon(true);
+            return thread;
+        }) : scheduler;
+    }
+
+    @Override
+    public CompletableFuture<List<AbstractFilter>> getFiltersAsync(List<UUID> uuids) {
+        return getFiltersAsync(uuids, false);
+    }
+
+    /**
+     * @param immediate whether the batch is loaded without waiting for the end of the batch window
+     */
+    private CompletableFuture<List<AbstractFilter>> getFiltersAsync(List<UUID> uuids, boolean immediate) {
+        Map<UUID, CompletableFuture<AbstractFilter>> futures = new HashMap<>();
+        List<UUID> uuidsToLoad = new ArrayList<>();
+        for (UUID uuid : uuids) {
+            if (!futures.containsKey(uuid)) {
+                CompletableFuture<AbstractFilter> future = new CompletableFuture<>();
+                CompletableFuture<AbstractFilter> inFlightFuture = inFlightFilters.putIfAbsent(uuid, future);
+                if (inFlightFuture == null) {
+                    uuidsToLoad.add(uuid);
+                    futures.put(uuid, future);
+                } else {
+                    futures.put(uuid, inFlightFuture);
+                }
+            }
+        }
+        try {
+            enqueue(uuidsToLoad, immediate);
+        } catch (Throwable e) { // NOSONAR rethrown
+            // the futures registered above would otherwise never be completed
+            complete(uuidsToLoad, Map.of(), e);
+            throw e;
+        }
+
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> uuids.stream()
+                .map(uuid -> futures.get(uuid).join())
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    @Override
+    public List<AbstractFilter> getFilters(List<UUID> uuids) {
+        try {
+            // the caller is blocked until the filters are loaded, so the batch window would only delay it
+            return getFiltersAsync(uuids, true).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void enqueue(List<UUID> uuids, boolean immediate) {
+        List<List<UUID>> batches = new ArrayList<>();
+        List<UUID> unscheduledBatch = List.of();
+        Throwable schedulingError = null;
+        synchronized (pendingUuids) {
+            for (UUID uuid : uuids) {
+                pendingUuids.add(uuid);
+                if (pendingUuids.size() >= maximumBatchSize) {
+                    batches.add(drainPendingUuids());
+                }
+            }
+            if (!pendingUuids.isEmpty()) {
+                if (closed || immediate || batchWindow.isZero()) {
+                    batches.add(drainPendingUuids());
+                } else if (scheduledFlush == null) {
+                    try {
+                        scheduledFlush = scheduler.schedule(this::flush, batchWindow.toNanos(), TimeUnit.NANOSECONDS);
+                    } catch (Throwable e) { // NOSONAR the pending loads are failed whatever the error
+                        // the pending UUIDs would never be flushed, for instance by a scheduler shut down
+                        unscheduledBatch = drainPendingUuids();
+                        schedulingError = e;
+                    }
+                }
+            }
+        }
+        batches.forEach(this::dispatch);
+        if (schedulingError != null) {
+            fail(unscheduledBatch, schedulingError);
+        }
+    }
+
+    private List<UUID> drainPendingUuids() {
+        List<UUID> batch = List.copyOf(pendingUuids);
+        pendingUuids.clear();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void flush() {
+        List<UUID> batch;
+        synchronized (pendingUuids) {
+            batch = drainPendingUuids();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private void dispatch(List<UUID> batch) {
+        try {
+            executor.execute(() -> load(batch));
+        } catch (Throwable e) { // NOSONAR the pending loads are failed whatever the error
+            fail(batch, e);
+        }
+    }
+
+    private void load(List<UUID> batch) {
+        Map<UUID, AbstractFilter> loadedFilters = new HashMap<>();
+        try {
+            List<AbstractFilter> filters = delegate.getFilters(batch);
+            if (filters != null) {
+                filters.stream()
+                    .filter(filter -> filter != null && filter.getId() != null)
+                    .forEach(filter -> loadedFilters.putIfAbsent(filter.getId(), filter));
+            }
+        } catch (Throwable e) { // NOSONAR the pending loads are failed whatever the error
+            fail(batch, e);
+            return;
+        }
+        complete(batch, loadedFilters, null);
+    }
+
+    /**
+     * Fails the pending loads of the batch, so that no caller waits forever, then rethrows the errors.
+     */
+    private void fail(List<UUID> batch, Throwable error) {
+        complete(batch, Map.of(), error);
+        if (error instanceof Error e) {
+            throw e;
+        }
+    }
+
+    private void complete(List<UUID> batch, Map<UUID, AbstractFilter> filters, Throwable error) {
+        for (UUID uuid : batch) {
+            // removed before being completed so that a request made from now on loads the filter again
+            CompletableFuture<AbstractFilter> future = inFlightFilters.remove(uuid);
+            if (future == null) {
+                continue;
+            }
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(filters.get(uuid));
+            }
+        }
+    }
+
+    /**
+     * Loads the pending {@link UUID UUIDs} without waiting for the end of the batch window. The next requests
+     * are loaded without micro-batching.
+     */
+    @Override
+    public void close() {
+        List<UUID> batch;
+        synchronized (pendingUuids) {
+            closed = true;
+            batch = drainPendingUuids();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+        if (ownsScheduler) {
+            scheduler.shutdownNow();
+        }
+    }
+}
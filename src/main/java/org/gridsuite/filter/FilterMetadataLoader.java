@@ -0,0 +1,20 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Loads the {@link IFilterAttributes attributes} of filters (id, modification date...), without their content.
+ *
+ * @see CachingFilterLoader
+ * @author agent <agent at local>
+ */
+public interface FilterMetadataLoader {
+    List<? extends IFilterAttributes> getFiltersMetadata(List<UUID> uuids);
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.exception;
+
+import lombok.Getter;
+
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Thrown when the evaluation of a filter on a network is stopped before its end, its partial results being discarded.
+ *
+ * @author agent <agent at local>
+ */
+@Getter
+public class FilterEvaluationCancelledException extends CancellationException {
+
+    public enum Reason {
+        CANCELLED,
+        DEADLINE_EXCEEDED
+    }
+
+    private final Reason reason;
+
+    // no constructor taking only a Throwable: the exceptions thrown by the ForkJoinPool workers are then rethrown as is
+    public FilterEvaluationCancelledException(Reason reason) {
+        super(Objects.requireNonNull(reason, "reason must not be null") == Reason.CANCELLED
+            ? "Filter evaluation cancelled"
+            : "Filter evaluation deadline exceeded");
+        this.reason = reason;
+    }
+}
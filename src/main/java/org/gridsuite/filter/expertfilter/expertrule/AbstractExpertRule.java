@@ -8,6 +8,7 @@ package org.gridsuite.filter.expertfilter.expertrule;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.powsybl.iidm.network.Identifiable;
@@ -19,6 +20,7 @@ import org.gridsuite.filter.FilterLoader;
 import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
 import org.gridsuite.filter.utils.expertfilter.CombinatorType;
 import org.gridsuite.filter.utils.expertfilter.DataType;
+import org.gridsuite.filter.utils.expertfilter.EvaluationContext;
 import org.gridsuite.filter.utils.expertfilter.FieldType;
 import org.gridsuite.filter.utils.expertfilter.OperatorType;
 
@@ -42,6 +44,8 @@ import java.util.UUID;
     @JsonSubTypes.Type(value = FilterUuidExpertRule.class, name = "FILTER_UUID"),
     @JsonSubTypes.Type(value = PropertiesExpertRule.class, name = "PROPERTIES"),
 })
+// the data type is written first, so that the nested rules are not buffered before their subtype is known
+@JsonPropertyOrder({"dataType"})
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @NoArgsConstructor
 @AllArgsConstructor
@@ -57,8 +61,21 @@ public abstract class AbstractExpertRule {
 
     private List<AbstractExpertRule> rules;
 
+    /**
+     * Evaluates the rule on an equipment, the referenced filters being cached in the given {@link Map map}
+     * which is not thread-safe.
+     */
     public abstract boolean evaluateRule(Identifiable<?> identifiable, FilterLoader filterLoader, Map<UUID, FilterEquipments> cachedUuidFilters);
 
+    /**
+     * Evaluates the rule on an equipment, the referenced filters being cached in the given {@link EvaluationContext context}.
+     * The built-in rules override it, the other rules being evaluated by
+     * {@link #evaluateRule(Identifiable, FilterLoader, Map)} with the loader and the cache of the context.
+     */
+    public boolean evaluateRule(Identifiable<?> identifiable, EvaluationContext context) {
+        return evaluateRule(identifiable, context.getFilterLoader(), context.getCachedUuidFilters());
+    }
+
     public abstract DataType getDataType();
 
     @JsonIgnore
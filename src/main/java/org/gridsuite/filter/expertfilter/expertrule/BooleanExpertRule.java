@@ -14,12 +14,12 @@ import lombok.experimental.SuperBuilder;
 import org.gridsuite.filter.FilterLoader;
 import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
 import org.gridsuite.filter.utils.expertfilter.DataType;
+import org.gridsuite.filter.utils.expertfilter.EvaluationContext;
 
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
-import static org.gridsuite.filter.utils.expertfilter.ExpertFilterUtils.getFieldValue;
 import static org.gridsuite.filter.utils.expertfilter.OperatorType.NOT_EXISTS;
 
 /**
@@ -47,7 +47,12 @@ public class BooleanExpertRule extends AbstractExpertRule {
 
     @Override
     public boolean evaluateRule(Identifiable<?> identifiable, FilterLoader filterLoader, Map<UUID, FilterEquipments> cachedUuidFilters) {
-        String fieldValue = getFieldValue(this.getField(), null, identifiable);
+        return evaluateRule(identifiable, EvaluationContext.of(filterLoader, cachedUuidFilters));
+    }
+
+    @Override
+    public boolean evaluateRule(Identifiable<?> identifiable, EvaluationContext context) {
+        String fieldValue = context.getFieldValue(this.getField(), null, identifiable);
         if (fieldValue == null) {
             return this.getOperator() == NOT_EXISTS;
         }
@@ -18,6 +18,7 @@ import org.gridsuite.filter.FilterLoader;
 import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
 import org.gridsuite.filter.utils.expertfilter.CombinatorType;
 import org.gridsuite.filter.utils.expertfilter.DataType;
+import org.gridsuite.filter.utils.expertfilter.EvaluationContext;
 
 import java.util.Map;
 import java.util.UUID;
@@ -39,11 +40,16 @@ public class CombinatorExpertRule extends AbstractExpertRule {
 
     @Override
     public boolean evaluateRule(Identifiable<?> identifiable, FilterLoader filterLoader, Map<UUID, FilterEquipments> cachedUuidFilters) {
+        return evaluateRule(identifiable, EvaluationContext.of(filterLoader, cachedUuidFilters));
+    }
+
+    @Override
+    public boolean evaluateRule(Identifiable<?> identifiable, EvaluationContext context) {
         // As long as there are rules, we go down the tree
         if (CombinatorType.AND == this.getCombinator()) {
             for (AbstractExpertRule rule : this.getRules()) {
                 // Recursively evaluate the rule
-                if (!rule.evaluateRule(identifiable, filterLoader, cachedUuidFilters)) {
+                if (!rule.evaluateRule(identifiable, context)) {
                     // If any rule is false, the whole combination is false
                     return false;
                 }
@@ -52,7 +58,7 @@ public class CombinatorExpertRule extends AbstractExpertRule {
         } else if (CombinatorType.OR == this.getCombinator()) {
             for (AbstractExpertRule rule : this.getRules()) {
                 // Recursively evaluate the rule
-                if (rule.evaluateRule(identifiable, filterLoader, cachedUuidFilters)) {
+                if (rule.evaluateRule(identifiable, context)) {
                     // If any rule is true, the whole combination is true
                     return true;
                 }
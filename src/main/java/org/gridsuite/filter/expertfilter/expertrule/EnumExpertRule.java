@@ -14,14 +14,8 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
-import org.gridsuite.filter.FilterLoader;
-import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
 import org.gridsuite.filter.utils.expertfilter.DataType;
-
-import java.util.Map;
-import java.util.UUID;
-
-import static org.gridsuite.filter.utils.expertfilter.ExpertFilterUtils.getFieldValue;
+import org.gridsuite.filter.utils.expertfilter.EvaluationContext;
 
 /**
  * @author Antoine Bouhours <antoine.bouhours at rte-france.com>
@@ -39,8 +33,8 @@ public class EnumExpertRule extends StringExpertRule {
     }
 
     @Override
-    public boolean evaluateRule(Identifiable<?> identifiable, FilterLoader filterLoader, Map<UUID, FilterEquipments> cachedUuidFilters) {
-        String identifiableValue = getFieldValue(this.getField(), null, identifiable);
+    public boolean evaluateRule(Identifiable<?> identifiable, EvaluationContext context) {
+        String identifiableValue = context.getFieldValue(this.getField(), null, identifiable);
         if (identifiableValue == null) {
             return false;
         }
@@ -17,13 +17,12 @@ import lombok.experimental.SuperBuilder;
 import org.gridsuite.filter.FilterLoader;
 import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
 import org.gridsuite.filter.utils.expertfilter.DataType;
+import org.gridsuite.filter.utils.expertfilter.EvaluationContext;
 import org.gridsuite.filter.utils.expertfilter.ExpertFilterUtils;
 
 import java.util.Map;
 import java.util.UUID;
 
-import static org.gridsuite.filter.utils.expertfilter.ExpertFilterUtils.getFieldValue;
-
 /**
  * @author Franck Lecuyer <franck.lecuyer at rte-france.com>
  */
@@ -41,10 +40,15 @@ public class FilterUuidExpertRule extends StringExpertRule {
 
     @Override
     public boolean evaluateRule(Identifiable<?> identifiable, FilterLoader filterLoader, Map<UUID, FilterEquipments> cachedUuidFilters) {
-        String identifiableValue = getFieldValue(this.getField(), null, identifiable);
+        return evaluateRule(identifiable, EvaluationContext.of(filterLoader, cachedUuidFilters));
+    }
+
+    @Override
+    public boolean evaluateRule(Identifiable<?> identifiable, EvaluationContext context) {
+        String identifiableValue = context.getFieldValue(this.getField(), null, identifiable);
         return switch (this.getOperator()) {
-            case IS_PART_OF -> ExpertFilterUtils.isPartOf(identifiable.getNetwork(), identifiableValue, this.getValues(), filterLoader, cachedUuidFilters);
-            case IS_NOT_PART_OF -> !ExpertFilterUtils.isPartOf(identifiable.getNetwork(), identifiableValue, this.getValues(), filterLoader, cachedUuidFilters);
+            case IS_PART_OF -> ExpertFilterUtils.isPartOf(identifiable.getNetwork(), identifiableValue, this.getValues(), context);
+            case IS_NOT_PART_OF -> !ExpertFilterUtils.isPartOf(identifiable.getNetwork(), identifiableValue, this.getValues(), context);
             default -> throw new PowsyblException(this.getOperator() + " operator not supported with " + this.getDataType() + " rule data type");
         };
     }
@@ -15,11 +15,11 @@ import lombok.experimental.SuperBuilder;
 import org.gridsuite.filter.FilterLoader;
 import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
 import org.gridsuite.filter.utils.expertfilter.DataType;
+import org.gridsuite.filter.utils.expertfilter.EvaluationContext;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
-import static org.gridsuite.filter.utils.expertfilter.ExpertFilterUtils.getFieldValue;
 import static org.gridsuite.filter.utils.expertfilter.OperatorType.NOT_EXISTS;
 import static org.gridsuite.filter.utils.expertfilter.OperatorType.isMultipleCriteriaOperator;
 
@@ -50,7 +50,12 @@ public class NumberExpertRule extends AbstractExpertRule {
 
     @Override
     public boolean evaluateRule(Identifiable<?> identifiable, FilterLoader filterLoader, Map<UUID, FilterEquipments> cachedUuidFilters) {
-        Double identifiableValue = getNumberValue(getFieldValue(this.getField(), null, identifiable));
+        return evaluateRule(identifiable, EvaluationContext.of(filterLoader, cachedUuidFilters));
+    }
+
+    @Override
+    public boolean evaluateRule(Identifiable<?> identifiable, EvaluationContext context) {
+        Double identifiableValue = getNumberValue(context.getFieldValue(this.getField(), null, identifiable));
         if (Double.isNaN(identifiableValue)) {
             return this.getOperator() == NOT_EXISTS;
         }
@@ -14,6 +14,7 @@ import lombok.experimental.SuperBuilder;
 import org.gridsuite.filter.FilterLoader;
 import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
 import org.gridsuite.filter.utils.expertfilter.DataType;
+import org.gridsuite.filter.utils.expertfilter.EvaluationContext;
 import org.gridsuite.filter.utils.expertfilter.OperatorType;
 
 import java.util.ArrayList;
@@ -21,8 +22,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
-import static org.gridsuite.filter.utils.expertfilter.ExpertFilterUtils.getFieldValue;
-
 /**
  * @author maissa SOUISSI <maissa.souissi at rte-france.com>
  */
@@ -40,10 +39,15 @@ public class PropertiesExpertRule extends AbstractExpertRule {
 
     @Override
     public boolean evaluateRule(Identifiable<?> identifiable, FilterLoader filterLoader, Map<UUID, FilterEquipments> cachedUuidFilters) {
+        return evaluateRule(identifiable, EvaluationContext.of(filterLoader, cachedUuidFilters));
+    }
+
+    @Override
+    public boolean evaluateRule(Identifiable<?> identifiable, EvaluationContext context) {
         if (propertyName == null) {
             return false;
         }
-        String propertyValue = getFieldValue(this.getField(), propertyName, identifiable);
+        String propertyValue = context.getFieldValue(this.getField(), propertyName, identifiable);
         if (propertyValue == null) {
             return this.getOperator() == OperatorType.NOT_EXISTS;
         }
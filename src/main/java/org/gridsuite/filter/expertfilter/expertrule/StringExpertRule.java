@@ -16,13 +16,14 @@ import org.apache.commons.lang3.StringUtils;
 import org.gridsuite.filter.FilterLoader;
 import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
 import org.gridsuite.filter.utils.expertfilter.DataType;
+import org.gridsuite.filter.utils.expertfilter.EvaluationContext;
+import org.gridsuite.filter.utils.expertfilter.MembershipSet;
 
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
-import static org.gridsuite.filter.utils.expertfilter.ExpertFilterUtils.getFieldValue;
 import static org.gridsuite.filter.utils.expertfilter.OperatorType.NOT_EXISTS;
 import static org.gridsuite.filter.utils.expertfilter.OperatorType.isMultipleCriteriaOperator;
 
@@ -58,7 +59,12 @@ public class StringExpertRule extends AbstractExpertRule {
 
     @Override
     public boolean evaluateRule(Identifiable<?> identifiable, FilterLoader filterLoader, Map<UUID, FilterEquipments> cachedUuidFilters) {
-        String identifiableValue = getFieldValue(this.getField(), null, identifiable);
+        return evaluateRule(identifiable, EvaluationContext.of(filterLoader, cachedUuidFilters));
+    }
+
+    @Override
+    public boolean evaluateRule(Identifiable<?> identifiable, EvaluationContext context) {
+        String identifiableValue = context.getFieldValue(this.getField(), null, identifiable);
         if (identifiableValue == null) {
             return this.getOperator() == NOT_EXISTS;
         }
@@ -69,9 +75,17 @@ public class StringExpertRule extends AbstractExpertRule {
             case ENDS_WITH -> StringUtils.endsWithIgnoreCase(identifiableValue, this.getValue());
             case EXISTS -> !StringUtils.isEmpty(identifiableValue);
             case NOT_EXISTS -> StringUtils.isEmpty(identifiableValue);
-            case IN -> this.getValues().stream().anyMatch(identifiableValue::equalsIgnoreCase);
-            case NOT_IN -> this.getValues().stream().noneMatch(identifiableValue::equalsIgnoreCase);
+            case IN -> isIn(identifiableValue, context);
+            case NOT_IN -> !isIn(identifiableValue, context);
             default -> throw new PowsyblException(this.getOperator() + " operator not supported with " + this.getDataType() + " rule data type");
         };
     }
+
+    private boolean isIn(String identifiableValue, EvaluationContext context) {
+        MembershipSet membershipSet = context.getIgnoreCaseMembershipSet(this.getValues());
+        if (membershipSet != null) {
+            return membershipSet.contains(identifiableValue);
+        }
+        return this.getValues().stream().anyMatch(identifiableValue::equalsIgnoreCase);
+    }
 }
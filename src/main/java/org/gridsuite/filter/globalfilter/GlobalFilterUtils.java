@@ -10,6 +10,7 @@ import org.gridsuite.filter.FilterLoader;
 import org.gridsuite.filter.expertfilter.ExpertFilter;
 import org.gridsuite.filter.expertfilter.expertrule.*;
 import org.gridsuite.filter.utils.EquipmentType;
+import org.gridsuite.filter.utils.FilterEvaluationOptions;
 import org.gridsuite.filter.utils.FiltersUtils;
 import org.gridsuite.filter.utils.TimeUtils;
 import org.gridsuite.filter.utils.UuidUtils;
@@ -251,7 +252,13 @@ public final class GlobalFilterUtils {
     @VisibleForTesting
     @Nonnull
     static List<String> filterNetwork(@Nonnull final AbstractFilter filter, @Nonnull final Network network, @Nonnull final FilterLoader filterLoader) {
-        return FiltersUtils.getIdentifiables(filter, network, filterLoader)
+        return filterNetwork(filter, network, filterLoader, FilterEvaluationOptions.DEFAULT);
+    }
+
+    @Nonnull
+    static List<String> filterNetwork(@Nonnull final AbstractFilter filter, @Nonnull final Network network, @Nonnull final FilterLoader filterLoader,
+                                      @Nonnull final FilterEvaluationOptions options) {
+        return FiltersUtils.getIdentifiables(filter, network, filterLoader, options)
             .stream()
             .map(Identifiable::getId)
             .toList();
@@ -284,12 +291,28 @@ public final class GlobalFilterUtils {
                                                           final List<AbstractFilter> genericFilters,
                                                           final List<AbstractFilter> substationOrVoltageLevelFilters,
                                                           @Nonnull final FilterLoader filterLoader) {
+        return applyGlobalFilterOnNetwork(network, globalFilter, equipmentType, genericFilters, substationOrVoltageLevelFilters,
+            filterLoader, FilterEvaluationOptions.DEFAULT);
+    }
+
+    /**
+     * Same as {@link #applyGlobalFilterOnNetwork(Network, GlobalFilter, EquipmentType, List, List, FilterLoader)}
+     * with evaluation options, for instance to cancel the evaluation or give it a deadline.
+     */
+    @Nonnull
+    public static List<String> applyGlobalFilterOnNetwork(@Nonnull final Network network,
+                                                          @Nonnull final GlobalFilter globalFilter,
+                                                          @Nonnull final EquipmentType equipmentType,
+                                                          final List<AbstractFilter> genericFilters,
+                                                          final List<AbstractFilter> substationOrVoltageLevelFilters,
+                                                          @Nonnull final FilterLoader filterLoader,
+                                                          @Nonnull final FilterEvaluationOptions options) {
         List<String> allFilterResults = null;
 
         // Extract IDs from expert filter
         final ExpertFilter expertFilter = buildExpertFilter(globalFilter, equipmentType, genericFilters, substationOrVoltageLevelFilters);
         if (expertFilter != null) {
-            allFilterResults = filterNetwork(expertFilter, network, filterLoader);
+            allFilterResults = filterNetwork(expertFilter, network, filterLoader, options);
         }
 
         // return filters List
@@ -337,6 +360,19 @@ public final class GlobalFilterUtils {
                                                                               @Nonnull final GlobalFilter globalFilter,
                                                                               @Nonnull final List<EquipmentType> equipmentTypes,
                                                                               @Nonnull final FilterLoader filterLoader) {
+        return applyGlobalFilterOnNetwork(network, globalFilter, equipmentTypes, filterLoader, FilterEvaluationOptions.DEFAULT);
+    }
+
+    /**
+     * Same as {@link #applyGlobalFilterOnNetwork(Network, GlobalFilter, List, FilterLoader)} with evaluation options,
+     * the cancellation of the evaluation being also checked between the equipment types.
+     */
+    @Nonnull
+    public static Map<EquipmentType, List<String>> applyGlobalFilterOnNetwork(@Nonnull final Network network,
+                                                                              @Nonnull final GlobalFilter globalFilter,
+                                                                              @Nonnull final List<EquipmentType> equipmentTypes,
+                                                                              @Nonnull final FilterLoader filterLoader,
+                                                                              @Nonnull final FilterEvaluationOptions options) {
         Map<EquipmentType, List<String>> result = new EnumMap<>(EquipmentType.class);
 
         List<AbstractFilter> genericFilters = new ArrayList<>();
@@ -350,13 +386,15 @@ public final class GlobalFilterUtils {
         }
 
         for (final EquipmentType equipmentType : equipmentTypes) {
+            options.checkNotCancelled();
             final List<String> filteredIds = applyGlobalFilterOnNetwork(
                     network,
                     globalFilter,
                     equipmentType,
                     genericFilters,
                     substationOrVoltageLevelFilters,
-                    filterLoader
+                    filterLoader,
+                    options
             );
             if (!filteredIds.isEmpty()) {
                 result.put(equipmentType, filteredIds);
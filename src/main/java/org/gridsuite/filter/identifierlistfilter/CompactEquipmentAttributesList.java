@@ -0,0 +1,340 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.identifierlistfilter;
+
+import java.util.*;
+
+/**
+ * List of the entries of an identifier list filter with a small memory footprint, used for the filters of at least
+ * {@link #COMPACT_THRESHOLD} entries: the distinct equipment IDs are kept once in a hashed string table, and the
+ * distribution keys in a primitive array, a bitmap marking the absent ones.
+ * <p>
+ * The list is modifiable like any list of entries: the first access to an entry as an object, by {@link #get(int)}, an
+ * iterator or a modification, creates all the entries at once and the list then holds them, the compact table being
+ * dropped. The filters read the entries through {@link #getEquipmentId(int)}, {@link #containsEquipment(String)} and
+ * {@link #getDistributionKey(String)}, and serialize them, without creating them.
+ *
+ * @author agent <agent at local>
+ */
+public final class CompactEquipmentAttributesList extends AbstractList<IdentifierListFilterEquipmentAttributes> implements RandomAccess {
+
+    public static final int COMPACT_THRESHOLD = 10_000;
+
+    // the compact entries, until an entry is accessed as an object
+    private volatile Table table;
+    // the entries as objects, set before the table is dropped
+    private volatile List<IdentifierListFilterEquipmentAttributes> entries;
+
+    private CompactEquipmentAttributesList(Table table) {
+        this.table = table;
+    }
+
+    /**
+     * @return a compact copy of the entries, sharing the table of a list still compact
+     */
+    public static CompactEquipmentAttributesList of(List<IdentifierListFilterEquipmentAttributes> entries) {
+        if (entries instanceof CompactEquipmentAttributesList compactList) {
+            Table compactTable = compactList.table;
+            if (compactTable != null) {
+                return new CompactEquipmentAttributesList(compactTable);
+            }
+        }
+        Builder builder = new Builder();
+        entries.forEach(entry -> builder.add(entry.getEquipmentID(), entry.getDistributionKey()));
+        return builder.build();
+    }
+
+    /**
+     * @return a compact copy of the entries if there are at least {@link #COMPACT_THRESHOLD} of them, the entries otherwise
+     */
+    public static List<IdentifierListFilterEquipmentAttributes> compactIfLarge(List<IdentifierListFilterEquipmentAttributes> entries) {
+        return entries != null && !(entries instanceof CompactEquipmentAttributesList) && entries.size() >= COMPACT_THRESHOLD ? of(entries) : entries;
+    }
+
+    /**
+     * @return whether the entries are still compact, none of them having been accessed as an object
+     */
+    public boolean isCompact() {
+        return table != null;
+    }
+
+    @Override
+    public IdentifierListFilterEquipmentAttributes get(int index) {
+        return getEntries().get(index);
+    }
+
+    @Override
+    public IdentifierListFilterEquipmentAttributes set(int index, IdentifierListFilterEquipmentAttributes element) {
+        return getEntries().set(index, element);
+    }
+
+    @Override
+    public void add(int index, IdentifierListFilterEquipmentAttributes element) {
+        getEntries().add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public IdentifierListFilterEquipmentAttributes remove(int index) {
+        IdentifierListFilterEquipmentAttributes removed = getEntries().remove(index);
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        Table compactTable = table;
+        return compactTable != null ? compactTable.size() : entries.size();
+    }
+
+    /**
+     * @return the equipment ID of the entry, without creating the entry
+     */
+    public String getEquipmentId(int index) {
+        Table compactTable = table;
+        if (compactTable != null) {
+            Objects.checkIndex(index, compactTable.size());
+            return compactTable.getEquipmentId(index);
+        }
+        IdentifierListFilterEquipmentAttributes entry = entries.get(index);
+        return entry != null ? entry.getEquipmentID() : null;
+    }
+
+    public boolean containsEquipment(String equipmentId) {
+        Table compactTable = table;
+        if (compactTable != null) {
+            return compactTable.containsEquipment(equipmentId);
+        }
+        return entries.stream().anyMatch(entry -> entry != null && Objects.equals(entry.getEquipmentID(), equipmentId));
+    }
+
+    /**
+     * @return the distribution key of the first entry of the equipment, {@code null} if it is absent or if there is no such entry
+     */
+    public Double getDistributionKey(String equipmentId) {
+        Table compactTable = table;
+        if (compactTable != null) {
+            return compactTable.getDistributionKey(equipmentId);
+        }
+        return entries.stream()
+            .filter(entry -> entry != null && Objects.equals(entry.getEquipmentID(), equipmentId))
+            .findFirst()
+            .map(IdentifierListFilterEquipmentAttributes::getDistributionKey)
+            .orElse(null);
+    }
+
+    /**
+     * Calls the consumer for each entry still compact, without creating the entries.
+     *
+     * @return {@code false} if the entries are no longer compact, the consumer not being called
+     */
+    <E extends Exception> boolean forEachCompactEntry(CompactEntryConsumer<E> consumer) throws E {
+        Table compactTable = table;
+        if (compactTable == null) {
+            return false;
+        }
+        for (int i = 0; i < compactTable.size(); i++) {
+            consumer.accept(compactTable.getEquipmentId(i), compactTable.getDistributionKey(i));
+        }
+        return true;
+    }
+
+    @FunctionalInterface
+    interface CompactEntryConsumer<E extends Exception> {
+        void accept(String equipmentId, Double distributionKey) throws E;
+    }
+
+    private List<IdentifierListFilterEquipmentAttributes> getEntries() {
+        List<IdentifierListFilterEquipmentAttributes> objectEntries = entries;
+        if (objectEntries == null) {
+            synchronized (this) {
+                objectEntries = entries;
+                if (objectEntries == null) {
+                    objectEntries = table.toList();
+                    entries = objectEntries;
+                    table = null;
+                }
+            }
+        }
+        return objectEntries;
+    }
+
+    // the entries have no equality of their own: two compact lists are equal when they hold the same values, and a
+    // compact list is equal to no other list of entries, which can't hold the entries not created yet
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        Table compactTable = table;
+        if (compactTable == null) {
+            return super.equals(o);
+        }
+        if (o instanceof CompactEquipmentAttributesList other) {
+            Table otherTable = other.table;
+            if (otherTable != null) {
+                return compactTable.equals(otherTable);
+            }
+        }
+        return o instanceof List<?> list && compactTable.size() == 0 && list.isEmpty();
+    }
+
+    @Override
+    public int hashCode() {
+        Table compactTable = table;
+        return compactTable != null && compactTable.size() > 0 ? compactTable.hashCode() : super.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        Table compactTable = table;
+        return compactTable != null ? "CompactEquipmentAttributesList[size=" + compactTable.size() + "]" : super.toString();
+    }
+
+    /**
+     * The compact entries, which are never modified.
+     */
+    private static final class Table {
+
+        // distinct equipment IDs, in the order of their first entry
+        private final String[] ids;
+        // open addressing hash table of the indexes of the IDs plus one, 0 marking an empty slot
+        private final int[] slots;
+        // index of the ID of each entry and index of the first entry of each ID, null when the IDs are all distinct
+        private final int[] entryIds;
+        private final int[] firstEntries;
+        private final double[] distributionKeys;
+        private final BitSet absentDistributionKeys;
+
+        private Table(Builder builder) {
+            int size = builder.size;
+            String[] distinctIds = new String[size];
+            int[] idOfEntry = new int[size];
+            int[] firstEntryOfId = new int[size];
+            slots = new int[Integer.highestOneBit(Math.max(2, size * 2) - 1) << 1];
+            int idCount = 0;
+            for (int i = 0; i < size; i++) {
+                String equipmentId = builder.equipmentIds[i];
+                int slot = findSlot(distinctIds, slots, equipmentId);
+                if (slots[slot] == 0) {
+                    distinctIds[idCount] = equipmentId;
+                    firstEntryOfId[idCount] = i;
+                    slots[slot] = ++idCount;
+                }
+                idOfEntry[i] = slots[slot] - 1;
+            }
+            boolean distinct = idCount == size;
+            ids = distinct ? distinctIds : Arrays.copyOf(distinctIds, idCount);
+            entryIds = distinct ? null : idOfEntry;
+            firstEntries = distinct ? null : Arrays.copyOf(firstEntryOfId, idCount);
+            distributionKeys = Arrays.copyOf(builder.distributionKeys, size);
+            absentDistributionKeys = (BitSet) builder.absentDistributionKeys.clone();
+        }
+
+        private int size() {
+            return distributionKeys.length;
+        }
+
+        private String getEquipmentId(int index) {
+            return ids[entryIds != null ? entryIds[index] : index];
+        }
+
+        private Double getDistributionKey(int index) {
+            return absentDistributionKeys.get(index) ? null : distributionKeys[index];
+        }
+
+        private boolean containsEquipment(String equipmentId) {
+            return slots[findSlot(ids, slots, equipmentId)] != 0;
+        }
+
+        private Double getDistributionKey(String equipmentId) {
+            int idIndex = slots[findSlot(ids, slots, equipmentId)] - 1;
+            if (idIndex < 0) {
+                return null;
+            }
+            return getDistributionKey(firstEntries != null ? firstEntries[idIndex] : idIndex);
+        }
+
+        private List<IdentifierListFilterEquipmentAttributes> toList() {
+            List<IdentifierListFilterEquipmentAttributes> list = new ArrayList<>(size());
+            for (int i = 0; i < size(); i++) {
+                list.add(new IdentifierListFilterEquipmentAttributes(getEquipmentId(i), getDistributionKey(i)));
+            }
+            return list;
+        }
+
+        private static int findSlot(String[] ids, int[] slots, String id) {
+            int mask = slots.length - 1;
+            int hash = Objects.hashCode(id);
+            int slot = (hash ^ hash >>> 16) & mask;
+            while (slots[slot] != 0 && !Objects.equals(ids[slots[slot] - 1], id)) {
+                slot = slot + 1 & mask;
+            }
+            return slot;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o == this || o instanceof Table other
+                && Arrays.equals(ids, other.ids)
+                && Arrays.equals(entryIds, other.entryIds)
+                && Arrays.equals(distributionKeys, other.distributionKeys)
+                && absentDistributionKeys.equals(other.absentDistributionKeys);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(Arrays.hashCode(ids), Arrays.hashCode(entryIds), Arrays.hashCode(distributionKeys), absentDistributionKeys);
+        }
+    }
+
+    /**
+     * Collects the entries one by one, without creating an object by entry.
+     */
+    public static final class Builder {
+
+        private String[] equipmentIds = new String[16];
+        private double[] distributionKeys = new double[16];
+        private final BitSet absentDistributionKeys = new BitSet();
+        private int size;
+
+        public Builder add(String equipmentId, Double distributionKey) {
+            if (size == equipmentIds.length) {
+                int capacity = size + (size >> 1);
+                equipmentIds = Arrays.copyOf(equipmentIds, capacity);
+                distributionKeys = Arrays.copyOf(distributionKeys, capacity);
+            }
+            equipmentIds[size] = equipmentId;
+            if (distributionKey != null) {
+                distributionKeys[size] = distributionKey;
+            } else {
+                absentDistributionKeys.set(size);
+            }
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public CompactEquipmentAttributesList build() {
+            return new CompactEquipmentAttributesList(new Table(this));
+        }
+
+        /**
+         * @return the entries as a modifiable list of {@link IdentifierListFilterEquipmentAttributes}
+         */
+        public List<IdentifierListFilterEquipmentAttributes> toList() {
+            List<IdentifierListFilterEquipmentAttributes> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                entries.add(new IdentifierListFilterEquipmentAttributes(equipmentIds[i], absentDistributionKeys.get(i) ? null : distributionKeys[i]));
+            }
+            return entries;
+        }
+    }
+}
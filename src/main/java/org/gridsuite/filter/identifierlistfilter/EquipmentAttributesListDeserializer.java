@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.identifierlistfilter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reads the entries of an {@link IdentifierListFilter} in a single pass: from {@link CompactEquipmentAttributesList#COMPACT_THRESHOLD}
+ * entries, they are collected in a {@link CompactEquipmentAttributesList} as they are read, without creating an object by entry.
+ *
+ * @author agent <agent at local>
+ */
+public class EquipmentAttributesListDeserializer extends StdDeserializer<List<IdentifierListFilterEquipmentAttributes>> {
+
+    private static final String EQUIPMENT_ID = "equipmentID";
+    private static final String DISTRIBUTION_KEY = "distributionKey";
+
+    public EquipmentAttributesListDeserializer() {
+        super(List.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<IdentifierListFilterEquipmentAttributes> deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.isExpectedStartArrayToken()) {
+            return (List<IdentifierListFilterEquipmentAttributes>) context.handleUnexpectedToken(List.class, parser);
+        }
+        CompactEquipmentAttributesList.Builder builder = new CompactEquipmentAttributesList.Builder();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                context.handleUnexpectedToken(IdentifierListFilterEquipmentAttributes.class, parser);
+                continue;
+            }
+            String equipmentId = null;
+            Double distributionKey = null;
+            String fieldName;
+            while ((fieldName = parser.nextFieldName()) != null) {
+                token = parser.nextToken();
+                switch (fieldName) {
+                    case EQUIPMENT_ID -> equipmentId = token == JsonToken.VALUE_NULL ? null : readString(parser, context);
+                    case DISTRIBUTION_KEY -> distributionKey = token == JsonToken.VALUE_NULL ? null : _parseDoublePrimitive(parser, context);
+                    default -> context.handleUnknownProperty(parser, this, IdentifierListFilterEquipmentAttributes.class, fieldName);
+                }
+            }
+            builder.add(equipmentId, distributionKey);
+        }
+        return builder.size() >= CompactEquipmentAttributesList.COMPACT_THRESHOLD ? builder.build() : builder.toList();
+    }
+
+    private static String readString(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        return (String) context.handleUnexpectedToken(String.class, parser);
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.identifierlistfilter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes the entries of an {@link IdentifierListFilter} as the list of {@link IdentifierListFilterEquipmentAttributes}
+ * they are. The entries of a {@link CompactEquipmentAttributesList} still compact are written through a single
+ * reused entry, without creating an object by entry.
+ *
+ * @author agent <agent at local>
+ */
+public class EquipmentAttributesListSerializer extends StdSerializer<List<IdentifierListFilterEquipmentAttributes>> {
+
+    @SuppressWarnings("unchecked")
+    public EquipmentAttributesListSerializer() {
+        super((Class<List<IdentifierListFilterEquipmentAttributes>>) (Class<?>) List.class);
+    }
+
+    @Override
+    public void serialize(List<IdentifierListFilterEquipmentAttributes> entries, JsonGenerator generator,
+                          SerializerProvider provider) throws IOException {
+        generator.writeStartArray(entries, entries.size());
+        IdentifierListFilterEquipmentAttributes reusedEntry = new IdentifierListFilterEquipmentAttributes();
+        boolean compact = entries instanceof CompactEquipmentAttributesList compactList
+            && compactList.forEachCompactEntry((equipmentId, distributionKey) -> {
+                reusedEntry.setEquipmentID(equipmentId);
+                reusedEntry.setDistributionKey(distributionKey);
+                provider.defaultSerializeValue(reusedEntry, generator);
+            });
+        if (!compact) {
+            for (IdentifierListFilterEquipmentAttributes entry : entries) {
+                provider.defaultSerializeValue(entry, generator);
+            }
+        }
+        generator.writeEndArray();
+    }
+}
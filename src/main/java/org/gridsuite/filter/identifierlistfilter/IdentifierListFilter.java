@@ -7,7 +7,10 @@
 
 package org.gridsuite.filter.identifierlistfilter;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.powsybl.iidm.network.IdentifiableType;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -16,6 +19,7 @@ import org.gridsuite.filter.utils.EquipmentType;
 import org.gridsuite.filter.utils.FilterType;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author Seddik Yengui <seddik.yengui at rte-france.com>
@@ -28,14 +32,29 @@ import java.util.*;
 @ToString(callSuper = true)
 public class IdentifierListFilter extends AbstractFilter {
 
+    // compacted above a size threshold, see CompactEquipmentAttributesList
+    @JsonSerialize(using = EquipmentAttributesListSerializer.class)
+    @JsonDeserialize(using = EquipmentAttributesListDeserializer.class)
     private List<IdentifierListFilterEquipmentAttributes> filterEquipmentsAttributes;
 
+    // entries by equipment ID, built again when the list of entries is replaced or its size changes
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final transient AtomicReference<EquipmentIndex> equipmentIndex = new AtomicReference<>();
+
     public IdentifierListFilter(UUID id,
                                 Date modificationDate,
                                 EquipmentType equipmentType,
                                 List<IdentifierListFilterEquipmentAttributes> filterEquipmentsAttributes) {
         super(id, modificationDate, equipmentType);
-        this.filterEquipmentsAttributes = filterEquipmentsAttributes;
+        this.filterEquipmentsAttributes = CompactEquipmentAttributesList.compactIfLarge(filterEquipmentsAttributes);
+    }
+
+    public void setFilterEquipmentsAttributes(List<IdentifierListFilterEquipmentAttributes> filterEquipmentsAttributes) {
+        this.filterEquipmentsAttributes = CompactEquipmentAttributesList.compactIfLarge(filterEquipmentsAttributes);
+        equipmentIndex.set(null);
     }
 
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
@@ -44,26 +63,86 @@ public class IdentifierListFilter extends AbstractFilter {
         return FilterType.IDENTIFIER_LIST;
     }
 
+    /**
+     * @return the equipment IDs of the entries, in their order, without creating the entries of a compact list
+     */
+    @JsonIgnore
+    public List<String> getEquipmentIds() {
+        if (filterEquipmentsAttributes == null) {
+            return List.of();
+        }
+        if (filterEquipmentsAttributes instanceof CompactEquipmentAttributesList compactList) {
+            return new AbstractList<>() {
+                @Override
+                public String get(int index) {
+                    return compactList.getEquipmentId(index);
+                }
+
+                @Override
+                public int size() {
+                    return compactList.size();
+                }
+            };
+        }
+        return filterEquipmentsAttributes.stream().map(IdentifierListFilterEquipmentAttributes::getEquipmentID).toList();
+    }
+
     public Double getDistributionKey(String equipmentId) {
-        return filterEquipmentsAttributes.stream()
-                .filter(attribute -> attribute.getEquipmentID().equals(equipmentId))
-                .findFirst()
-                .map(IdentifierListFilterEquipmentAttributes::getDistributionKey)
-                .orElse(null);
+        if (filterEquipmentsAttributes instanceof CompactEquipmentAttributesList compactList && compactList.isCompact()) {
+            return compactList.getDistributionKey(equipmentId);
+        }
+        IdentifierListFilterEquipmentAttributes attributes = getIndexedEntry(equipmentId);
+        return attributes != null ? attributes.getDistributionKey() : null;
+    }
+
+    public boolean containsEquipment(String equipmentId) {
+        if (filterEquipmentsAttributes instanceof CompactEquipmentAttributesList compactList && compactList.isCompact()) {
+            return compactList.containsEquipment(equipmentId);
+        }
+        return getIndexedEntry(equipmentId) != null;
+    }
+
+    // the entries are indexed by reference, so their distribution keys are read as they are
+    private IdentifierListFilterEquipmentAttributes getIndexedEntry(String equipmentId) {
+        IdentifierListFilterEquipmentAttributes entry = getEquipmentIndex(false).entriesById().get(equipmentId);
+        if (entry != null && !Objects.equals(entry.getEquipmentID(), equipmentId)) {
+            // the ID of the entry was modified in place
+            entry = getEquipmentIndex(true).entriesById().get(equipmentId);
+        }
+        return entry;
+    }
+
+    private EquipmentIndex getEquipmentIndex(boolean rebuild) {
+        EquipmentIndex index = equipmentIndex.get();
+        List<IdentifierListFilterEquipmentAttributes> entries = filterEquipmentsAttributes != null ? filterEquipmentsAttributes : List.of();
+        // the entries added or removed in place change the size of the list
+        if (rebuild || index == null || index.entries() != entries || index.size() != entries.size()) {
+            Map<String, IdentifierListFilterEquipmentAttributes> entriesById = HashMap.newHashMap(entries.size());
+            entries.forEach(entry -> entriesById.putIfAbsent(entry.getEquipmentID(), entry));
+            index = new EquipmentIndex(entries, entries.size(), entriesById);
+            equipmentIndex.set(index);
+        }
+        return index;
+    }
+
+    private record EquipmentIndex(List<IdentifierListFilterEquipmentAttributes> entries, int size,
+                                  Map<String, IdentifierListFilterEquipmentAttributes> entriesById) {
     }
 
     @Override
     public FilterEquipments toFilterEquipments(List<IdentifiableAttributes> identifiableAttributes) {
         // we keep the same order of the equipments in the filter
+        Map<String, IdentifiableAttributes> identifiableAttributesById = HashMap.newHashMap(identifiableAttributes.size());
+        identifiableAttributes.forEach(attribute -> identifiableAttributesById.putIfAbsent(attribute.getId(), attribute));
         List<String> notFound = new ArrayList<>();
-        List<IdentifiableAttributes> orderedIdentifiableAttributes = filterEquipmentsAttributes.stream()
-                .map(f -> identifiableAttributes.stream()
-                        .filter(attribute -> Objects.equals(attribute.getId(), f.getEquipmentID()))
-                        .findFirst()
-                        .orElseGet(() -> {
-                            notFound.add(f.getEquipmentID());
-                            return null;
-                        }))
+        List<IdentifiableAttributes> orderedIdentifiableAttributes = getEquipmentIds().stream()
+                .map(equipmentId -> {
+                    IdentifiableAttributes attribute = identifiableAttributesById.get(equipmentId);
+                    if (attribute == null) {
+                        notFound.add(equipmentId);
+                    }
+                    return attribute;
+                })
                 .filter(Objects::nonNull)
                 .toList();
 
@@ -85,4 +164,13 @@ public class IdentifierListFilter extends AbstractFilter {
 
         return new FilteredIdentifiables(filterEquipments.getIdentifiableAttributes(), notFounds);
     }
+
+    public abstract static class IdentifierListFilterBuilder<C extends IdentifierListFilter, B extends IdentifierListFilterBuilder<C, B>>
+        extends AbstractFilter.AbstractFilterBuilder<C, B> {
+
+        public B filterEquipmentsAttributes(List<IdentifierListFilterEquipmentAttributes> filterEquipmentsAttributes) {
+            this.filterEquipmentsAttributes = CompactEquipmentAttributesList.compactIfLarge(filterEquipmentsAttributes);
+            return self();
+        }
+    }
 }
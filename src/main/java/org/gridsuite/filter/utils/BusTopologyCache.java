@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import com.powsybl.iidm.network.*;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the buses of the {@link VoltageLevel.BusBreakerView bus/breaker view} of the voltage levels of a network,
+ * by variant, for the evaluation of the filters on buses: the buses of the node/breaker voltage levels are computed
+ * from their topology, which is expensive.
+ * <p>
+ * The cached buses of a variant are dropped on the modifications of the topology notified on this variant or on all
+ * the variants: the creation or removal of an equipment, the opening or closing of a switch and the connection or
+ * disconnection of a terminal. The modifications which are not notified by the network, like the creation of an
+ * internal connection, require to {@link #invalidate() invalidate} the cache. Thread-safe. The cache must be
+ * {@link #close() closed} to stop listening to the network.
+ *
+ * @author agent <agent at local>
+ */
+public class BusTopologyCache implements AutoCloseable {
+
+    // the switch attributes defining the buses, the connection attributes being recognized by their name
+    private static final Set<String> SWITCH_TOPOLOGY_ATTRIBUTES = Set.of("open", "retained");
+
+    private final Network network;
+    private final Map<String, Map<String, List<Bus>>> busesByVariant = new ConcurrentHashMap<>();
+    // incremented on each invalidation of a variant, so that the buses computed meanwhile are not kept
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final NetworkListener listener = new InvalidationListener();
+
+    public BusTopologyCache(@Nonnull Network network) {
+        this.network = network;
+        network.addListener(listener);
+    }
+
+    /**
+     * @return the buses of the bus/breaker view of the voltage level in the working variant
+     */
+    public List<Bus> getBuses(@Nonnull VoltageLevel voltageLevel) {
+        String variantId = network.getVariantManager().getWorkingVariantId();
+        AtomicLong generation = generations.computeIfAbsent(variantId, id -> new AtomicLong());
+        long initialGeneration = generation.get();
+        Map<String, List<Bus>> buses = busesByVariant.computeIfAbsent(variantId, id -> new ConcurrentHashMap<>());
+        List<Bus> cachedBuses = buses.get(voltageLevel.getId());
+        if (cachedBuses != null) {
+            return cachedBuses;
+        }
+        // computed outside of the map, and only kept if the variant has not been invalidated meanwhile
+        List<Bus> computedBuses = voltageLevel.getBusBreakerView().getBusStream().toList();
+        cachedBuses = buses.putIfAbsent(voltageLevel.getId(), computedBuses);
+        if (cachedBuses != null) {
+            return cachedBuses;
+        }
+        if (generation.get() != initialGeneration) {
+            buses.remove(voltageLevel.getId(), computedBuses);
+        }
+        return computedBuses;
+    }
+
+    public void invalidate() {
+        // the generations are incremented before the buses are dropped, for the computations in progress to see it
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        busesByVariant.clear();
+    }
+
+    @Override
+    public void close() {
+        network.removeListener(listener);
+        invalidate();
+    }
+
+    private void invalidate(String variantId) {
+        if (variantId == null) {
+            invalidate();
+        } else {
+            AtomicLong generation = generations.get(variantId);
+            if (generation != null) {
+                generation.incrementAndGet();
+            }
+            busesByVariant.remove(variantId);
+        }
+    }
+
+    private static boolean isTopologyAttribute(String attribute) {
+        return attribute != null && (SWITCH_TOPOLOGY_ATTRIBUTES.contains(attribute)
+            || attribute.toLowerCase(Locale.ROOT).contains("connect"));
+    }
+
+    private final class InvalidationListener extends DefaultNetworkListener {
+
+        @Override
+        public void onCreation(Identifiable<?> identifiable) {
+            invalidate();
+        }
+
+        @Override
+        public void beforeRemoval(Identifiable<?> identifiable) {
+            invalidate();
+        }
+
+        @Override
+        public void afterRemoval(String id) {
+            invalidate();
+        }
+
+        @Override
+        public void onUpdate(Identifiable<?> identifiable, String attribute, String variantId, Object oldValue, Object newValue) {
+            if (isTopologyAttribute(attribute)) {
+                invalidate(variantId);
+            }
+        }
+
+        @Override
+        public void onVariantOverwritten(String sourceVariantId, String targetVariantId) {
+            invalidate(targetVariantId);
+        }
+
+        @Override
+        public void onVariantRemoved(String variantId) {
+            invalidate(variantId);
+            generations.remove(variantId);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+/**
+ * Lets the caller of a filter evaluation request it to stop, typically from the thread handling the closing
+ * of the client request, the evaluation then throwing a
+ * {@link org.gridsuite.filter.exception.FilterEvaluationCancelledException FilterEvaluationCancelledException}.
+ *
+ * @author agent <agent at local>
+ */
+public class CancellationToken {
+
+    private volatile boolean cancellationRequested;
+
+    public void cancel() {
+        cancellationRequested = true;
+    }
+
+    public boolean isCancellationRequested() {
+        return cancellationRequested;
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import org.gridsuite.filter.utils.expertfilter.FieldType;
+
+import java.util.Map;
+
+/**
+ * Aggregations of numeric fields over the equipments matching a filter.
+ *
+ * @param equipmentCount the number of equipments matching the filter
+ * @param aggregations the aggregation of each requested field
+ * @author agent <agent at local>
+ */
+public record FilterAggregationResult(long equipmentCount,
+                                      Map<FieldType, NumberFieldAggregation> aggregations) {
+}
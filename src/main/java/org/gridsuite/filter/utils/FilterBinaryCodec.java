@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.powsybl.commons.PowsyblException;
+import org.gridsuite.filter.AbstractFilter;
+import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
+import org.gridsuite.filter.identifierlistfilter.FilteredIdentifiables;
+
+import javax.annotation.Nonnull;
+import java.io.*;
+
+/**
+ * Encodes the {@link AbstractFilter filters} and their results, like {@link FilterEquipments} and {@link FilteredIdentifiables},
+ * in Smile, the binary JSON format of Jackson. The mapping is the JSON one, the same values being encoded and decoded,
+ * but the property names and the short repeated values, like the equipment types, are written once and then referenced,
+ * and the UUIDs are written as 16 bytes.
+ * <p>
+ * The encoded value is wrapped with the version of the format, {@link #FORMAT_VERSION}, and the values of a later version
+ * are rejected. Thread-safe.
+ *
+ * @author agent <agent at local>
+ */
+public class FilterBinaryCodec {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private static final String FORMAT_VERSION_PROPERTY = "formatVersion";
+    private static final String VALUE_PROPERTY = "value";
+
+    private final SmileMapper mapper = SmileMapper.builder(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build())
+        .build();
+
+    public byte[] encode(Object value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encode(value, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes the encoded value to the stream, which is not closed.
+     */
+    public void encode(Object value, @Nonnull OutputStream out) {
+        try (JsonGenerator generator = mapper.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeNumberField(FORMAT_VERSION_PROPERTY, FORMAT_VERSION);
+            generator.writeFieldName(VALUE_PROPERTY);
+            mapper.writeValue(generator, value);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T> T decode(@Nonnull byte[] data, @Nonnull Class<T> type) {
+        return decode(new ByteArrayInputStream(data), mapper.constructType(type));
+    }
+
+    public <T> T decode(@Nonnull byte[] data, @Nonnull TypeReference<T> type) {
+        return decode(new ByteArrayInputStream(data), mapper.constructType(type));
+    }
+
+    /**
+     * Reads an encoded value from the stream, which is not closed. The stream being read by blocks, it must only hold
+     * the encoded value.
+     *
+     * @throws PowsyblException if the value is not encoded by this codec or by a later version of it
+     */
+    public <T> T decode(@Nonnull InputStream in, @Nonnull Class<T> type) {
+        return decode(in, mapper.constructType(type));
+    }
+
+    private <T> T decode(InputStream in, JavaType type) {
+        try (JsonParser parser = mapper.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT || !FORMAT_VERSION_PROPERTY.equals(parser.nextFieldName())
+                || parser.nextToken() != JsonToken.VALUE_NUMBER_INT) {
+                throw new PowsyblException("The data is not an encoded filter value");
+            }
+            int version = parser.getIntValue();
+            if (version < 1 || version > FORMAT_VERSION) {
+                throw new PowsyblException("Unsupported version " + version + " of the filter binary format, the latest supported version is " + FORMAT_VERSION);
+            }
+            if (!VALUE_PROPERTY.equals(parser.nextFieldName())) {
+                throw new PowsyblException("The data is not an encoded filter value");
+            }
+            parser.nextToken();
+            return mapper.readValue(parser, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
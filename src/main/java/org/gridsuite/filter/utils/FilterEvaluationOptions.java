@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.gridsuite.filter.exception.FilterEvaluationCancelledException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Options of the evaluation of a filter on a network.
+ *
+ * @author agent <agent at local>
+ */
+@Getter
+@Builder(toBuilder = true)
+public class FilterEvaluationOptions {
+
+    public static final FilterEvaluationOptions DEFAULT = FilterEvaluationOptions.builder().build();
+
+    /**
+     * Whether the equipments are evaluated in parallel, the buses of different voltage levels being computed in parallel
+     * for the filters on buses. The evaluations with a result or time limit are always sequential.
+     */
+    private final boolean parallel;
+
+    /**
+     * The pool evaluating the equipments in parallel, {@link ForkJoinPool#commonPool()} if {@code null}.
+     */
+    private final ForkJoinPool forkJoinPool;
+
+    /**
+     * The pool parallelism below which the equipments are evaluated sequentially.
+     */
+    @Builder.Default
+    private final int minimumThreadCount = 2;
+
+    /**
+     * The number of equipments below which they are evaluated sequentially.
+     */
+    @Builder.Default
+    private final int minimumEquipmentCount = 10_000;
+
+    /**
+     * The number of voltage levels below which the buses of a filter on buses are computed sequentially.
+     */
+    @Builder.Default
+    private final int minimumVoltageLevelCount = 64;
+
+    /**
+     * The number of values from which the membership tests of the rules ignoring the case, like the values of an
+     * {@code IN} rule on a string field, are prefiltered by a Bloom filter.
+     */
+    @Builder.Default
+    private final int bloomFilterMinimumSize = 1_000;
+
+    /**
+     * The token cancelling the evaluation, none if {@code null}.
+     */
+    private final CancellationToken cancellationToken;
+
+    /**
+     * The instant after which the evaluation is stopped, none if {@code null}.
+     */
+    private final Instant deadline;
+
+    /**
+     * The number of equipments evaluated between two checks of the cancellation token and of the deadline.
+     */
+    @Builder.Default
+    private final int cancellationCheckInterval = 1_000;
+
+    /**
+     * The number of matching equipments after which the evaluation stops, unlimited if {@code null}.
+     */
+    private final Integer maxResults;
+
+    /**
+     * The duration after which the evaluation stops, returning the equipments matching so far, unlimited if {@code null}.
+     * Unlike the {@link #getDeadline() deadline}, it doesn't apply to the filters referenced by the evaluated filter.
+     */
+    private final Duration timeBudget;
+
+    /**
+     * The cache of the buses of the voltage levels used by the filters on buses, none if {@code null}.
+     */
+    private final BusTopologyCache busTopologyCache;
+
+    public boolean isLimited() {
+        return maxResults != null || timeBudget != null;
+    }
+
+    /**
+     * @return these options without the result and time limits, for the evaluations which must be complete
+     * like the ones of the filters referenced by the evaluated filter
+     */
+    public FilterEvaluationOptions withoutLimits() {
+        return isLimited() ? toBuilder().maxResults(null).timeBudget(null).build() : this;
+    }
+
+    public boolean isCancellable() {
+        return cancellationToken != null || deadline != null;
+    }
+
+    /**
+     * @throws FilterEvaluationCancelledException if the evaluation has been cancelled or its deadline is exceeded
+     */
+    public void checkNotCancelled() {
+        if (cancellationToken != null && cancellationToken.isCancellationRequested()) {
+            throw new FilterEvaluationCancelledException(FilterEvaluationCancelledException.Reason.CANCELLED);
+        }
+        if (deadline != null && TimeUtils.now().isAfter(deadline)) {
+            throw new FilterEvaluationCancelledException(FilterEvaluationCancelledException.Reason.DEADLINE_EXCEEDED);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Result of the evaluation of a filter on a network, possibly stopped early by the
+ * {@link FilterEvaluationOptions#getMaxResults() result} or {@link FilterEvaluationOptions#getTimeBudget() time} limits.
+ *
+ * @param elements the elements matching the filter, in the network order
+ * @param scannedEquipmentCount the number of equipments evaluated
+ * @param truncated whether the evaluation stopped before evaluating all the equipments, other equipments possibly matching the filter
+ * @author agent <agent at local>
+ */
+public record FilterEvaluationResult<T>(List<T> elements,
+                                        long scannedEquipmentCount,
+                                        boolean truncated) {
+
+    public <R> FilterEvaluationResult<R> map(Function<? super T, ? extends R> mapper) {
+        return new FilterEvaluationResult<>(elements.stream().<R>map(mapper).toList(), scannedEquipmentCount, truncated);
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import java.util.Set;
+
+/**
+ * Difference between the results of a filter on two variants of a network.
+ *
+ * @param addedIds the IDs of the equipments matching the filter in the second variant only, in the network order
+ * @param removedIds the IDs of the equipments matching the filter in the first variant only, in the network order
+ * @author agent <agent at local>
+ */
+public record FilterResultDiff(Set<String> addedIds,
+                               Set<String> removedIds) {
+
+    public boolean isEmpty() {
+        return addedIds.isEmpty() && removedIds.isEmpty();
+    }
+}
@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.IdentifiableType;
+import com.powsybl.iidm.network.Network;
+import org.gridsuite.filter.AbstractFilter;
+import org.gridsuite.filter.FilterLoader;
+import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
+import org.gridsuite.filter.identifierlistfilter.FilteredIdentifiables;
+import org.gridsuite.filter.identifierlistfilter.IdentifiableAttributes;
+import org.gridsuite.filter.identifierlistfilter.IdentifierListFilter;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes the result of a filter as JSON while evaluating it, without holding the result in memory. The JSON is the one
+ * written by a default {@link ObjectMapper} for the {@link FilterEquipments} or the {@link FilteredIdentifiables} of the
+ * filter, as built by {@link AbstractFilter#toFilterEquipments(List)} and {@link AbstractFilter#toFilteredIdentifiables(List)}
+ * from {@link FilterServiceUtils#getIdentifiableAttributes(AbstractFilter, Network, FilterLoader)}: the property names
+ * are the ones of the mapper and the equipments are written by it.
+ * <p>
+ * The equipments matching an expert filter are written as they are found, in the network order. The entries of an
+ * identifier list filter are looked up once in the network in the order of the filter, the equipments found being
+ * written first and then the IDs not found, which are kept meanwhile. The result and time limits of the
+ * {@link FilterEvaluationOptions options} don't apply, the whole result being written, but the cancellation and the
+ * deadline do.
+ *
+ * @author agent <agent at local>
+ */
+public final class FilterResultJsonWriter {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper(JsonFactory.builder().disable(StreamWriteFeature.AUTO_CLOSE_TARGET).build());
+    private static final ObjectWriter ELEMENT_WRITER = OBJECT_MAPPER.writerFor(IdentifiableAttributes.class)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private static final String FILTER_ID = propertyName(FilterEquipments.class, "filterId");
+    private static final String IDENTIFIABLE_ATTRIBUTES = propertyName(FilterEquipments.class, "identifiableAttributes");
+    private static final String NOT_FOUND_EQUIPMENTS = propertyName(FilterEquipments.class, "notFoundEquipments");
+    private static final String EQUIPMENT_IDS = propertyName(FilteredIdentifiables.class, "equipmentIds");
+    private static final String NOT_FOUND_IDS = propertyName(FilteredIdentifiables.class, "notFoundIds");
+
+    private FilterResultJsonWriter() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    private static String propertyName(Class<?> type, String internalName) {
+        return OBJECT_MAPPER.getSerializationConfig().introspect(OBJECT_MAPPER.constructType(type)).findProperties().stream()
+            .filter(property -> property.getInternalName().equals(internalName) && property.couldSerialize())
+            .map(BeanPropertyDefinition::getName)
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("No serialized property " + internalName + " in " + type.getSimpleName()));
+    }
+
+    /**
+     * Writes the {@link FilterEquipments} of the filter to the stream, which is not closed.
+     */
+    public static void writeFilterEquipments(@Nonnull AbstractFilter filter, @Nonnull Network network, FilterLoader filterLoader,
+                                             @Nonnull FilterEvaluationOptions options, @Nonnull OutputStream out) {
+        try (JsonGenerator generator = OBJECT_MAPPER.createGenerator(out)) {
+            writeFilterEquipments(filter, network, filterLoader, options, generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void writeFilterEquipments(@Nonnull AbstractFilter filter, @Nonnull Network network, FilterLoader filterLoader,
+                                             @Nonnull OutputStream out) {
+        writeFilterEquipments(filter, network, filterLoader, FilterEvaluationOptions.DEFAULT, out);
+    }
+
+    public static void writeFilterEquipments(@Nonnull AbstractFilter filter, @Nonnull Network network, FilterLoader filterLoader,
+                                             @Nonnull FilterEvaluationOptions options, @Nonnull JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField(FILTER_ID, filter.getId() != null ? filter.getId().toString() : null);
+        generator.writeFieldName(IDENTIFIABLE_ATTRIBUTES);
+        if (filter instanceof IdentifierListFilter identifierListFilter) {
+            List<String> notFoundIds = writeFoundEquipments(identifierListFilter, network, options, generator);
+            generator.writeFieldName(NOT_FOUND_EQUIPMENTS);
+            generator.writeStartArray();
+            for (String id : notFoundIds) {
+                generator.writeString(id);
+            }
+            generator.writeEndArray();
+        } else {
+            writeMatchingEquipments(filter, network, filterLoader, options, generator);
+            generator.writeNullField(NOT_FOUND_EQUIPMENTS);
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the {@link FilteredIdentifiables} of the filter to the stream, which is not closed.
+     */
+    public static void writeFilteredIdentifiables(@Nonnull AbstractFilter filter, @Nonnull Network network, FilterLoader filterLoader,
+                                                  @Nonnull FilterEvaluationOptions options, @Nonnull OutputStream out) {
+        try (JsonGenerator generator = OBJECT_MAPPER.createGenerator(out)) {
+            writeFilteredIdentifiables(filter, network, filterLoader, options, generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void writeFilteredIdentifiables(@Nonnull AbstractFilter filter, @Nonnull Network network, FilterLoader filterLoader,
+                                                  @Nonnull OutputStream out) {
+        writeFilteredIdentifiables(filter, network, filterLoader, FilterEvaluationOptions.DEFAULT, out);
+    }
+
+    public static void writeFilteredIdentifiables(@Nonnull AbstractFilter filter, @Nonnull Network network, FilterLoader filterLoader,
+                                                  @Nonnull FilterEvaluationOptions options, @Nonnull JsonGenerator generator) throws IOException {
+        if (filter instanceof IdentifierListFilter identifierListFilter) {
+            // resolved before writing anything, {LC,VS}C_CONVERTER_STATION not being supported
+            IdentifiableType notFoundType = IdentifiableType.valueOf(filter.getEquipmentType().name());
+            generator.writeStartObject();
+            generator.writeFieldName(EQUIPMENT_IDS);
+            List<String> notFoundIds = writeFoundEquipments(identifierListFilter, network, options, generator);
+            generator.writeFieldName(NOT_FOUND_IDS);
+            generator.writeStartArray();
+            for (String id : notFoundIds) {
+                ELEMENT_WRITER.writeValue(generator, new IdentifiableAttributes(id, notFoundType, null));
+            }
+            generator.writeEndArray();
+        } else {
+            generator.writeStartObject();
+            generator.writeFieldName(EQUIPMENT_IDS);
+            writeMatchingEquipments(filter, network, filterLoader, options, generator);
+            generator.writeNullField(NOT_FOUND_IDS);
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeMatchingEquipments(AbstractFilter filter, Network network, FilterLoader filterLoader,
+                                                FilterEvaluationOptions options, JsonGenerator generator) throws IOException {
+        generator.writeStartArray();
+        try (Stream<IdentifiableAttributes> attributes = FilterServiceUtils.streamIdentifiableAttributes(filter, network, filterLoader, options)) {
+            for (Iterator<IdentifiableAttributes> it = attributes.iterator(); it.hasNext(); ) {
+                ELEMENT_WRITER.writeValue(generator, it.next());
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Looks up the equipments of the entries of the filter in the network, in the order of the filter, and writes the
+     * ones found, the duplicated entries being looked up again rather than remembered.
+     *
+     * @return the IDs of the entries not found, in the order of the filter
+     */
+    private static List<String> writeFoundEquipments(IdentifierListFilter filter, Network network, FilterEvaluationOptions options,
+                                                     JsonGenerator generator) throws IOException {
+        List<String> notFoundIds = new ArrayList<>();
+        generator.writeStartArray();
+        Function<Identifiable<?>, IdentifiableAttributes> mapper = FilterServiceUtils.getIdentifiableAttributesMapper(filter);
+        // buses can only be filtered with expert filters, none is found
+        boolean supported = FiltersUtils.isSupported(filter);
+        int checkInterval = Math.max(1, options.getCancellationCheckInterval());
+        int count = 0;
+        for (String id : filter.getEquipmentIds()) {
+            if (++count == checkInterval) {
+                count = 0;
+                options.checkNotCancelled();
+            }
+            Identifiable<?> equipment = supported && id != null ? FiltersUtils.getEquipment(network, filter.getEquipmentType(), id) : null;
+            // the getters also find the equipments by alias, unlike the filters
+            if (equipment != null && equipment.getId().equals(id)) {
+                ELEMENT_WRITER.writeValue(generator, mapper.apply(equipment));
+            } else {
+                notFoundIds.add(id);
+            }
+        }
+        generator.writeEndArray();
+        return notFoundIds;
+    }
+}
@@ -6,14 +6,21 @@
  */
 package org.gridsuite.filter.utils;
 
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.Identifiable;
 import com.powsybl.iidm.network.IdentifiableType;
 import com.powsybl.iidm.network.Network;
 import org.gridsuite.filter.*;
 import org.gridsuite.filter.expertfilter.ExpertFilter;
 import org.gridsuite.filter.identifierlistfilter.*;
+import org.gridsuite.filter.utils.expertfilter.ExpertFilterUtils;
+import org.gridsuite.filter.utils.expertfilter.FieldType;
+import org.gridsuite.filter.utils.expertfilter.PrefetchedFilterLoader;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author Franck Lecuyer <franck.lecuyer at rte-france.com>
@@ -24,19 +31,165 @@ public final class FilterServiceUtils {
     }
 
     public static List<IdentifiableAttributes> getIdentifiableAttributes(AbstractFilter filter, Network network, FilterLoader filterLoader) {
+        return getIdentifiableAttributes(filter, network, filterLoader, FilterEvaluationOptions.DEFAULT);
+    }
+
+    public static List<IdentifiableAttributes> getIdentifiableAttributes(AbstractFilter filter, Network network, FilterLoader filterLoader,
+                                                                         FilterEvaluationOptions options) {
+        return evaluateIdentifiableAttributes(filter, network, filterLoader, options).elements();
+    }
+
+    /**
+     * Evaluates the filter like {@link #getIdentifiableAttributes(AbstractFilter, Network, FilterLoader)}, stopping early
+     * when a limit of the options is reached, for instance to preview the first results of a filter.
+     */
+    public static FilterEvaluationResult<IdentifiableAttributes> evaluateIdentifiableAttributes(AbstractFilter filter, Network network,
+                                                                                               FilterLoader filterLoader,
+                                                                                               FilterEvaluationOptions options) {
+        return FiltersUtils.evaluate(filter, network, filterLoader, options).map(getIdentifiableAttributesMapper(filter));
+    }
+
+    /**
+     * Lazily evaluates the filter like {@link #getIdentifiableAttributes(AbstractFilter, Network, FilterLoader)},
+     * for the callers serializing the attributes as they come.
+     *
+     * @see FiltersUtils#streamIdentifiables(AbstractFilter, Network, FilterLoader, FilterEvaluationOptions)
+     */
+    public static Stream<IdentifiableAttributes> streamIdentifiableAttributes(AbstractFilter filter, Network network, FilterLoader filterLoader,
+                                                                              FilterEvaluationOptions options) {
+        return FiltersUtils.streamIdentifiables(filter, network, filterLoader, options).map(getIdentifiableAttributesMapper(filter));
+    }
+
+    public static Stream<IdentifiableAttributes> streamIdentifiableAttributes(AbstractFilter filter, Network network, FilterLoader filterLoader) {
+        return streamIdentifiableAttributes(filter, network, filterLoader, FilterEvaluationOptions.DEFAULT);
+    }
+
+    /**
+     * Gets the K equipments matching the filter with the largest or smallest values of a numeric field, in a single scan
+     * keeping only K equipments in memory. The equipments without value for the field are ignored.
+     *
+     * @return the selected equipments, the best first
+     */
+    public static List<RankedIdentifiableAttributes> getTopIdentifiableAttributes(AbstractFilter filter, Network network, FilterLoader filterLoader,
+                                                                                  FieldType field, SortDirection direction, int k,
+                                                                                  FilterEvaluationOptions options) {
+        TopKSelector<Identifiable<?>> selector = new TopKSelector<>(k, direction);
+        FiltersUtils.forEachMatch(filter, network, filterLoader, options,
+            identifiable -> selector.offer(identifiable, ExpertFilterUtils.getNumberFieldValue(field, identifiable)));
+        Function<Identifiable<?>, IdentifiableAttributes> mapper = getIdentifiableAttributesMapper(filter);
+        return selector.drain((identifiable, value) -> new RankedIdentifiableAttributes(mapper.apply(identifiable), value));
+    }
+
+    public static List<RankedIdentifiableAttributes> getTopIdentifiableAttributes(AbstractFilter filter, Network network, FilterLoader filterLoader,
+                                                                                  FieldType field, SortDirection direction, int k) {
+        return getTopIdentifiableAttributes(filter, network, filterLoader, field, direction, k, FilterEvaluationOptions.DEFAULT);
+    }
+
+    /**
+     * Computes the count, sum, minimum, maximum and average of numeric fields over the equipments matching the filter,
+     * during the evaluation of the filter.
+     */
+    public static FilterAggregationResult aggregate(AbstractFilter filter, Network network, FilterLoader filterLoader,
+                                                    Collection<FieldType> fields, FilterEvaluationOptions options) {
+        FieldType[] fieldArray = new LinkedHashSet<>(fields).toArray(FieldType[]::new);
+        DoubleSummaryStatistics[] statistics = new DoubleSummaryStatistics[fieldArray.length];
+        Arrays.setAll(statistics, i -> new DoubleSummaryStatistics());
+        long[] equipmentCount = {0};
+        FiltersUtils.forEachMatch(filter, network, filterLoader, options, identifiable -> {
+            equipmentCount[0]++;
+            for (int i = 0; i < fieldArray.length; i++) {
+                double value = ExpertFilterUtils.getNumberFieldValue(fieldArray[i], identifiable);
+                if (!Double.isNaN(value)) {
+                    statistics[i].accept(value);
+                }
+            }
+        });
+
+        Map<FieldType, NumberFieldAggregation> aggregations = new EnumMap<>(FieldType.class);
+        for (int i = 0; i < fieldArray.length; i++) {
+            aggregations.put(fieldArray[i], NumberFieldAggregation.of(statistics[i]));
+        }
+        return new FilterAggregationResult(equipmentCount[0], aggregations);
+    }
+
+    public static FilterAggregationResult aggregate(AbstractFilter filter, Network network, FilterLoader filterLoader,
+                                                    Collection<FieldType> fields) {
+        return aggregate(filter, network, filterLoader, fields, FilterEvaluationOptions.DEFAULT);
+    }
+
+    /**
+     * Groups the IDs of the equipments matching the filter by the value of a field, typically
+     * {@link FieldType#SUBSTATION_ID}, {@link FieldType#VOLTAGE_LEVEL_ID}, {@link FieldType#COUNTRY} or
+     * {@link FieldType#NOMINAL_VOLTAGE}, during the evaluation of the filter.
+     *
+     * The value of the field is reused when a rule of the filter has already read it on the equipment.
+     *
+     * @return the IDs of the equipments of each group, in the network order, the equipments without value
+     * for the field being grouped under the {@code null} key
+     * @throws IllegalArgumentException if the field is not supported for the equipment type of the filter
+     */
+    public static Map<String, List<String>> groupIdentifiableIds(AbstractFilter filter, Network network, FilterLoader filterLoader,
+                                                                 FieldType groupField, FilterEvaluationOptions options) {
+        checkGroupField(filter, network, groupField, options);
+        Map<String, List<String>> groups = new LinkedHashMap<>();
+        FiltersUtils.forEachMatchWithContext(filter, network, filterLoader, options, (context, identifiable) ->
+            groups.computeIfAbsent(context.getFieldValue(groupField, null, identifiable), value -> new ArrayList<>())
+                .add(identifiable.getId()));
+        return groups;
+    }
+
+    public static Map<String, List<String>> groupIdentifiableIds(AbstractFilter filter, Network network, FilterLoader filterLoader,
+                                                                 FieldType groupField) {
+        return groupIdentifiableIds(filter, network, filterLoader, groupField, FilterEvaluationOptions.DEFAULT);
+    }
+
+    /**
+     * Counts the equipments matching the filter by the value of a field, without collecting them.
+     *
+     * @see #groupIdentifiableIds(AbstractFilter, Network, FilterLoader, FieldType, FilterEvaluationOptions)
+     */
+    public static Map<String, Long> countByGroup(AbstractFilter filter, Network network, FilterLoader filterLoader,
+                                                 FieldType groupField, FilterEvaluationOptions options) {
+        checkGroupField(filter, network, groupField, options);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        FiltersUtils.forEachMatchWithContext(filter, network, filterLoader, options, (context, identifiable) ->
+            counts.merge(context.getFieldValue(groupField, null, identifiable), 1L, Long::sum));
+        return counts;
+    }
+
+    public static Map<String, Long> countByGroup(AbstractFilter filter, Network network, FilterLoader filterLoader,
+                                                 FieldType groupField) {
+        return countByGroup(filter, network, filterLoader, groupField, FilterEvaluationOptions.DEFAULT);
+    }
+
+    /**
+     * Checks that the field can be read on the equipments of the filter before scanning them, by reading it on the
+     * first equipment of the type in the network.
+     */
+    private static void checkGroupField(AbstractFilter filter, Network network, FieldType groupField, FilterEvaluationOptions options) {
+        Identifiable<?> equipment = FiltersUtils.isSupported(filter)
+            ? FiltersUtils.getEquipmentStream(network, filter, options).findFirst().orElse(null)
+            : null;
+        if (equipment == null) {
+            return;
+        }
+        try {
+            ExpertFilterUtils.getFieldValue(groupField, null, equipment);
+        } catch (PowsyblException e) {
+            throw new IllegalArgumentException("The field " + groupField + " is not supported for the equipment type "
+                + filter.getEquipmentType(), e);
+        }
+    }
+
+    static Function<Identifiable<?>, IdentifiableAttributes> getIdentifiableAttributesMapper(AbstractFilter filter) {
         if (filter instanceof IdentifierListFilter identifierListFilter &&
             (filter.getEquipmentType() == EquipmentType.GENERATOR ||
                 filter.getEquipmentType() == EquipmentType.LOAD || filter.getEquipmentType() == EquipmentType.BATTERY)) {
-            return FiltersUtils.getIdentifiables(filter, network, filterLoader)
-                .stream()
-                .map(identifiable -> new IdentifiableAttributes(identifiable.getId(),
-                    identifiable.getType(),
-                    identifierListFilter.getDistributionKey(identifiable.getId())))
-                .toList();
+            return identifiable -> new IdentifiableAttributes(identifiable.getId(),
+                identifiable.getType(),
+                identifierListFilter.getDistributionKey(identifiable.getId()));
         } else {
-            return FiltersUtils.getIdentifiables(filter, network, filterLoader).stream()
-                .map(identifiable -> new IdentifiableAttributes(identifiable.getId(), identifiable.getType(), null))
-                .toList();
+            return identifiable -> new IdentifiableAttributes(identifiable.getId(), identifiable.getType(), null);
         }
     }
 
@@ -46,16 +199,22 @@ public final class FilterServiceUtils {
 
     public static List<FilterEquipments> getFilterEquipmentsFromUuid(Network network, List<UUID> uuids, FilterLoader filterLoader, Set<FilterType> filterTypesToExclude) {
         List<AbstractFilter> filters = filterLoader.getFilters(uuids);
+        FilterLoader prefetchedFilterLoader = PrefetchedFilterLoader.prefetch(filters, filterLoader);
         return filters.stream()
             .filter(filter -> filter != null && !filterTypesToExclude.contains(filter.getType()))
-            .map(filter -> filter.toFilterEquipments(FilterServiceUtils.getIdentifiableAttributes(filter, network, filterLoader)))
+            .map(filter -> filter.toFilterEquipments(FilterServiceUtils.getIdentifiableAttributes(filter, network, prefetchedFilterLoader)))
             .toList();
     }
 
     public static List<FilterEquipments> getFilterEquipmentsFromUuid(Network network, UUID uuid, FilterLoader filterLoader) {
+        return getFilterEquipmentsFromUuid(network, uuid, filterLoader, FilterEvaluationOptions.DEFAULT);
+    }
+
+    public static List<FilterEquipments> getFilterEquipmentsFromUuid(Network network, UUID uuid, FilterLoader filterLoader,
+                                                                     FilterEvaluationOptions options) {
         List<AbstractFilter> filters = filterLoader.getFilters(List.of(uuid));
         return filters.stream()
-            .map(filter -> filter.toFilterEquipments(FilterServiceUtils.getIdentifiableAttributes(filter, network, filterLoader)))
+            .map(filter -> filter.toFilterEquipments(FilterServiceUtils.getIdentifiableAttributes(filter, network, filterLoader, options)))
             .toList();
     }
 
@@ -64,8 +223,9 @@ public final class FilterServiceUtils {
         Map<String, IdentifiableAttributes> notFound = new TreeMap<>();
 
         List<AbstractFilter> abstractFilters = filterLoader.getFilters(filtersWithEquipmentTypes.filters().stream().map(FilterAttributes::getId).toList());
+        FilterLoader prefetchedFilterLoader = PrefetchedFilterLoader.prefetch(abstractFilters, filterLoader);
 
-        abstractFilters.forEach(filter -> mergeFilteredIdentifiables(filtersWithEquipmentTypes, network, filterLoader, result, notFound, filter));
+        abstractFilters.forEach(filter -> mergeFilteredIdentifiables(filtersWithEquipmentTypes, network, prefetchedFilterLoader, result, notFound, filter));
         return new FilteredIdentifiables(
             result.values().stream().sorted(Comparator.comparing(e -> e.getType().ordinal())).toList(),
             notFound.values().stream().sorted(Comparator.comparing(e -> e.getType().ordinal())).toList());
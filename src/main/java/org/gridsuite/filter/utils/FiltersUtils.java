@@ -10,14 +10,26 @@ import com.powsybl.iidm.network.*;
 import org.gridsuite.filter.AbstractFilter;
 import org.gridsuite.filter.FilterLoader;
 import org.gridsuite.filter.expertfilter.ExpertFilter;
-import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
+import org.gridsuite.filter.expertfilter.expertrule.AbstractExpertRule;
+import org.gridsuite.filter.expertfilter.expertrule.CombinatorExpertRule;
 import org.gridsuite.filter.identifierlistfilter.IdentifierListFilter;
-import org.gridsuite.filter.identifierlistfilter.IdentifierListFilterEquipmentAttributes;
+import org.gridsuite.filter.utils.expertfilter.CombinatorType;
+import org.gridsuite.filter.utils.expertfilter.EvaluationContext;
+import org.gridsuite.filter.utils.expertfilter.ExpertFilterUtils;
+import org.gridsuite.filter.utils.expertfilter.PrefetchedFilterLoader;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -29,217 +41,618 @@ public final class FiltersUtils {
     }
 
     private static List<String> getIdentifierListFilterEquipmentIds(IdentifierListFilter identifierListFilter) {
-        return identifierListFilter.getFilterEquipmentsAttributes()
-            .stream()
-            .map(IdentifierListFilterEquipmentAttributes::getEquipmentID)
-            .toList();
+        return identifierListFilter.getEquipmentIds();
     }
 
-    private static <I extends Injection<I>> Stream<Injection<I>> getInjectionList(Stream<Injection<I>> stream, AbstractFilter filter, FilterLoader filterLoader) {
+    private static Predicate<Identifiable<?>> getEquipmentPredicate(AbstractFilter filter, FilterLoader filterLoader, FilterEvaluationOptions options) {
+        return getEquipmentPredicate(filter, new EvaluationContext(filterLoader, options));
+    }
+
+    static Predicate<Identifiable<?>> getEquipmentPredicate(AbstractFilter filter, EvaluationContext context) {
         if (filter instanceof IdentifierListFilter identifierListFilter) {
-            List<String> equipmentIds = getIdentifierListFilterEquipmentIds(identifierListFilter);
-            return stream.filter(injection -> equipmentIds.contains(injection.getId()));
+            return identifiable -> identifierListFilter.containsEquipment(identifiable.getId());
         } else if (filter instanceof ExpertFilter expertFilter) {
             var rule = expertFilter.getRules();
-            Map<UUID, FilterEquipments> cachedUuidFilters = new HashMap<>();
-            return stream.filter(ident -> rule.evaluateRule(ident, filterLoader, cachedUuidFilters));
+            return identifiable -> context.evaluate(rule, identifiable);
         } else {
-            return Stream.empty();
+            throw new IllegalArgumentException("Unsupported filter type " + filter.getClass().getSimpleName());
         }
     }
 
-    private static List<Identifiable<?>> getGeneratorList(Network network, AbstractFilter filter, FilterLoader filterLoader) {
-        if (filter instanceof IdentifierListFilter || filter instanceof ExpertFilter) {
-            Stream<Injection<Generator>> stream = getInjectionList(network.getGeneratorStream().map(generator -> generator), filter, filterLoader);
-            return new ArrayList<>(stream.toList());
-        } else {
-            return List.of();
+    static Stream<? extends Identifiable<?>> getEquipmentStream(Network network, AbstractFilter filter) {
+        return getEquipmentStream(network, filter, FilterEvaluationOptions.DEFAULT);
+    }
+
+    static Stream<? extends Identifiable<?>> getEquipmentStream(Network network, AbstractFilter filter, FilterEvaluationOptions options) {
+        return switch (filter.getEquipmentType()) {
+            case GENERATOR -> network.getGeneratorStream();
+            case LOAD -> network.getLoadStream();
+            case BATTERY -> network.getBatteryStream();
+            case STATIC_VAR_COMPENSATOR -> network.getStaticVarCompensatorStream();
+            case SHUNT_COMPENSATOR -> network.getShuntCompensatorStream();
+            case LCC_CONVERTER_STATION -> network.getLccConverterStationStream();
+            case VSC_CONVERTER_STATION -> network.getVscConverterStationStream();
+            case HVDC_LINE -> network.getHvdcLineStream();
+            case BOUNDARY_LINE -> network.getBoundaryLineStream();
+            case LINE -> network.getLineStream();
+            case TWO_WINDINGS_TRANSFORMER -> network.getTwoWindingsTransformerStream();
+            case THREE_WINDINGS_TRANSFORMER -> network.getThreeWindingsTransformerStream();
+            case BUS -> getBusStream(network, (ExpertFilter) filter, options);
+            case BUSBAR_SECTION -> network.getBusbarSectionStream();
+            case VOLTAGE_LEVEL -> network.getVoltageLevelStream();
+            case SUBSTATION -> network.getSubstationStream();
+        };
+    }
+
+    private static Stream<Bus> getBusStream(Network network, ExpertFilter expertFilter, FilterEvaluationOptions options) {
+        return getBusVoltageLevels(network, expertFilter, options).flatMap(vl -> getBuses(vl, options));
+    }
+
+    /**
+     * @return the voltage levels whose buses may match the filter
+     */
+    private static Stream<VoltageLevel> getBusVoltageLevels(Network network, ExpertFilter expertFilter, FilterEvaluationOptions options) {
+        // topologyKind is an optional info attached into expert filter when filtering bus for optimizing the perf
+        // note that with voltage levels of kind TopologyKind.NODE_BREAKER, buses are computed on-the-fly => expensive
+        var topologyKind = expertFilter.getTopologyKind();
+        Predicate<VoltageLevel> voltageLevelFilter = vl -> topologyKind == null || vl.getTopologyKind() == topologyKind;
+        // so the conditions on the fields read on the voltage level of the buses are evaluated before computing them
+        Optional<AbstractExpertRule> voltageLevelRule = ExpertFilterUtils.getBusVoltageLevelRule(expertFilter.getRules());
+        if (voltageLevelRule.isPresent()) {
+            EvaluationContext context = new EvaluationContext(null, options);
+            voltageLevelFilter = voltageLevelFilter.and(vl -> context.evaluate(voltageLevelRule.get(), vl));
         }
+        return network.getVoltageLevelStream().filter(voltageLevelFilter);
     }
 
-    private static List<Identifiable<?>> getLoadList(Network network, AbstractFilter filter, FilterLoader filterLoader) {
-        Stream<Injection<Load>> stream = getInjectionList(network.getLoadStream().map(load -> load), filter, filterLoader);
-        return new ArrayList<>(stream.toList());
+    private static Stream<Bus> getBuses(VoltageLevel voltageLevel, FilterEvaluationOptions options) {
+        BusTopologyCache busTopologyCache = options.getBusTopologyCache();
+        return busTopologyCache != null
+            ? busTopologyCache.getBuses(voltageLevel).stream()
+            : voltageLevel.getBusBreakerView().getBusStream();
     }
 
-    private static List<Identifiable<?>> getBatteryList(Network network, AbstractFilter filter, FilterLoader filterLoader) {
-        Stream<Injection<Battery>> stream = getInjectionList(network.getBatteryStream().map(battery -> battery), filter, filterLoader);
-        return new ArrayList<>(stream.toList());
+    static boolean isSupported(AbstractFilter filter) {
+        // buses can only be filtered with expert filters
+        return filter instanceof ExpertFilter
+            || filter instanceof IdentifierListFilter && filter.getEquipmentType() != EquipmentType.BUS;
     }
 
-    private static List<Identifiable<?>> getStaticVarCompensatorList(Network network, AbstractFilter filter, FilterLoader filterLoader) {
-        Stream<Injection<StaticVarCompensator>> stream = getInjectionList(network.getStaticVarCompensatorStream().map(svc -> svc), filter, filterLoader);
-        return new ArrayList<>(stream.toList());
+    static FilterLoader prefetch(AbstractFilter filter, FilterLoader loader) {
+        // referenced filters are loaded once here rather than while evaluating each equipment
+        return filter instanceof ExpertFilter && loader != null ? PrefetchedFilterLoader.prefetch(filter, loader) : loader;
     }
 
-    private static List<Identifiable<?>> getShuntCompensatorList(Network network, AbstractFilter filter, FilterLoader filterLoader) {
-        Stream<Injection<ShuntCompensator>> stream = getInjectionList(network.getShuntCompensatorStream().map(sc -> sc), filter, filterLoader);
-        return new ArrayList<>(stream.toList());
+    public static List<Identifiable<?>> getIdentifiables(AbstractFilter filter, Network network, FilterLoader filterLoader) {
+        return getIdentifiables(filter, network, filterLoader, FilterEvaluationOptions.DEFAULT);
     }
 
-    private static List<Identifiable<?>> getBoundaryLineList(Network network, AbstractFilter filter, FilterLoader filterLoader) {
-        Stream<Injection<BoundaryLine>> stream = getInjectionList(network.getBoundaryLineStream().map(bl -> bl), filter, filterLoader);
-        return new ArrayList<>(stream.toList());
+    /**
+     * Gets the equipments of the network matching the filter, in the network order.
+     *
+     * @param options the evaluation options, in particular whether the equipments are evaluated in parallel
+     * @throws org.gridsuite.filter.exception.FilterEvaluationCancelledException if the evaluation is cancelled
+     * or exceeds its deadline
+     */
+    public static List<Identifiable<?>> getIdentifiables(@Nonnull AbstractFilter filter, @Nonnull Network network,
+                                                         FilterLoader loader, @Nonnull FilterEvaluationOptions options) {
+        return evaluate(filter, network, loader, options).elements();
     }
 
-    private static List<Identifiable<?>> getLccConverterStationList(Network network, AbstractFilter filter, FilterLoader filterLoader) {
-        Stream<Injection<LccConverterStation>> stream = getInjectionList(network.getLccConverterStationStream().map(lcc -> lcc), filter, filterLoader);
-        return new ArrayList<>(stream.toList());
+    /**
+     * Evaluates the filter on the equipments of the network, stopping early when the
+     * {@link FilterEvaluationOptions#getMaxResults() result} or {@link FilterEvaluationOptions#getTimeBudget() time}
+     * limit of the options is reached.
+     *
+     * @throws org.gridsuite.filter.exception.FilterEvaluationCancelledException if the evaluation is cancelled
+     * or exceeds its deadline
+     */
+    public static FilterEvaluationResult<Identifiable<?>> evaluate(@Nonnull AbstractFilter filter, @Nonnull Network network,
+                                                                   FilterLoader loader, @Nonnull FilterEvaluationOptions options) {
+        if (!isSupported(filter)) {
+            return new FilterEvaluationResult<>(new ArrayList<>(), 0, false);
+        }
+        options.checkNotCancelled();
+        FilterLoader filterLoader = prefetch(filter, loader);
+        Predicate<Identifiable<?>> predicate = getEquipmentPredicate(filter, filterLoader, options);
+
+        // a limited evaluation is sequential: it is meant to stop after a few equipments
+        if (options.isParallel() && !options.isLimited()) {
+            return filter.getEquipmentType() == EquipmentType.BUS
+                ? filterBusesInParallel(network, (ExpertFilter) filter, predicate, options)
+                : filterInParallel(network, getEquipmentStream(network, filter, options), predicate, options);
+        }
+        return filterSequentially(getEquipmentStream(network, filter, options).iterator(), predicate, options);
     }
 
-    private static List<Identifiable<?>> getVscConverterStationList(Network network, AbstractFilter filter, FilterLoader filterLoader) {
-        Stream<Injection<VscConverterStation>> stream = getInjectionList(network.getVscConverterStationStream().map(vsc -> vsc), filter, filterLoader);
-        return new ArrayList<>(stream.toList());
+    public static List<List<Identifiable<?>>> getIdentifiables(@Nonnull List<? extends AbstractFilter> filters, @Nonnull Network network,
+                                                               FilterLoader loader) {
+        return getIdentifiables(filters, network, loader, FilterEvaluationOptions.DEFAULT);
     }
 
-    private static List<Identifiable<?>> getBusList(Network network, AbstractFilter filter, FilterLoader filterLoader) {
-        if (filter instanceof ExpertFilter expertFilter) {
-            // topologyKind is an optional info attached into expert filter when filtering bus for optimizing the perf
-            // note that with voltage levels of kind TopologyKind.NODE_BREAKER, buses are computed on-the-fly => expensive
-            var topologyKind = expertFilter.getTopologyKind();
-            Predicate<VoltageLevel> voltageLevelFilter = vl -> topologyKind == null || vl.getTopologyKind() == topologyKind;
+    /**
+     * Evaluates several filters in a single scan of the equipments of each type, rather than one scan per filter: each
+     * equipment is evaluated by all the filters of its type in turn, the field values read by a rule being reused
+     * by the next ones, and the filters referenced by several filters are evaluated only once.
+     * The filters on buses are still evaluated one by one, and the evaluation is sequential.
+     *
+     * @return the equipments matching each filter, in the order of the filters, each in the network order
+     * @throws org.gridsuite.filter.exception.FilterEvaluationCancelledException if the evaluation is cancelled
+     * or exceeds its deadline
+     */
+    public static List<List<Identifiable<?>>> getIdentifiables(@Nonnull List<? extends AbstractFilter> filters, @Nonnull Network network,
+                                                               FilterLoader loader, @Nonnull FilterEvaluationOptions options) {
+        List<List<Identifiable<?>>> results = new ArrayList<>(filters.size());
+        Map<EquipmentType, List<Integer>> filterIndexesByType = new EnumMap<>(EquipmentType.class);
+        for (int i = 0; i < filters.size(); i++) {
+            results.add(new ArrayList<>());
+            if (isSupported(filters.get(i))) {
+                filterIndexesByType.computeIfAbsent(filters.get(i).getEquipmentType(), type -> new ArrayList<>()).add(i);
+            }
+        }
+        if (filterIndexesByType.isEmpty()) {
+            return results;
+        }
+        options.checkNotCancelled();
 
-            Stream<Identifiable<?>> stream = network.getVoltageLevelStream()
-                .filter(voltageLevelFilter)
-                .map(VoltageLevel::getBusBreakerView)
-                .flatMap(VoltageLevel.BusBreakerView::getBusStream);
+        // referenced filters are loaded once for all the filters
+        List<? extends AbstractFilter> expertFilters = filters.stream().filter(ExpertFilter.class::isInstance).toList();
+        FilterLoader filterLoader = loader != null && !expertFilters.isEmpty() ? PrefetchedFilterLoader.prefetch(expertFilters, loader) : loader;
+        EvaluationContext context = EvaluationContext.forSharedScan(filterLoader, options.withoutLimits());
 
-            var rule = expertFilter.getRules();
-            Map<UUID, FilterEquipments> cachedUuidFilters = new HashMap<>();
-            return stream.filter(ident -> rule.evaluateRule(ident, filterLoader, cachedUuidFilters)).toList();
-        } else {
-            return List.of();
+        filterIndexesByType.forEach((equipmentType, indexes) -> {
+            if (equipmentType == EquipmentType.BUS) {
+                // the scanned buses depend on the topology kind and on the voltage level conditions of each filter
+                indexes.forEach(i -> results.set(i, filterSequentially(getEquipmentStream(network, filters.get(i), options).iterator(),
+                    getEquipmentPredicate(filters.get(i), context), options.withoutLimits()).elements()));
+                return;
+            }
+            List<Predicate<Identifiable<?>>> predicates = indexes.stream().map(i -> getEquipmentPredicate(filters.get(i), context)).toList();
+            List<List<Identifiable<?>>> typeResults = indexes.stream().map(results::get).toList();
+            Predicate<Identifiable<?>> cancellationCheck = withCancellationChecks(identifiable -> true, options);
+            getEquipmentStream(network, filters.get(indexes.getFirst())).forEach(equipment -> {
+                cancellationCheck.test(equipment);
+                for (int j = 0; j < predicates.size(); j++) {
+                    if (predicates.get(j).test(equipment)) {
+                        typeResults.get(j).add(equipment);
+                    }
+                }
+            });
+        });
+        return results;
+    }
+
+    /**
+     * Lazily evaluates the filter on the equipments of the network, in the network order, so that the caller, for
+     * instance writing the IDs to a response, never holds the whole result. The stream must be consumed by one thread
+     * and before the network is modified.
+     *
+     * @throws org.gridsuite.filter.exception.FilterEvaluationCancelledException while consuming the stream if the
+     * evaluation is cancelled or exceeds its deadline
+     */
+    public static Stream<Identifiable<?>> streamIdentifiables(@Nonnull AbstractFilter filter, @Nonnull Network network,
+                                                              FilterLoader loader, @Nonnull FilterEvaluationOptions options) {
+        if (!isSupported(filter)) {
+            return Stream.empty();
         }
+        options.checkNotCancelled();
+        FilterLoader filterLoader = prefetch(filter, loader);
+        Predicate<Identifiable<?>> predicate = withCancellationChecks(getEquipmentPredicate(filter, filterLoader, options), options);
+        return getEquipmentStream(network, filter, options).filter(predicate).map(identifiable -> identifiable);
     }
 
-    private static List<Identifiable<?>> getBusbarSectionList(Network network, AbstractFilter filter, FilterLoader filterLoader) {
-        Stream<Injection<BusbarSection>> stream = getInjectionList(network.getBusbarSectionStream().map(bbs -> bbs), filter, filterLoader);
-        return new ArrayList<>(stream.toList());
+    public static Stream<Identifiable<?>> streamIdentifiables(@Nonnull AbstractFilter filter, @Nonnull Network network, FilterLoader loader) {
+        return streamIdentifiables(filter, network, loader, FilterEvaluationOptions.DEFAULT);
     }
 
-    private static List<Identifiable<?>> getLineList(Network network, AbstractFilter filter, FilterLoader filterLoader) {
-        if (filter instanceof IdentifierListFilter identifierListFilter) {
-            List<String> equipmentIds = getIdentifierListFilterEquipmentIds(identifierListFilter);
-            Stream<Line> stream = network.getLineStream()
-                .filter(line -> equipmentIds.contains(line.getId()));
-            return new ArrayList<>(stream.toList());
-        } else if (filter instanceof ExpertFilter expertFilter) {
-            var rule = expertFilter.getRules();
-            Map<UUID, FilterEquipments> cachedUuidFilters = new HashMap<>();
-            Stream<Line> stream = network.getLineStream()
-                .filter(ident -> rule.evaluateRule(ident, filterLoader, cachedUuidFilters));
-            return new ArrayList<>(stream.toList());
-        } else {
-            return List.of();
+    /**
+     * Calls the consumer with each equipment of the network matching the filter, in the network order,
+     * without collecting them.
+     *
+     * @see #streamIdentifiables(AbstractFilter, Network, FilterLoader, FilterEvaluationOptions)
+     */
+    public static void forEachMatch(@Nonnull AbstractFilter filter, @Nonnull Network network, FilterLoader loader,
+                                    @Nonnull FilterEvaluationOptions options, @Nonnull Consumer<? super Identifiable<?>> consumer) {
+        streamIdentifiables(filter, network, loader, options).forEach(consumer);
+    }
+
+    public static void forEachMatch(@Nonnull AbstractFilter filter, @Nonnull Network network, FilterLoader loader,
+                                    @Nonnull Consumer<? super Identifiable<?>> consumer) {
+        forEachMatch(filter, network, loader, FilterEvaluationOptions.DEFAULT, consumer);
+    }
+
+    /**
+     * Calls the consumer with each equipment of the network matching the filter, in the network order, and with the
+     * context of the evaluation, through which the fields already read by the rules on the equipment are read again
+     * without being computed.
+     */
+    static void forEachMatchWithContext(@Nonnull AbstractFilter filter, @Nonnull Network network, FilterLoader loader,
+                                        @Nonnull FilterEvaluationOptions options,
+                                        @Nonnull BiConsumer<EvaluationContext, ? super Identifiable<?>> consumer) {
+        if (!isSupported(filter)) {
+            return;
         }
+        options.checkNotCancelled();
+        EvaluationContext context = EvaluationContext.forSharedScan(prefetch(filter, loader), options);
+        Predicate<Identifiable<?>> predicate = withCancellationChecks(getEquipmentPredicate(filter, context), options);
+        getEquipmentStream(network, filter, options).filter(predicate).forEach(identifiable -> consumer.accept(context, identifiable));
     }
 
-    private static List<Identifiable<?>> get2WTransformerList(Network network, AbstractFilter filter, FilterLoader filterLoader) {
-        if (filter instanceof IdentifierListFilter identifierListFilter) {
-            List<String> equipmentIds = getIdentifierListFilterEquipmentIds(identifierListFilter);
-            Stream<TwoWindingsTransformer> stream = network.getTwoWindingsTransformerStream()
-                .filter(twoWindingsTransformer -> equipmentIds.contains(twoWindingsTransformer.getId()));
-            return new ArrayList<>(stream.toList());
-        } else if (filter instanceof ExpertFilter expertFilter) {
-            var rule = expertFilter.getRules();
-            Map<UUID, FilterEquipments> cachedUuidFilters = new HashMap<>();
-            Stream<TwoWindingsTransformer> stream = network.getTwoWindingsTransformerStream()
-                .filter(ident -> rule.evaluateRule(ident, filterLoader, cachedUuidFilters));
-            return new ArrayList<>(stream.toList());
-        } else {
-            return List.of();
+    /**
+     * Gets the equipments of the network matching the filter in each of the given variants. The part of an expert
+     * filter depending only on {@link ExpertFilterUtils#isStatic(AbstractExpertRule) static fields} is evaluated once,
+     * the rest of the filter being evaluated in each variant on the equipments matching the static part only.
+     * The working variant of the network is restored afterward.
+     *
+     * @param options the evaluation options, only used for the cancellation: the result and time limits are ignored
+     * @return the matching equipments, in the network order, by variant ID in the order of the given variants
+     * @throws com.powsybl.commons.PowsyblException if a variant doesn't exist
+     * @throws org.gridsuite.filter.exception.FilterEvaluationCancelledException if the evaluation is cancelled
+     * or exceeds its deadline
+     */
+    public static Map<String, List<Identifiable<?>>> getIdentifiablesByVariant(@Nonnull AbstractFilter filter, @Nonnull Network network,
+                                                                               FilterLoader loader, @Nonnull List<String> variantIds,
+                                                                               @Nonnull FilterEvaluationOptions options) {
+        FilterEvaluationOptions completeOptions = options.withoutLimits();
+        Map<String, List<Identifiable<?>>> results = new LinkedHashMap<>();
+        VariantManager variantManager = network.getVariantManager();
+        String initialVariantId = variantManager.getWorkingVariantId();
+        try {
+            if (filter instanceof ExpertFilter expertFilter && filter.getEquipmentType() != EquipmentType.BUS) {
+                completeOptions.checkNotCancelled();
+                FilterLoader filterLoader = prefetch(filter, loader);
+                StaticRuleSplit split = splitStaticRule(expertFilter.getRules());
+                List<Identifiable<?>> candidates = getStaticCandidates(network, filter, split, filterLoader, completeOptions);
+                for (String variantId : variantIds) {
+                    variantManager.setWorkingVariant(variantId);
+                    BitSet matches = matchStateRule(candidates, split, filterLoader, completeOptions);
+                    results.put(variantId, matches.stream().<Identifiable<?>>mapToObj(candidates::get).collect(Collectors.toCollection(ArrayList::new)));
+                }
+            } else if (filter instanceof IdentifierListFilter && isSupported(filter)) {
+                // the equipments are the same in all the variants
+                List<Identifiable<?>> identifiables = getIdentifiables(filter, network, loader, completeOptions);
+                for (String variantId : variantIds) {
+                    variantManager.setWorkingVariant(variantId);
+                    results.put(variantId, new ArrayList<>(identifiables));
+                }
+            } else {
+                // the buses depend on the topology of each variant
+                for (String variantId : variantIds) {
+                    variantManager.setWorkingVariant(variantId);
+                    results.put(variantId, getIdentifiables(filter, network, loader, completeOptions));
+                }
+            }
+        } finally {
+            variantManager.setWorkingVariant(initialVariantId);
         }
+        return results;
     }
 
-    private static List<Identifiable<?>> get3WTransformerList(Network network, AbstractFilter filter, FilterLoader filterLoader) {
-        if (filter instanceof IdentifierListFilter identifierListFilter) {
-            List<String> equipmentIds = getIdentifierListFilterEquipmentIds(identifierListFilter);
-            Stream<ThreeWindingsTransformer> stream = network.getThreeWindingsTransformerStream()
-                .filter(threeWindingsTransformer -> equipmentIds.contains(threeWindingsTransformer.getId()));
-            return new ArrayList<>(stream.toList());
-        } else if (filter instanceof ExpertFilter expertFilter) {
-            var rule = expertFilter.getRules();
-            Map<UUID, FilterEquipments> cachedUuidFilters = new HashMap<>();
-            Stream<ThreeWindingsTransformer> stream = network.getThreeWindingsTransformerStream()
-                .filter(ident -> rule.evaluateRule(ident, filterLoader, cachedUuidFilters));
-            return new ArrayList<>(stream.toList());
-        } else {
-            return List.of();
+    public static Map<String, List<Identifiable<?>>> getIdentifiablesByVariant(@Nonnull AbstractFilter filter, @Nonnull Network network,
+                                                                               FilterLoader loader, @Nonnull List<String> variantIds) {
+        return getIdentifiablesByVariant(filter, network, loader, variantIds, FilterEvaluationOptions.DEFAULT);
+    }
+
+    /**
+     * Gets the IDs of the equipments entering and leaving the result of the filter from a variant of the network to another.
+     * The part of an expert filter depending only on {@link ExpertFilterUtils#isStatic(AbstractExpertRule) static fields}
+     * is evaluated once, the rest of the filter being evaluated in each variant on the equipments matching the static
+     * part, and the results are compared as bit sets indexed like these equipments. The working variant of the network
+     * is restored afterward.
+     *
+     * @param options the evaluation options, only used for the cancellation: the result and time limits are ignored
+     * @throws com.powsybl.commons.PowsyblException if a variant doesn't exist
+     * @throws org.gridsuite.filter.exception.FilterEvaluationCancelledException if the evaluation is cancelled
+     * or exceeds its deadline
+     */
+    public static FilterResultDiff diff(@Nonnull AbstractFilter filter, @Nonnull Network network, FilterLoader loader,
+                                        @Nonnull String variantIdA, @Nonnull String variantIdB, @Nonnull FilterEvaluationOptions options) {
+        if (!(filter instanceof ExpertFilter expertFilter) || filter.getEquipmentType() == EquipmentType.BUS) {
+            // the buses of the variants can't be indexed together, the IDs are compared
+            Map<String, List<Identifiable<?>>> results = getIdentifiablesByVariant(filter, network, loader, List.of(variantIdA, variantIdB), options);
+            Set<String> idsA = getIds(results.get(variantIdA));
+            Set<String> idsB = getIds(results.get(variantIdB));
+            Set<String> addedIds = new LinkedHashSet<>(idsB);
+            addedIds.removeAll(idsA);
+            Set<String> removedIds = new LinkedHashSet<>(idsA);
+            removedIds.removeAll(idsB);
+            return new FilterResultDiff(addedIds, removedIds);
+        }
+
+        FilterEvaluationOptions completeOptions = options.withoutLimits();
+        VariantManager variantManager = network.getVariantManager();
+        String initialVariantId = variantManager.getWorkingVariantId();
+        try {
+            completeOptions.checkNotCancelled();
+            FilterLoader filterLoader = prefetch(filter, loader);
+            StaticRuleSplit split = splitStaticRule(expertFilter.getRules());
+            List<Identifiable<?>> candidates = getStaticCandidates(network, filter, split, filterLoader, completeOptions);
+            variantManager.setWorkingVariant(variantIdA);
+            BitSet matchesA = matchStateRule(candidates, split, filterLoader, completeOptions);
+            variantManager.setWorkingVariant(variantIdB);
+            BitSet matchesB = matchStateRule(candidates, split, filterLoader, completeOptions);
+
+            BitSet added = (BitSet) matchesB.clone();
+            added.andNot(matchesA);
+            BitSet removed = (BitSet) matchesA.clone();
+            removed.andNot(matchesB);
+            return new FilterResultDiff(getIds(candidates, added), getIds(candidates, removed));
+        } finally {
+            variantManager.setWorkingVariant(initialVariantId);
         }
     }
 
-    private static List<Identifiable<?>> getHvdcList(Network network, AbstractFilter filter, FilterLoader filterLoader) {
-        if (filter instanceof IdentifierListFilter identifierListFilter) {
-            List<String> equipmentsIds = getIdentifierListFilterEquipmentIds(identifierListFilter);
-            Stream<HvdcLine> stream = network.getHvdcLineStream()
-                .filter(hvdcLine -> equipmentsIds.contains(hvdcLine.getId()));
-            return new ArrayList<>(stream.toList());
-        } else if (filter instanceof ExpertFilter expertFilter) {
-            var rule = expertFilter.getRules();
-            Map<UUID, FilterEquipments> cachedUuidFilters = new HashMap<>();
-            Stream<HvdcLine> stream = network.getHvdcLineStream()
-                .filter(ident -> rule.evaluateRule(ident, filterLoader, cachedUuidFilters));
-            return new ArrayList<>(stream.toList());
-        } else {
-            return List.of();
+    public static FilterResultDiff diff(@Nonnull AbstractFilter filter, @Nonnull Network network, FilterLoader loader,
+                                        @Nonnull String variantIdA, @Nonnull String variantIdB) {
+        return diff(filter, network, loader, variantIdA, variantIdB, FilterEvaluationOptions.DEFAULT);
+    }
+
+    private static Set<String> getIds(List<Identifiable<?>> identifiables) {
+        return identifiables.stream().map(Identifiable::getId).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static Set<String> getIds(List<Identifiable<?>> identifiables, BitSet indexes) {
+        return indexes.stream().mapToObj(index -> identifiables.get(index).getId()).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * @return the equipments matching the static part of the rule, in the network order, evaluated on the working variant
+     */
+    private static List<Identifiable<?>> getStaticCandidates(Network network, AbstractFilter filter, StaticRuleSplit split,
+                                                             FilterLoader filterLoader, FilterEvaluationOptions options) {
+        Stream<? extends Identifiable<?>> equipments = getEquipmentStream(network, filter);
+        if (split.staticRule() != null) {
+            EvaluationContext context = new EvaluationContext(filterLoader, options);
+            equipments = equipments.filter(withCancellationChecks(identifiable -> context.evaluate(split.staticRule(), identifiable), options));
         }
+        return new ArrayList<>(equipments.toList());
     }
 
-    private static List<Identifiable<?>> getVoltageLevelList(Network network, AbstractFilter filter, FilterLoader filterLoader) {
-        if (filter instanceof IdentifierListFilter identifierListFilter) {
-            List<String> equipmentIds = getIdentifierListFilterEquipmentIds(identifierListFilter);
-            Stream<VoltageLevel> stream = network.getVoltageLevelStream()
-                .filter(voltageLevel -> equipmentIds.contains(voltageLevel.getId()));
-            return new ArrayList<>(stream.toList());
-        } else if (filter instanceof ExpertFilter expertFilter) {
-            var rule = expertFilter.getRules();
-            Map<UUID, FilterEquipments> cachedUuidFilters = new HashMap<>();
-            Stream<VoltageLevel> stream = network.getVoltageLevelStream()
-                .filter(ident -> rule.evaluateRule(ident, filterLoader, cachedUuidFilters));
-            return new ArrayList<>(stream.toList());
-        } else {
-            return List.of();
+    /**
+     * @return the indexes of the candidates matching the state part of the rule in the working variant
+     */
+    private static BitSet matchStateRule(List<Identifiable<?>> candidates, StaticRuleSplit split, FilterLoader filterLoader,
+                                         FilterEvaluationOptions options) {
+        BitSet matches = new BitSet(candidates.size());
+        if (split.stateRule() == null) {
+            matches.set(0, candidates.size());
+            return matches;
+        }
+        // referenced filters may depend on the variant: they are not shared between variants
+        EvaluationContext context = new EvaluationContext(filterLoader, options);
+        Predicate<Identifiable<?>> predicate = withCancellationChecks(identifiable -> context.evaluate(split.stateRule(), identifiable), options);
+        for (int i = 0; i < candidates.size(); i++) {
+            if (predicate.test(candidates.get(i))) {
+                matches.set(i);
+            }
         }
+        return matches;
     }
 
-    private static List<Identifiable<?>> getSubstationList(Network network, AbstractFilter filter, FilterLoader filterLoader) {
-        if (filter instanceof IdentifierListFilter identifierListFilter) {
-            List<String> equipmentIds = getIdentifierListFilterEquipmentIds(identifierListFilter);
-            Stream<Substation> stream = network.getSubstationStream()
-                .filter(substation -> equipmentIds.contains(substation.getId()));
-            return new ArrayList<>(stream.toList());
-        } else if (filter instanceof ExpertFilter expertFilter) {
-            var rule = expertFilter.getRules();
-            Map<UUID, FilterEquipments> cachedUuidFilters = new HashMap<>();
-            Stream<Substation> stream = network.getSubstationStream()
-                .filter(ident -> rule.evaluateRule(ident, filterLoader, cachedUuidFilters));
-            return new ArrayList<>(stream.toList());
-        } else {
-            return List.of();
+    /**
+     * A rule split into a static part and a state part whose conjunction is equivalent to the rule,
+     * a {@code null} part always matching.
+     */
+    private record StaticRuleSplit(AbstractExpertRule staticRule, AbstractExpertRule stateRule) {
+    }
+
+    private static StaticRuleSplit splitStaticRule(AbstractExpertRule rule) {
+        if (ExpertFilterUtils.isStatic(rule)) {
+            return new StaticRuleSplit(rule, null);
+        }
+        if (!(rule instanceof CombinatorExpertRule combinatorRule) || combinatorRule.getCombinator() != CombinatorType.AND) {
+            return new StaticRuleSplit(null, rule);
+        }
+        // the static conditions of an AND are evaluated once, even when nested in other ANDs
+        List<AbstractExpertRule> staticRules = new ArrayList<>();
+        List<AbstractExpertRule> stateRules = new ArrayList<>();
+        for (AbstractExpertRule childRule : combinatorRule.getRules()) {
+            StaticRuleSplit childSplit = splitStaticRule(childRule);
+            if (childSplit.staticRule() != null) {
+                staticRules.add(childSplit.staticRule());
+            }
+            if (childSplit.stateRule() != null) {
+                stateRules.add(childSplit.stateRule());
+            }
         }
+        return new StaticRuleSplit(ExpertFilterUtils.buildAndCombination(staticRules).orElse(null),
+            ExpertFilterUtils.buildAndCombination(stateRules).orElse(null));
     }
 
-    public static List<Identifiable<?>> getIdentifiables(AbstractFilter filter, Network network, FilterLoader filterLoader) {
-        return switch (filter.getEquipmentType()) {
-            case GENERATOR -> getGeneratorList(network, filter, filterLoader);
-            case LOAD -> getLoadList(network, filter, filterLoader);
-            case BATTERY -> getBatteryList(network, filter, filterLoader);
-            case STATIC_VAR_COMPENSATOR -> getStaticVarCompensatorList(network, filter, filterLoader);
-            case SHUNT_COMPENSATOR -> getShuntCompensatorList(network, filter, filterLoader);
-            case LCC_CONVERTER_STATION -> getLccConverterStationList(network, filter, filterLoader);
-            case VSC_CONVERTER_STATION -> getVscConverterStationList(network, filter, filterLoader);
-            case HVDC_LINE -> getHvdcList(network, filter, filterLoader);
-            case BOUNDARY_LINE -> getBoundaryLineList(network, filter, filterLoader);
-            case LINE -> getLineList(network, filter, filterLoader);
-            case TWO_WINDINGS_TRANSFORMER -> get2WTransformerList(network, filter, filterLoader);
-            case THREE_WINDINGS_TRANSFORMER -> get3WTransformerList(network, filter, filterLoader);
-            case BUS -> getBusList(network, filter, filterLoader);
-            case BUSBAR_SECTION -> getBusbarSectionList(network, filter, filterLoader);
-            case VOLTAGE_LEVEL -> getVoltageLevelList(network, filter, filterLoader);
-            case SUBSTATION -> getSubstationList(network, filter, filterLoader);
+    /**
+     * Counts the equipments of the network matching the filter, without collecting them.
+     * The equipments of an identifier list filter are looked up by ID rather than scanned.
+     */
+    public static long count(@Nonnull AbstractFilter filter, @Nonnull Network network, FilterLoader loader,
+                             @Nonnull FilterEvaluationOptions options) {
+        if (isSupported(filter) && filter instanceof IdentifierListFilter identifierListFilter) {
+            options.checkNotCancelled();
+            return getIdentifierListFilterEquipments(identifierListFilter, network).count();
+        }
+        return streamIdentifiables(filter, network, loader, options).count();
+    }
+
+    public static long count(@Nonnull AbstractFilter filter, @Nonnull Network network, FilterLoader loader) {
+        return count(filter, network, loader, FilterEvaluationOptions.DEFAULT);
+    }
+
+    /**
+     * Checks whether at least one equipment of the network matches the filter, stopping at the first one.
+     * The equipments of an identifier list filter are looked up by ID rather than scanned.
+     */
+    public static boolean exists(@Nonnull AbstractFilter filter, @Nonnull Network network, FilterLoader loader,
+                                 @Nonnull FilterEvaluationOptions options) {
+        if (isSupported(filter) && filter instanceof IdentifierListFilter identifierListFilter) {
+            options.checkNotCancelled();
+            return getIdentifierListFilterEquipments(identifierListFilter, network).findAny().isPresent();
+        }
+        return streamIdentifiables(filter, network, loader, options).findAny().isPresent();
+    }
+
+    public static boolean exists(@Nonnull AbstractFilter filter, @Nonnull Network network, FilterLoader loader) {
+        return exists(filter, network, loader, FilterEvaluationOptions.DEFAULT);
+    }
+
+    private static Stream<Identifiable<?>> getIdentifierListFilterEquipments(IdentifierListFilter identifierListFilter, Network network) {
+        return new LinkedHashSet<>(getIdentifierListFilterEquipmentIds(identifierListFilter)).stream()
+            .<Identifiable<?>>map(id -> {
+                Identifiable<?> equipment = getEquipment(network, identifierListFilter.getEquipmentType(), id);
+                // the getters also find the equipments by alias, unlike the filters
+                return equipment != null && equipment.getId().equals(id) ? equipment : null;
+            })
+            .filter(Objects::nonNull);
+    }
+
+    static Identifiable<?> getEquipment(Network network, EquipmentType equipmentType, String id) {
+        return switch (equipmentType) {
+            case GENERATOR -> network.getGenerator(id);
+            case LOAD -> network.getLoad(id);
+            case BATTERY -> network.getBattery(id);
+            case STATIC_VAR_COMPENSATOR -> network.getStaticVarCompensator(id);
+            case SHUNT_COMPENSATOR -> network.getShuntCompensator(id);
+            case LCC_CONVERTER_STATION -> network.getLccConverterStation(id);
+            case VSC_CONVERTER_STATION -> network.getVscConverterStation(id);
+            case HVDC_LINE -> network.getHvdcLine(id);
+            case BOUNDARY_LINE -> network.getBoundaryLine(id);
+            case LINE -> network.getLine(id);
+            case TWO_WINDINGS_TRANSFORMER -> network.getTwoWindingsTransformer(id);
+            case THREE_WINDINGS_TRANSFORMER -> network.getThreeWindingsTransformer(id);
+            case BUSBAR_SECTION -> network.getBusbarSection(id);
+            case VOLTAGE_LEVEL -> network.getVoltageLevel(id);
+            case SUBSTATION -> network.getSubstation(id);
+            case BUS -> null;
+        };
+    }
+
+    private static FilterEvaluationResult<Identifiable<?>> filterSequentially(Iterator<? extends Identifiable<?>> equipments,
+                                                                              Predicate<Identifiable<?>> predicate,
+                                                                              FilterEvaluationOptions options) {
+        Predicate<Identifiable<?>> checkedPredicate = withCancellationChecks(predicate, options);
+        int maxResults = options.getMaxResults() != null ? options.getMaxResults() : Integer.MAX_VALUE;
+        Instant budgetEnd = options.getTimeBudget() != null ? TimeUtils.now().plus(options.getTimeBudget()) : null;
+        int checkInterval = Math.max(1, options.getCancellationCheckInterval());
+
+        List<Identifiable<?>> result = new ArrayList<>();
+        long scannedCount = 0;
+        while (equipments.hasNext()) {
+            if (result.size() >= maxResults
+                || budgetEnd != null && scannedCount % checkInterval == 0 && TimeUtils.now().isAfter(budgetEnd)) {
+                return new FilterEvaluationResult<>(result, scannedCount, true);
+            }
+            Identifiable<?> equipment = equipments.next();
+            scannedCount++;
+            if (checkedPredicate.test(equipment)) {
+                result.add(equipment);
+            }
+        }
+        return new FilterEvaluationResult<>(result, scannedCount, false);
+    }
+
+    /**
+     * Checks the cancellation of the evaluation every {@link FilterEvaluationOptions#getCancellationCheckInterval()}
+     * equipments. The returned predicate must only be used by one thread.
+     */
+    private static Predicate<Identifiable<?>> withCancellationChecks(Predicate<Identifiable<?>> predicate, FilterEvaluationOptions options) {
+        if (!options.isCancellable()) {
+            return predicate;
+        }
+        int checkInterval = Math.max(1, options.getCancellationCheckInterval());
+        return new Predicate<>() {
+            private int count;
+
+            @Override
+            public boolean test(Identifiable<?> identifiable) {
+                if (++count == checkInterval) {
+                    count = 0;
+                    options.checkNotCancelled();
+                }
+                return predicate.test(identifiable);
+            }
         };
     }
 
+    private static FilterEvaluationResult<Identifiable<?>> filterInParallel(Network network, Stream<? extends Identifiable<?>> equipmentStream,
+                                                                            Predicate<Identifiable<?>> predicate, FilterEvaluationOptions options) {
+        List<Identifiable<?>> equipments = new ArrayList<>();
+        equipmentStream.forEach(equipments::add);
+        ForkJoinPool pool = options.getForkJoinPool() != null ? options.getForkJoinPool() : ForkJoinPool.commonPool();
+        if (pool.getParallelism() < options.getMinimumThreadCount() || equipments.size() < options.getMinimumEquipmentCount()) {
+            return filterSequentially(equipments.iterator(), predicate, options);
+        }
+
+        List<Identifiable<?>> result = evaluateChunksInParallel(network, pool, equipments, options, chunk -> {
+            List<Identifiable<?>> chunkResult = new ArrayList<>();
+            chunk.stream().filter(withCancellationChecks(predicate, options)).forEach(chunkResult::add);
+            return chunkResult;
+        });
+        return new FilterEvaluationResult<>(result, equipments.size(), false);
+    }
+
+    /**
+     * Computes the buses of independent voltage levels in parallel, the buses of the node/breaker voltage levels
+     * being computed from their topology.
+     */
+    private static FilterEvaluationResult<Identifiable<?>> filterBusesInParallel(Network network, ExpertFilter expertFilter,
+                                                                                Predicate<Identifiable<?>> predicate, FilterEvaluationOptions options) {
+        List<VoltageLevel> voltageLevels = getBusVoltageLevels(network, expertFilter, options).toList();
+        ForkJoinPool pool = options.getForkJoinPool() != null ? options.getForkJoinPool() : ForkJoinPool.commonPool();
+        if (pool.getParallelism() < options.getMinimumThreadCount() || voltageLevels.size() < options.getMinimumVoltageLevelCount()) {
+            return filterSequentially(voltageLevels.stream().flatMap(vl -> getBuses(vl, options)).iterator(), predicate, options);
+        }
+
+        LongAdder busCount = new LongAdder();
+        List<Identifiable<?>> result = evaluateChunksInParallel(network, pool, voltageLevels, options, chunk -> {
+            List<Identifiable<?>> chunkResult = new ArrayList<>();
+            Predicate<Identifiable<?>> checkedPredicate = withCancellationChecks(predicate, options);
+            for (VoltageLevel voltageLevel : chunk) {
+                getBuses(voltageLevel, options).forEach(bus -> {
+                    busCount.increment();
+                    if (checkedPredicate.test(bus)) {
+                        chunkResult.add(bus);
+                    }
+                });
+            }
+            return chunkResult;
+        });
+        return new FilterEvaluationResult<>(result, busCount.sum(), false);
+    }
+
+    /**
+     * Splits the items in chunks evaluated on the pool, and merges the results of the chunks in the order of the items.
+     */
+    private static <T> List<Identifiable<?>> evaluateChunksInParallel(Network network, ForkJoinPool pool, List<T> items,
+                                                                      FilterEvaluationOptions options,
+                                                                      Function<List<T>, List<Identifiable<?>>> chunkEvaluation) {
+        // with multi-thread variant access, the working variant is specific to each thread
+        VariantManager variantManager = network.getVariantManager();
+        String variantId = variantManager.isVariantMultiThreadAccessAllowed() ? variantManager.getWorkingVariantId() : null;
+
+        int chunkSize = Math.ceilDiv(items.size(), pool.getParallelism() * 4);
+        List<ForkJoinTask<List<Identifiable<?>>>> tasks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<T> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            tasks.add(pool.submit(() -> {
+                if (variantId != null) {
+                    variantManager.setWorkingVariant(variantId);
+                }
+                options.checkNotCancelled();
+                return chunkEvaluation.apply(chunk);
+            }));
+        }
+
+        // chunks are merged in the network order, the results of the other chunks are discarded on failure
+        List<Identifiable<?>> result = new ArrayList<>();
+        try {
+            for (ForkJoinTask<List<Identifiable<?>>> task : tasks) {
+                result.addAll(task.join());
+            }
+        } catch (RuntimeException e) {
+            tasks.forEach(task -> task.cancel(false));
+            throw e;
+        }
+        return result;
+    }
+
     /**
      * Combines multiple filter results using {@code AND} or {@code OR} logic.
      */
@@ -0,0 +1,395 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import com.powsybl.commons.extensions.Extension;
+import com.powsybl.iidm.network.*;
+import org.gridsuite.filter.AbstractFilter;
+import org.gridsuite.filter.FilterLoader;
+import org.gridsuite.filter.expertfilter.ExpertFilter;
+import org.gridsuite.filter.identifierlistfilter.CompactEquipmentAttributesList;
+import org.gridsuite.filter.identifierlistfilter.IdentifierListFilter;
+import org.gridsuite.filter.identifierlistfilter.IdentifierListFilterEquipmentAttributes;
+import org.gridsuite.filter.utils.expertfilter.EvaluationContext;
+import org.gridsuite.filter.utils.expertfilter.ExpertFilterUtils;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the results of some filters on a network up to date: a {@link NetworkListener listener} records the equipments
+ * modified since the last evaluation of each filter, and only these equipments are evaluated again, the result being
+ * the same as the one of {@link FiltersUtils#getIdentifiables(AbstractFilter, Network, FilterLoader)}.
+ * <p>
+ * The equipments whose fields depend on a modified voltage level, substation, switch, bus or converter station are
+ * evaluated again too. A modification of a variant dependent attribute in another variant than the one of a result,
+ * or in the same variant when the filter only reads {@link ExpertFilterUtils#isStatic(org.gridsuite.filter.expertfilter.expertrule.AbstractExpertRule)
+ * static fields}, doesn't change the result. The results of the filters on buses, which are computed from the topology,
+ * and of the filters referencing other filters are fully evaluated again after any modification.
+ * <p>
+ * The results are kept with a {@link #contentHash(AbstractFilter) hash of the content} of their filter, so that a filter
+ * modified in place by the caller is evaluated again.
+ * Not thread-safe: the network must not be modified while getting a result. The evaluator must be {@link #close() closed}
+ * to stop listening to the network.
+ *
+ * @author agent <agent at local>
+ */
+public class IncrementalFilterEvaluator implements AutoCloseable {
+
+    private final Network network;
+    private final FilterLoader filterLoader;
+    private final Map<ResultKey, CachedResult> results = new HashMap<>();
+    private final NetworkListener listener = new ChangeListener();
+
+    private long evaluatedEquipmentCount;
+
+    public IncrementalFilterEvaluator(@Nonnull Network network, FilterLoader filterLoader) {
+        this.network = network;
+        this.filterLoader = filterLoader;
+        network.addListener(listener);
+    }
+
+    /**
+     * Gets the equipments of the network matching the filter in the working variant, in the network order,
+     * evaluating only the equipments modified since the previous call with the same filter on the same variant.
+     *
+     * @throws IllegalArgumentException if the filter has no ID, the results being kept by filter ID and variant ID
+     */
+    public List<Identifiable<?>> getIdentifiables(@Nonnull AbstractFilter filter) {
+        if (filter.getId() == null) {
+            throw new IllegalArgumentException("The filter must have an ID");
+        }
+        if (!FiltersUtils.isSupported(filter)) {
+            return new ArrayList<>();
+        }
+        String variantId = network.getVariantManager().getWorkingVariantId();
+        ResultKey key = new ResultKey(filter.getId(), variantId);
+        CachedResult cached = results.get(key);
+        int contentHash = contentHash(filter);
+        if (cached == null || cached.contentHash != contentHash || cached.filter.getClass() != filter.getClass()) {
+            cached = new CachedResult(filter, contentHash, FiltersUtils.prefetch(filter, filterLoader), variantId);
+            results.put(key, cached);
+        }
+        if (cached.invalid) {
+            evaluateAll(cached);
+        } else if (!cached.modifiedIds.isEmpty()) {
+            evaluateModified(cached);
+        }
+        return new ArrayList<>(cached.matches.values());
+    }
+
+    /**
+     * @return a hash of the content of the filter, which changes when the filter is modified in place, the entries of
+     * an identifier list filter being hashed by value
+     */
+    static int contentHash(AbstractFilter filter) {
+        if (!(filter instanceof IdentifierListFilter identifierListFilter)) {
+            // the rules of the expert filters are hashed by value
+            return filter.hashCode();
+        }
+        int hash = Objects.hash(filter.getId(), filter.getModificationDate(), filter.getEquipmentType());
+        List<IdentifierListFilterEquipmentAttributes> entries = identifierListFilter.getFilterEquipmentsAttributes();
+        if (entries instanceof CompactEquipmentAttributesList compactList && compactList.isCompact()) {
+            // hashed by value without creating the entries
+            return 31 * hash + compactList.hashCode();
+        }
+        if (entries != null) {
+            for (IdentifierListFilterEquipmentAttributes entry : entries) {
+                hash = 31 * hash + (entry != null ? Objects.hash(entry.getEquipmentID(), entry.getDistributionKey()) : 0);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * @return whether the result of the filter on the variant is known and still valid, so that getting it doesn't
+     * evaluate any equipment
+     */
+    public boolean isUpToDate(@Nonnull UUID filterId, @Nonnull String variantId) {
+        CachedResult cached = results.get(new ResultKey(filterId, variantId));
+        return cached != null && !cached.invalid && cached.modifiedIds.isEmpty();
+    }
+
+    /**
+     * Forgets the results of a filter on all the variants.
+     */
+    public void remove(@Nonnull UUID filterId) {
+        results.keySet().removeIf(key -> key.filterId().equals(filterId));
+    }
+
+    /**
+     * Forgets the result of a filter on a variant.
+     */
+    public void remove(@Nonnull UUID filterId, @Nonnull String variantId) {
+        results.remove(new ResultKey(filterId, variantId));
+    }
+
+    /**
+     * @return the number of equipments evaluated since the creation of this evaluator
+     */
+    public long getEvaluatedEquipmentCount() {
+        return evaluatedEquipmentCount;
+    }
+
+    @Override
+    public void close() {
+        network.removeListener(listener);
+        results.clear();
+    }
+
+    private void evaluateAll(CachedResult cached) {
+        Predicate<Identifiable<?>> predicate = FiltersUtils.getEquipmentPredicate(cached.filter, new EvaluationContext(cached.filterLoader));
+        cached.ranks.clear();
+        cached.matches.clear();
+        cached.nextRank = 0;
+        FiltersUtils.getEquipmentStream(network, cached.filter).forEach(equipment -> {
+            int rank = cached.nextRank++;
+            cached.ranks.put(equipment.getId(), rank);
+            evaluatedEquipmentCount++;
+            if (predicate.test(equipment)) {
+                cached.matches.put(rank, equipment);
+            }
+        });
+        cached.modifiedIds.clear();
+        cached.createdIds.clear();
+        cached.invalid = false;
+    }
+
+    private void evaluateModified(CachedResult cached) {
+        Predicate<Identifiable<?>> predicate = FiltersUtils.getEquipmentPredicate(cached.filter, new EvaluationContext(cached.filterLoader));
+        for (String id : cached.modifiedIds) {
+            Identifiable<?> equipment = getEquipment(cached, id);
+            // removed, or not an equipment of the filter type, or created and ranked below: an equipment removed
+            // then created again with the same ID comes last in the network order, as any created equipment
+            if (equipment == null || cached.createdIds.contains(id)) {
+                Integer rank = cached.ranks.remove(id);
+                if (rank != null) {
+                    cached.matches.remove(rank);
+                }
+            } else {
+                Integer rank = cached.ranks.get(id);
+                if (rank != null) {
+                    evaluate(cached, predicate, equipment, rank);
+                }
+            }
+        }
+        // in the order of creation, which is the network order
+        for (String id : cached.createdIds) {
+            Identifiable<?> equipment = getEquipment(cached, id);
+            if (equipment != null) {
+                int rank = cached.nextRank++;
+                cached.ranks.put(id, rank);
+                evaluate(cached, predicate, equipment, rank);
+            }
+        }
+        cached.modifiedIds.clear();
+        cached.createdIds.clear();
+    }
+
+    private Identifiable<?> getEquipment(CachedResult cached, String id) {
+        Identifiable<?> equipment = FiltersUtils.getEquipment(network, cached.filter.getEquipmentType(), id);
+        return equipment != null && equipment.getId().equals(id) ? equipment : null;
+    }
+
+    private void evaluate(CachedResult cached, Predicate<Identifiable<?>> predicate, Identifiable<?> equipment, int rank) {
+        evaluatedEquipmentCount++;
+        if (predicate.test(equipment)) {
+            cached.matches.put(rank, equipment);
+        } else {
+            cached.matches.remove(rank);
+        }
+    }
+
+    /**
+     * Records a modification of the network.
+     *
+     * @param variantId the variant of the modified attribute, {@code null} if it doesn't depend on the variant
+     */
+    private void onModification(Identifiable<?> identifiable, String variantId) {
+        Set<String> impactedIds = null;
+        for (CachedResult cached : results.values()) {
+            if (cached.invalid
+                || variantId != null && (!variantId.equals(cached.variantId) || cached.isStatic)) {
+                continue;
+            }
+            if (cached.fullEvaluation) {
+                cached.invalid = true;
+            } else {
+                if (impactedIds == null) {
+                    impactedIds = getImpactedIds(identifiable);
+                }
+                cached.modifiedIds.addAll(impactedIds);
+            }
+        }
+    }
+
+    private void onCreation(Identifiable<?> identifiable) {
+        onModification(identifiable, null);
+        for (CachedResult cached : results.values()) {
+            if (!cached.invalid && !cached.fullEvaluation) {
+                // moved last if it was already created, removed and now created again
+                cached.createdIds.remove(identifiable.getId());
+                cached.createdIds.add(identifiable.getId());
+            }
+        }
+    }
+
+    private void onRemoval(String id) {
+        for (CachedResult cached : results.values()) {
+            if (cached.fullEvaluation) {
+                cached.invalid = true;
+            } else if (!cached.invalid) {
+                cached.modifiedIds.add(id);
+            }
+        }
+    }
+
+    private void onVariantModification(String variantId) {
+        results.values().stream()
+            .filter(cached -> variantId.equals(cached.variantId))
+            .forEach(cached -> cached.invalid = true);
+    }
+
+    /**
+     * @return the IDs of the modified identifiable and of the equipments whose fields depend on it
+     */
+    private static Set<String> getImpactedIds(Identifiable<?> identifiable) {
+        Set<String> ids = new HashSet<>();
+        ids.add(identifiable.getId());
+        switch (identifiable) {
+            case Substation substation -> substation.getVoltageLevelStream().forEach(voltageLevel -> addVoltageLevelIds(voltageLevel, ids));
+            case VoltageLevel voltageLevel -> addVoltageLevelIds(voltageLevel, ids);
+            // the connection status of the equipments of the voltage level may change
+            case Switch sw -> addVoltageLevelIds(sw.getVoltageLevel(), ids);
+            case Bus bus -> addVoltageLevelIds(bus.getVoltageLevel(), ids);
+            case HvdcConverterStation<?> converterStation -> {
+                if (converterStation.getHvdcLine() != null) {
+                    ids.add(converterStation.getHvdcLine().getId());
+                }
+            }
+            default -> {
+                // only the identifiable itself
+            }
+        }
+        return ids;
+    }
+
+    private static void addVoltageLevelIds(VoltageLevel voltageLevel, Set<String> ids) {
+        ids.add(voltageLevel.getId());
+        voltageLevel.getConnectableStream().forEach(connectable -> {
+            ids.add(connectable.getId());
+            // the fields of an HVDC line are read on its converter stations
+            if (connectable instanceof HvdcConverterStation<?> converterStation && converterStation.getHvdcLine() != null) {
+                ids.add(converterStation.getHvdcLine().getId());
+            }
+        });
+    }
+
+    private record ResultKey(UUID filterId, String variantId) {
+    }
+
+    private static final class CachedResult {
+        private final AbstractFilter filter;
+        private final int contentHash;
+        private final FilterLoader filterLoader;
+        private final boolean isStatic;
+        private final boolean fullEvaluation;
+        private final String variantId;
+
+        private final Map<String, Integer> ranks = new HashMap<>();
+        private final SortedMap<Integer, Identifiable<?>> matches = new TreeMap<>();
+        private final Set<String> modifiedIds = new HashSet<>();
+        /**
+         * The equipments created since the last evaluation, in the order of creation.
+         */
+        private final Set<String> createdIds = new LinkedHashSet<>();
+        private int nextRank;
+        private boolean invalid = true;
+
+        private CachedResult(AbstractFilter filter, int contentHash, FilterLoader filterLoader, String variantId) {
+            this.filter = filter;
+            this.contentHash = contentHash;
+            this.filterLoader = filterLoader;
+            this.variantId = variantId;
+            ExpertFilter expertFilter = filter instanceof ExpertFilter f ? f : null;
+            this.isStatic = expertFilter != null && ExpertFilterUtils.isStatic(expertFilter.getRules());
+            this.fullEvaluation = filter.getEquipmentType() == EquipmentType.BUS
+                || expertFilter != null && !ExpertFilterUtils.getReferencedFilterUuids(expertFilter.getRules()).isEmpty();
+        }
+    }
+
+    private final class ChangeListener extends DefaultNetworkListener {
+
+        @Override
+        public void onCreation(Identifiable<?> identifiable) {
+            IncrementalFilterEvaluator.this.onCreation(identifiable);
+        }
+
+        @Override
+        public void beforeRemoval(Identifiable<?> identifiable) {
+            // the equipments depending on the identifiable are only known before its removal
+            onModification(identifiable, null);
+        }
+
+        @Override
+        public void afterRemoval(String id) {
+            onRemoval(id);
+        }
+
+        @Override
+        public void onUpdate(Identifiable<?> identifiable, String attribute, String variantId, Object oldValue, Object newValue) {
+            onModification(identifiable, variantId);
+        }
+
+        @Override
+        public void onPropertyAdded(Identifiable<?> identifiable, String key, Object newValue) {
+            onModification(identifiable, null);
+        }
+
+        @Override
+        public void onPropertyReplaced(Identifiable<?> identifiable, String key, Object oldValue, Object newValue) {
+            onModification(identifiable, null);
+        }
+
+        @Override
+        public void onPropertyRemoved(Identifiable<?> identifiable, String key, Object oldValue) {
+            onModification(identifiable, null);
+        }
+
+        @Override
+        public void onExtensionCreation(Extension<?> extension) {
+            onExtensionModification(extension, null);
+        }
+
+        @Override
+        public void onExtensionAfterRemoval(Identifiable<?> identifiable, String extensionName) {
+            onModification(identifiable, null);
+        }
+
+        @Override
+        public void onExtensionUpdate(Extension<?> extension, String attribute, String variantId, Object oldValue, Object newValue) {
+            onExtensionModification(extension, variantId);
+        }
+
+        private void onExtensionModification(Extension<?> extension, String variantId) {
+            if (extension.getExtendable() instanceof Identifiable<?> identifiable) {
+                onModification(identifiable, variantId);
+            }
+        }
+
+        @Override
+        public void onVariantOverwritten(String sourceVariantId, String targetVariantId) {
+            onVariantModification(targetVariantId);
+        }
+
+        @Override
+        public void onVariantRemoved(String variantId) {
+            onVariantModification(variantId);
+        }
+    }
+}
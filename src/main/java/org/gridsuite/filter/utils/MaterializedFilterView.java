@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import com.powsybl.iidm.network.Identifiable;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of the result of a filter on a variant of a network, published by a
+ * {@link MaterializedFilterViewRegistry}.
+ *
+ * @param filterId the ID of the filter
+ * @param variantId the ID of the variant
+ * @param identifiables the equipments matching the filter, in the network order
+ * @param ids the IDs of these equipments
+ * @param version the number of times the view has been published, starting at 1
+ * @author agent <agent at local>
+ */
+public record MaterializedFilterView(UUID filterId,
+                                     String variantId,
+                                     List<Identifiable<?>> identifiables,
+                                     Set<String> ids,
+                                     long version) {
+
+    public MaterializedFilterView {
+        identifiables = List.copyOf(identifiables);
+        // copied in a linked set to keep the network order
+        ids = Collections.unmodifiableSet(new LinkedHashSet<>(ids));
+    }
+
+    static MaterializedFilterView of(UUID filterId, String variantId, List<Identifiable<?>> identifiables, long version) {
+        Set<String> ids = identifiables.stream().map(Identifiable::getId).collect(Collectors.toCollection(LinkedHashSet::new));
+        return new MaterializedFilterView(filterId, variantId, identifiables, ids, version);
+    }
+
+    public boolean contains(String id) {
+        return ids.contains(id);
+    }
+
+    public int size() {
+        return identifiables.size();
+    }
+}
@@ -0,0 +1,318 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import com.powsybl.commons.extensions.Extension;
+import com.powsybl.iidm.network.*;
+import org.gridsuite.filter.AbstractFilter;
+import org.gridsuite.filter.FilterLoader;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the results of some hot filters on variants of a network ready: each registered filter and variant has a
+ * {@link MaterializedFilterView view}, an immutable snapshot which can be read in O(1) by concurrent threads.
+ * <p>
+ * The network notifies its modifications while applying them, possibly between two steps of a removal, so the views
+ * are not evaluated from the notifications themselves: a notification marks the views of the modified variant as
+ * stale, and {@link #refresh()} publishes new snapshots for the stale views, an {@link IncrementalFilterEvaluator}
+ * evaluating only the modified equipments. {@link #get(UUID, String)} never returns a stale snapshot, the last
+ * published one being still available through {@link #getLastPublished(UUID, String)}.
+ * {@link #register(AbstractFilter, String)} and {@link #refresh()} must be called by the thread modifying the network,
+ * once its modifications are applied. They set the working variant of the network to the variant of each view and
+ * restore it afterward.
+ * <p>
+ * The number of views and the total number of equipments they hold are bounded: beyond, the least recently
+ * read or registered views are dropped.
+ *
+ * @author agent <agent at local>
+ */
+public class MaterializedFilterViewRegistry implements AutoCloseable {
+
+    private final Network network;
+    private final IncrementalFilterEvaluator evaluator;
+    private final int maxViewCount;
+    private final long maxIdentifiableCount;
+
+    private final Map<ViewKey, ViewEntry> views = new ConcurrentHashMap<>();
+    private final NetworkListener listener = new StalenessListener();
+    private final AtomicLong accessClock = new AtomicLong();
+    private long identifiableCount;
+
+    /**
+     * @param maxViewCount the maximum number of views kept
+     * @param maxIdentifiableCount the maximum total number of equipments held by the views
+     */
+    public MaterializedFilterViewRegistry(@Nonnull Network network, FilterLoader filterLoader, int maxViewCount, long maxIdentifiableCount) {
+        if (maxViewCount < 1 || maxIdentifiableCount < 0) {
+            throw new IllegalArgumentException("The maximum number of views must be positive and the maximum number of equipments not negative");
+        }
+        this.network = network;
+        this.evaluator = new IncrementalFilterEvaluator(network, filterLoader);
+        this.maxViewCount = maxViewCount;
+        this.maxIdentifiableCount = maxIdentifiableCount;
+        network.addListener(listener);
+    }
+
+    /**
+     * Registers a view of the filter on the variant, evaluating it if it is not registered yet.
+     *
+     * @return the current snapshot of the view
+     * @throws IllegalArgumentException if the filter has no ID
+     * @throws com.powsybl.commons.PowsyblException if the variant doesn't exist
+     */
+    public synchronized MaterializedFilterView register(@Nonnull AbstractFilter filter, @Nonnull String variantId) {
+        if (filter.getId() == null) {
+            throw new IllegalArgumentException("The filter must have an ID");
+        }
+        ViewKey key = new ViewKey(filter.getId(), variantId);
+        ViewEntry entry = views.get(key);
+        // compared by content hash, so that a filter modified in place by the caller is evaluated again
+        int contentHash = IncrementalFilterEvaluator.contentHash(filter);
+        if (entry == null || entry.contentHash != contentHash) {
+            ViewEntry newEntry = new ViewEntry(filter, contentHash);
+            // published before replacing the former view, which is kept if the evaluation fails
+            publish(key, newEntry);
+            if (entry != null) {
+                // the filter has been modified
+                identifiableCount -= entry.view.size();
+            }
+            views.put(key, newEntry);
+            identifiableCount += newEntry.view.size();
+            entry = newEntry;
+        } else {
+            refreshIfStale(key, entry);
+        }
+        entry.lastAccess = accessClock.incrementAndGet();
+        MaterializedFilterView view = entry.view;
+        evictLeastRecentlyUsed(key);
+        return view;
+    }
+
+    /**
+     * Gets the current snapshot of a view, without evaluating anything.
+     *
+     * @return the snapshot, {@code null} if the view is not registered, has been dropped, or is stale, the network
+     * having been modified since the snapshot was published
+     */
+    public MaterializedFilterView get(@Nonnull UUID filterId, @Nonnull String variantId) {
+        ViewEntry entry = access(filterId, variantId);
+        return entry != null && !entry.stale ? entry.view : null;
+    }
+
+    /**
+     * Gets the last published snapshot of a view, without evaluating anything.
+     *
+     * @return the snapshot, which is stale if {@link #isStale(UUID, String)}, {@code null} if the view is not registered
+     * or has been dropped
+     */
+    public MaterializedFilterView getLastPublished(@Nonnull UUID filterId, @Nonnull String variantId) {
+        ViewEntry entry = access(filterId, variantId);
+        return entry != null ? entry.view : null;
+    }
+
+    /**
+     * @return whether the network has been modified since the last snapshot of the view was published, {@code false}
+     * if the view is not registered
+     */
+    public boolean isStale(@Nonnull UUID filterId, @Nonnull String variantId) {
+        ViewEntry entry = views.get(new ViewKey(filterId, variantId));
+        return entry != null && entry.stale;
+    }
+
+    private ViewEntry access(UUID filterId, String variantId) {
+        ViewEntry entry = views.get(new ViewKey(filterId, variantId));
+        if (entry != null) {
+            entry.lastAccess = accessClock.incrementAndGet();
+        }
+        return entry;
+    }
+
+    public synchronized void unregister(@Nonnull UUID filterId, @Nonnull String variantId) {
+        ViewKey key = new ViewKey(filterId, variantId);
+        ViewEntry entry = views.remove(key);
+        if (entry != null) {
+            drop(key, entry);
+        }
+    }
+
+    /**
+     * Publishes a new snapshot of the stale views impacted by the modifications of the network since the previous
+     * refresh, the other stale views being current again. The views of removed variants are dropped.
+     */
+    public synchronized void refresh() {
+        Collection<String> variantIds = network.getVariantManager().getVariantIds();
+        for (Map.Entry<ViewKey, ViewEntry> view : List.copyOf(views.entrySet())) {
+            ViewKey key = view.getKey();
+            ViewEntry entry = view.getValue();
+            if (!variantIds.contains(key.variantId())) {
+                unregister(key.filterId(), key.variantId());
+            } else {
+                refreshIfStale(key, entry);
+            }
+        }
+        evictLeastRecentlyUsed(null);
+    }
+
+    private void refreshIfStale(ViewKey key, ViewEntry entry) {
+        if (!entry.stale) {
+            return;
+        }
+        // cleared first, so that a modification notified while publishing keeps the view stale
+        entry.stale = false;
+        if (!evaluator.isUpToDate(key.filterId(), key.variantId())) {
+            int previousSize = entry.view.size();
+            try {
+                publish(key, entry);
+            } catch (RuntimeException e) {
+                entry.stale = true;
+                throw e;
+            }
+            identifiableCount += entry.view.size() - previousSize;
+        }
+    }
+
+    public int getViewCount() {
+        return views.size();
+    }
+
+    /**
+     * @return the total number of equipments held by the views
+     */
+    public synchronized long getIdentifiableCount() {
+        return identifiableCount;
+    }
+
+    @Override
+    public synchronized void close() {
+        network.removeListener(listener);
+        evaluator.close();
+        views.clear();
+        identifiableCount = 0;
+    }
+
+    private void publish(ViewKey key, ViewEntry entry) {
+        VariantManager variantManager = network.getVariantManager();
+        String initialVariantId = variantManager.getWorkingVariantId();
+        try {
+            variantManager.setWorkingVariant(key.variantId());
+            List<Identifiable<?>> identifiables = evaluator.getIdentifiables(entry.filter);
+            long version = entry.view == null ? 1 : entry.view.version() + 1;
+            entry.view = MaterializedFilterView.of(key.filterId(), key.variantId(), identifiables, version);
+        } finally {
+            variantManager.setWorkingVariant(initialVariantId);
+        }
+    }
+
+    private void evictLeastRecentlyUsed(ViewKey keptKey) {
+        while (views.size() > maxViewCount || identifiableCount > maxIdentifiableCount) {
+            Optional<Map.Entry<ViewKey, ViewEntry>> leastRecentlyUsed = views.entrySet().stream()
+                .filter(view -> !view.getKey().equals(keptKey))
+                .min(Comparator.comparingLong(view -> view.getValue().lastAccess));
+            if (leastRecentlyUsed.isEmpty()) {
+                return;
+            }
+            views.remove(leastRecentlyUsed.get().getKey());
+            drop(leastRecentlyUsed.get().getKey(), leastRecentlyUsed.get().getValue());
+        }
+    }
+
+    private void drop(ViewKey key, ViewEntry entry) {
+        identifiableCount -= entry.view.size();
+        evaluator.remove(key.filterId(), key.variantId());
+    }
+
+    /**
+     * Marks the views of a variant as stale.
+     *
+     * @param variantId the modified variant, {@code null} for a modification of all the variants
+     */
+    private void markStale(String variantId) {
+        views.forEach((key, entry) -> {
+            if (variantId == null || variantId.equals(key.variantId())) {
+                entry.stale = true;
+            }
+        });
+    }
+
+    private record ViewKey(UUID filterId, String variantId) {
+    }
+
+    private static final class ViewEntry {
+        private final AbstractFilter filter;
+        private final int contentHash;
+        private volatile MaterializedFilterView view;
+        private volatile long lastAccess;
+        private volatile boolean stale;
+
+        private ViewEntry(AbstractFilter filter, int contentHash) {
+            this.filter = filter;
+            this.contentHash = contentHash;
+        }
+    }
+
+    private final class StalenessListener extends DefaultNetworkListener {
+
+        @Override
+        public void onCreation(Identifiable<?> identifiable) {
+            markStale(null);
+        }
+
+        @Override
+        public void afterRemoval(String id) {
+            markStale(null);
+        }
+
+        @Override
+        public void onUpdate(Identifiable<?> identifiable, String attribute, String variantId, Object oldValue, Object newValue) {
+            markStale(variantId);
+        }
+
+        @Override
+        public void onPropertyAdded(Identifiable<?> identifiable, String key, Object newValue) {
+            markStale(null);
+        }
+
+        @Override
+        public void onPropertyReplaced(Identifiable<?> identifiable, String key, Object oldValue, Object newValue) {
+            markStale(null);
+        }
+
+        @Override
+        public void onPropertyRemoved(Identifiable<?> identifiable, String key, Object oldValue) {
+            markStale(null);
+        }
+
+        @Override
+        public void onExtensionCreation(Extension<?> extension) {
+            markStale(null);
+        }
+
+        @Override
+        public void onExtensionAfterRemoval(Identifiable<?> identifiable, String extensionName) {
+            markStale(null);
+        }
+
+        @Override
+        public void onExtensionUpdate(Extension<?> extension, String attribute, String variantId, Object oldValue, Object newValue) {
+            markStale(variantId);
+        }
+
+        @Override
+        public void onVariantOverwritten(String sourceVariantId, String targetVariantId) {
+            markStale(targetVariantId);
+        }
+
+        @Override
+        public void onVariantRemoved(String variantId) {
+            markStale(variantId);
+        }
+    }
+}
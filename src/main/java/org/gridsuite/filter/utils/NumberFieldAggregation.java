@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import java.util.DoubleSummaryStatistics;
+
+/**
+ * Aggregation of the values of a numeric field over the equipments matching a filter,
+ * the equipments without value for the field being ignored.
+ *
+ * @param count the number of equipments with a value
+ * @param min the minimum value, {@link Double#NaN} if no equipment has a value
+ * @param max the maximum value, {@link Double#NaN} if no equipment has a value
+ * @param average the average value, {@link Double#NaN} if no equipment has a value
+ * @author agent <agent at local>
+ */
+public record NumberFieldAggregation(long count,
+                                     double sum,
+                                     double min,
+                                     double max,
+                                     double average) {
+
+    static NumberFieldAggregation of(DoubleSummaryStatistics statistics) {
+        return statistics.getCount() == 0
+            ? new NumberFieldAggregation(0, 0, Double.NaN, Double.NaN, Double.NaN)
+            : new NumberFieldAggregation(statistics.getCount(), statistics.getSum(), statistics.getMin(), statistics.getMax(), statistics.getAverage());
+    }
+}
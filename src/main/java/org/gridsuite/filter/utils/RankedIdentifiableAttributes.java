@@ -0,0 +1,18 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import org.gridsuite.filter.identifierlistfilter.IdentifiableAttributes;
+
+/**
+ * An equipment selected by a top-K evaluation, with the value of the field it is ranked by.
+ *
+ * @author agent <agent at local>
+ */
+public record RankedIdentifiableAttributes(IdentifiableAttributes identifiableAttributes,
+                                           double value) {
+}
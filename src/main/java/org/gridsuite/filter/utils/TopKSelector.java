@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the K elements with the best values among the ones offered, in O(K) memory: the values are kept in a primitive
+ * binary heap whose root is the worst element kept. With equal values, the first offered element is the best.
+ * Not thread-safe.
+ *
+ * @author agent <agent at local>
+ */
+final class TopKSelector<T> {
+
+    private final int k;
+    private final boolean descending;
+
+    private final double[] keys;
+    private final long[] orders;
+    private final Object[] elements;
+    private final double[] values;
+    private int size;
+    private long offeredCount;
+
+    TopKSelector(int k, SortDirection direction) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be positive or zero: " + k);
+        }
+        this.k = k;
+        this.descending = direction == SortDirection.DESCENDING;
+        keys = new double[k];
+        orders = new long[k];
+        elements = new Object[k];
+        values = new double[k];
+    }
+
+    /**
+     * Offers an element, ignored if its value is {@link Double#NaN}.
+     */
+    void offer(T element, double value) {
+        if (Double.isNaN(value) || k == 0) {
+            return;
+        }
+        // the best elements have the largest keys
+        double key = descending ? value : -value;
+        long order = offeredCount++;
+        if (size < k) {
+            set(size, key, order, element, value);
+            siftUp(size++);
+        } else if (key > keys[0]) {
+            set(0, key, order, element, value);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Empties the selector, mapping the elements kept with their values.
+     *
+     * @return the mapped elements, the best first
+     */
+    @SuppressWarnings("unchecked")
+    <R> List<R> drain(ElementMapper<T, R> mapper) {
+        List<R> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(null);
+        }
+        // removing the worst element until empty fills the result from the end
+        while (size > 0) {
+            result.set(size - 1, mapper.map((T) elements[0], values[0]));
+            size--;
+            if (size > 0) {
+                move(size, 0);
+                siftDown(0);
+            }
+            elements[size] = null;
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    interface ElementMapper<T, R> {
+        R map(T element, double value);
+    }
+
+    private void set(int i, double key, long order, Object element, double value) {
+        keys[i] = key;
+        orders[i] = order;
+        elements[i] = element;
+        values[i] = value;
+    }
+
+    private void move(int from, int to) {
+        set(to, keys[from], orders[from], elements[from], values[from]);
+    }
+
+    private void swap(int i, int j) {
+        double key = keys[i];
+        long order = orders[i];
+        Object element = elements[i];
+        double value = values[i];
+        move(j, i);
+        set(j, key, order, element, value);
+    }
+
+    private boolean isWorse(int i, int j) {
+        return keys[i] < keys[j] || keys[i] == keys[j] && orders[i] > orders[j];
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!isWorse(i, parent)) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int worst = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && isWorse(left, worst)) {
+                worst = left;
+            }
+            if (right < size && isWorse(right, worst)) {
+                worst = right;
+            }
+            if (worst == i) {
+                return;
+            }
+            swap(i, worst);
+            i = worst;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils.expertfilter;
+
+import com.powsybl.iidm.network.Identifiable;
+import lombok.Getter;
+import lombok.NonNull;
+import org.gridsuite.filter.FilterLoader;
+import org.gridsuite.filter.exception.FilterEvaluationCancelledException;
+import org.gridsuite.filter.expertfilter.expertrule.AbstractExpertRule;
+import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
+import org.gridsuite.filter.identifierlistfilter.IdentifiableAttributes;
+import org.gridsuite.filter.utils.FilterEvaluationOptions;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * State of the evaluation of {@link AbstractExpertRule expert rules} on the equipments of a network:
+ * the {@link FilterLoader loader}, the {@link FilterEvaluationOptions options}, the results of the referenced filters,
+ * computed once, a scratch space for the rules, some statistics and a cancellation flag.
+ * <p>
+ * A context created with {@link #EvaluationContext(FilterLoader, FilterEvaluationOptions)} is thread-safe and can be shared by the threads
+ * evaluating the same filter. A context created with {@link #of(FilterLoader, Map)} caches the referenced filters
+ * in the given map and is only meant to be used by one thread, like a context created with
+ * {@link #forSharedScan(FilterLoader, FilterEvaluationOptions)} which caches the field values of the current equipment.
+ *
+ * @author agent <agent at local>
+ */
+public class EvaluationContext {
+
+    @Getter
+    private final FilterLoader filterLoader;
+
+    @Getter
+    private final FilterEvaluationOptions options;
+
+    private final Map<UUID, FilterEquipments> legacyCache;
+    private volatile Map<UUID, FilterEquipments> cachedUuidFilters;
+
+    private final Map<UUID, CompletableFuture<FilterEquipments>> referencedFilterEquipments = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<String>> referencedFilterIds = new ConcurrentHashMap<>();
+    private final Map<ValuesKey, MembershipSet> membershipSets = new ConcurrentHashMap<>();
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    private final Map<FieldKey, String> fieldValues;
+    private Identifiable<?> fieldValuesIdentifiable;
+
+    private final LongAdder evaluatedEquipmentCount = new LongAdder();
+    private final LongAdder referencedFilterEvaluationCount = new LongAdder();
+    private final LongAdder referencedFilterHitCount = new LongAdder();
+
+    private volatile boolean cancelled;
+
+    public EvaluationContext(FilterLoader filterLoader) {
+        this(filterLoader, FilterEvaluationOptions.DEFAULT);
+    }
+
+    public EvaluationContext(FilterLoader filterLoader, @NonNull FilterEvaluationOptions options) {
+        this(filterLoader, options, null, false);
+    }
+
+    private EvaluationContext(FilterLoader filterLoader, FilterEvaluationOptions options, Map<UUID, FilterEquipments> legacyCache,
+                              boolean cacheFieldValues) {
+        this.filterLoader = filterLoader;
+        this.options = options;
+        this.legacyCache = legacyCache;
+        this.fieldValues = cacheFieldValues ? new HashMap<>() : null;
+    }
+
+    /**
+     * Creates a context caching the referenced filters in the given map, for the callers of
+     * {@link AbstractExpertRule#evaluateRule(Identifiable, FilterLoader, Map)}.
+     */
+    public static EvaluationContext of(FilterLoader filterLoader, @NonNull Map<UUID, FilterEquipments> cachedUuidFilters) {
+        return new EvaluationContext(filterLoader, FilterEvaluationOptions.DEFAULT, cachedUuidFilters, false);
+    }
+
+    /**
+     * Creates a context for the evaluation of the rules of several filters on each equipment in turn, the field values
+     * read by a rule being reused by the next rules on the same equipment.
+     */
+    public static EvaluationContext forSharedScan(FilterLoader filterLoader, @NonNull FilterEvaluationOptions options) {
+        return new EvaluationContext(filterLoader, options, null, true);
+    }
+
+    /**
+     * Evaluates a rule on an equipment with this context.
+     *
+     * @throws FilterEvaluationCancelledException if the evaluation has been {@link #cancel() cancelled}
+     */
+    public boolean evaluate(AbstractExpertRule rule, Identifiable<?> identifiable) {
+        checkNotCancelled();
+        evaluatedEquipmentCount.increment();
+        return rule.evaluateRule(identifiable, this);
+    }
+
+    /**
+     * Gets the value of a field of an equipment.
+     *
+     * @see ExpertFilterUtils#getFieldValue(FieldType, String, Identifiable)
+     */
+    public String getFieldValue(FieldType field, String propertyName, Identifiable<?> identifiable) {
+        if (fieldValues == null) {
+            return ExpertFilterUtils.getFieldValue(field, propertyName, identifiable);
+        }
+        if (fieldValuesIdentifiable != identifiable) {
+            fieldValues.clear();
+            fieldValuesIdentifiable = identifiable;
+        }
+        FieldKey key = new FieldKey(field, propertyName);
+        String value = fieldValues.get(key);
+        if (value == null && !fieldValues.containsKey(key)) {
+            value = ExpertFilterUtils.getFieldValue(field, propertyName, identifiable);
+            fieldValues.put(key, value);
+        }
+        return value;
+    }
+
+    private record FieldKey(FieldType field, String propertyName) {
+    }
+
+    /**
+     * Gets the map caching the referenced filters, for the rules only implementing
+     * {@link AbstractExpertRule#evaluateRule(Identifiable, FilterLoader, Map)}: the map given to
+     * {@link #of(FilterLoader, Map)}, a synchronized map shared by the evaluations with this context otherwise.
+     */
+    public Map<UUID, FilterEquipments> getCachedUuidFilters() {
+        if (legacyCache != null) {
+            return legacyCache;
+        }
+        Map<UUID, FilterEquipments> map = cachedUuidFilters;
+        if (map == null) {
+            synchronized (this) {
+                map = cachedUuidFilters;
+                if (map == null) {
+                    map = Collections.synchronizedMap(new HashMap<>());
+                    cachedUuidFilters = map;
+                }
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Gets the equipments of a referenced filter, computing them only once even when several threads
+     * request the same filter at the same time. A failed or cancelled computation is not kept.
+     *
+     * @return the equipments of the filter, {@code null} if the filter doesn't exist
+     */
+    public FilterEquipments getReferencedFilterEquipments(UUID uuid, Function<UUID, FilterEquipments> computation) {
+        if (legacyCache != null) {
+            if (legacyCache.containsKey(uuid)) {
+                referencedFilterHitCount.increment();
+                return legacyCache.get(uuid);
+            }
+            FilterEquipments filterEquipments = compute(uuid, computation);
+            legacyCache.put(uuid, filterEquipments);
+            return filterEquipments;
+        }
+
+        CompletableFuture<FilterEquipments> future = referencedFilterEquipments.get(uuid);
+        if (future == null) {
+            // not computeIfAbsent: the computation evaluates other filters, which use this map as well
+            CompletableFuture<FilterEquipments> newFuture = new CompletableFuture<>();
+            future = referencedFilterEquipments.putIfAbsent(uuid, newFuture);
+            if (future == null) {
+                try {
+                    FilterEquipments filterEquipments = compute(uuid, computation);
+                    newFuture.complete(filterEquipments);
+                    return filterEquipments;
+                } catch (RuntimeException e) {
+                    referencedFilterEquipments.remove(uuid, newFuture);
+                    newFuture.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        referencedFilterHitCount.increment();
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private FilterEquipments compute(UUID uuid, Function<UUID, FilterEquipments> computation) {
+        checkNotCancelled();
+        options.checkNotCancelled();
+        referencedFilterEvaluationCount.increment();
+        return computation.apply(uuid);
+    }
+
+    /**
+     * Gets the IDs of the equipments of a referenced filter.
+     *
+     * @return the IDs of the equipments of the filter, empty if the filter doesn't exist
+     */
+    public Set<String> getReferencedFilterIds(UUID uuid, Function<UUID, FilterEquipments> computation) {
+        Set<String> ids = legacyCache == null ? referencedFilterIds.get(uuid) : null;
+        if (ids == null) {
+            FilterEquipments filterEquipments = getReferencedFilterEquipments(uuid, computation);
+            ids = filterEquipments == null || filterEquipments.getIdentifiableAttributes() == null
+                ? Set.of()
+                : MembershipSet.of(filterEquipments.getIdentifiableAttributes().stream()
+                    .map(IdentifiableAttributes::getId)
+                    .toList());
+            if (legacyCache == null) {
+                Set<String> previousIds = referencedFilterIds.putIfAbsent(uuid, ids);
+                if (previousIds != null) {
+                    ids = previousIds;
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Gets the values of a rule as a set ignoring the case, built once for this evaluation.
+     *
+     * @return the set, {@code null} when there are fewer values than the
+     * {@link FilterEvaluationOptions#getBloomFilterMinimumSize() Bloom filter minimum size}, scanning them being
+     * cheaper, or for a context created with {@link #of(FilterLoader, Map)}, which is used for one equipment only
+     */
+    public MembershipSet getIgnoreCaseMembershipSet(@NonNull Set<String> values) {
+        if (legacyCache != null || values.size() < options.getBloomFilterMinimumSize()) {
+            return null;
+        }
+        return membershipSets.computeIfAbsent(new ValuesKey(values),
+            key -> MembershipSet.ofIgnoreCase(values, options.getBloomFilterMinimumSize()));
+    }
+
+    // the values of the rules are compared by identity, comparing or hashing them being as costly as scanning them
+    private record ValuesKey(Set<String> values) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ValuesKey other && other.values == values;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(values);
+        }
+    }
+
+    /**
+     * Gets a value of the scratch space shared by the rules during this evaluation, computing it if absent.
+     * The computation must not access the scratch space itself.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T computeAttributeIfAbsent(@NonNull String name, @NonNull Function<String, T> computation) {
+        return (T) attributes.computeIfAbsent(name, computation);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T getAttribute(@NonNull String name) {
+        return (T) attributes.get(name);
+    }
+
+    public void setAttribute(@NonNull String name, @NonNull Object value) {
+        attributes.put(name, value);
+    }
+
+    /**
+     * Requests the evaluation to stop: the next evaluated equipment or referenced filter throws a
+     * {@link FilterEvaluationCancelledException}.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void checkNotCancelled() {
+        if (cancelled) {
+            throw new FilterEvaluationCancelledException(FilterEvaluationCancelledException.Reason.CANCELLED);
+        }
+    }
+
+    /**
+     * @return the number of equipments evaluated with {@link #evaluate(AbstractExpertRule, Identifiable)}
+     */
+    public long getEvaluatedEquipmentCount() {
+        return evaluatedEquipmentCount.sum();
+    }
+
+    /**
+     * @return the number of referenced filters evaluated
+     */
+    public long getReferencedFilterEvaluationCount() {
+        return referencedFilterEvaluationCount.sum();
+    }
+
+    /**
+     * @return the number of times the result of a referenced filter has been reused
+     */
+    public long getReferencedFilterHitCount() {
+        return referencedFilterHitCount.sum();
+    }
+}
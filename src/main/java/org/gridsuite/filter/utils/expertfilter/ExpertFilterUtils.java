@@ -17,14 +17,13 @@ import org.gridsuite.filter.expertfilter.ExpertFilter;
 import org.gridsuite.filter.expertfilter.expertrule.AbstractExpertRule;
 import org.gridsuite.filter.expertfilter.expertrule.CombinatorExpertRule;
 import org.gridsuite.filter.expertfilter.expertrule.FilterUuidExpertRule;
+import org.gridsuite.filter.expertfilter.expertrule.NumberExpertRule;
 import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
-import org.gridsuite.filter.identifierlistfilter.IdentifiableAttributes;
 import org.gridsuite.filter.utils.*;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -38,6 +37,15 @@ public final class ExpertFilterUtils {
 
     private ExpertFilterUtils() { }
 
+    /**
+     * Gets the value of a numeric field of an equipment, as read by {@link NumberExpertRule number rules}.
+     *
+     * @return the value of the field, {@link Double#NaN} if undefined
+     */
+    public static double getNumberFieldValue(FieldType field, Identifiable<?> identifiable) {
+        return NumberExpertRule.getNumberValue(getFieldValue(field, null, identifiable));
+    }
+
     public static <I extends Identifiable<I>> String getFieldValue(FieldType field, String propertyName, Identifiable<I> identifiable) {
         return switch (field) {
             case ID -> identifiable.getId();
@@ -229,6 +237,10 @@ public final class ExpertFilterUtils {
         }
     }
 
+    // fields of a bus whose value is the one of its voltage level
+    private static final Set<FieldType> BUS_VOLTAGE_LEVEL_FIELDS = EnumSet.of(
+        FieldType.COUNTRY, FieldType.NOMINAL_VOLTAGE, FieldType.VOLTAGE_LEVEL_ID, FieldType.SUBSTATION_ID, FieldType.SUBSTATION_PROPERTIES);
+
     private static String getBusFieldValue(FieldType field, Bus bus, String propertyName) {
         return switch (field) {
             case COUNTRY,
@@ -619,29 +631,126 @@ public final class ExpertFilterUtils {
     }
 
     public static List<FilterEquipments> getFilterEquipments(Network network, Set<String> uuids, FilterLoader filterLoader, Map<UUID, FilterEquipments> cachedUuidFilters) {
+        return getFilterEquipments(network, uuids, EvaluationContext.of(filterLoader, cachedUuidFilters));
+    }
+
+    public static List<FilterEquipments> getFilterEquipments(Network network, Set<String> uuids, EvaluationContext context) {
         List<FilterEquipments> res = new ArrayList<>();
         uuids.stream().map(UUID::fromString).forEach(uuid -> {
-            if (cachedUuidFilters.containsKey(uuid)) {
-                if (cachedUuidFilters.get(uuid) != null) {
-                    res.add(cachedUuidFilters.get(uuid));
-                }
-            } else {
-                filterLoader.getFilters(List.of(uuid)).stream()
-                    .findFirst()
-                    .ifPresent(filter -> FilterCycleDetector.checkNoCycle(filter, filterLoader));
-
-                List<FilterEquipments> filterEquipments = FilterServiceUtils.getFilterEquipmentsFromUuid(network, uuid, filterLoader);
-                cachedUuidFilters.put(uuid, CollectionUtils.isNotEmpty(filterEquipments) ? filterEquipments.getFirst() : null);
-                res.addAll(filterEquipments);
+            FilterEquipments filterEquipments = context.getReferencedFilterEquipments(uuid,
+                id -> evaluateReferencedFilter(network, id, context));
+            if (filterEquipments != null) {
+                res.add(filterEquipments);
             }
         });
         return res;
     }
 
+    private static FilterEquipments evaluateReferencedFilter(Network network, UUID uuid, EvaluationContext context) {
+        FilterLoader filterLoader = context.getFilterLoader();
+        filterLoader.getFilters(List.of(uuid)).stream()
+            .findFirst()
+            .ifPresent(filter -> FilterCycleDetector.checkNoCycle(filter, filterLoader));
+
+        // the referenced filter is evaluated with the same options, so it can be cancelled as well, but completely
+        FilterEvaluationOptions options = context.getOptions().withoutLimits();
+        List<FilterEquipments> filterEquipments = FilterServiceUtils.getFilterEquipmentsFromUuid(network, uuid, filterLoader, options);
+        return CollectionUtils.isNotEmpty(filterEquipments) ? filterEquipments.getFirst() : null;
+    }
+
     public static boolean isPartOf(Network network, String value, Set<String> uuids, FilterLoader filterLoader, Map<UUID, FilterEquipments> cachedUuidFilters) {
-        List<FilterEquipments> equipments = getFilterEquipments(network, uuids, filterLoader, cachedUuidFilters);
-        return equipments.stream().flatMap(e -> e.getIdentifiableAttributes().stream()
-            .map(IdentifiableAttributes::getId)).collect(Collectors.toSet()).contains(value);
+        return isPartOf(network, value, uuids, EvaluationContext.of(filterLoader, cachedUuidFilters));
+    }
+
+    public static boolean isPartOf(Network network, String value, Set<String> uuids, EvaluationContext context) {
+        for (String uuid : uuids) {
+            Set<String> ids = context.getReferencedFilterIds(UUID.fromString(uuid),
+                id -> evaluateReferencedFilter(network, id, context));
+            if (ids.contains(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects the {@link UUID UUIDs} of the filters referenced by the {@link FilterUuidExpertRule rules} of a rule tree,
+     * not including the filters referenced by these filters themselves.
+     */
+    @Nonnull
+    public static Set<UUID> getReferencedFilterUuids(@Nullable final AbstractExpertRule rule) {
+        Set<UUID> uuids = new LinkedHashSet<>();
+        collectReferencedFilterUuids(rule, uuids);
+        return uuids;
+    }
+
+    private static void collectReferencedFilterUuids(AbstractExpertRule rule, Set<UUID> uuids) {
+        switch (rule) {
+            case CombinatorExpertRule combinatorRule when combinatorRule.getRules() != null ->
+                combinatorRule.getRules().forEach(subRule -> collectReferencedFilterUuids(subRule, uuids));
+            case FilterUuidExpertRule uuidRule when uuidRule.getValues() != null -> {
+                for (String value : uuidRule.getValues()) {
+                    try {
+                        uuids.add(UUID.fromString(value));
+                    } catch (IllegalArgumentException e) {
+                        // invalid values are reported when evaluating the rule
+                    }
+                }
+            }
+            case null, default -> {
+                // no referenced filter
+            }
+        }
+    }
+
+    /**
+     * @return whether the rule gives the same result in all the variants of a network: its {@link FieldType#isStatic() fields
+     * are static} and it doesn't reference any filter, whose equipments may depend on the variant
+     */
+    public static boolean isStatic(@Nullable final AbstractExpertRule rule) {
+        return switch (rule) {
+            case null -> true;
+            case CombinatorExpertRule combinatorRule ->
+                combinatorRule.getRules() == null || combinatorRule.getRules().stream().allMatch(ExpertFilterUtils::isStatic);
+            case FilterUuidExpertRule ignored -> false;
+            default -> rule.getField() != null && rule.getField().isStatic();
+        };
+    }
+
+    /**
+     * Gets a rule on the voltage levels which is matched by the voltage level of every bus matching the given rule,
+     * so that the buses of the other voltage levels don't need to be computed. It is made of the conditions of
+     * the rule on the fields of a bus read on its voltage level, like its country or its nominal voltage.
+     *
+     * @return the rule on the voltage levels, empty if every voltage level may have matching buses
+     */
+    @Nonnull
+    public static Optional<AbstractExpertRule> getBusVoltageLevelRule(@Nullable final AbstractExpertRule rule) {
+        if (rule == null) {
+            return Optional.empty();
+        }
+        if (isBusVoltageLevelRule(rule)) {
+            return Optional.of(rule);
+        }
+        if (rule instanceof CombinatorExpertRule combinatorRule && combinatorRule.getCombinator() == CombinatorType.AND
+            && combinatorRule.getRules() != null) {
+            // each condition of an AND must be matched
+            return buildAndCombination(combinatorRule.getRules().stream()
+                .map(ExpertFilterUtils::getBusVoltageLevelRule)
+                .flatMap(Optional::stream)
+                .toList());
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isBusVoltageLevelRule(final AbstractExpertRule rule) {
+        return switch (rule) {
+            case CombinatorExpertRule combinatorRule ->
+                combinatorRule.getRules() != null && !combinatorRule.getRules().isEmpty()
+                    && combinatorRule.getRules().stream().allMatch(ExpertFilterUtils::isBusVoltageLevelRule);
+            case FilterUuidExpertRule ignored -> false;
+            default -> BUS_VOLTAGE_LEVEL_FIELDS.contains(rule.getField());
+        };
     }
 
     /**
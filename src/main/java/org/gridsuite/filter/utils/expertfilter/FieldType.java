@@ -6,6 +6,9 @@
  */
 package org.gridsuite.filter.utils.expertfilter;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * @author Antoine Bouhours <antoine.bouhours at rte-france.com>
  */
@@ -151,5 +154,40 @@ public enum FieldType {
     HIGH_SHORT_CIRCUIT_CURRENT_LIMIT,
     SUBSTATION_ID,
     SUBSTATION_ID_1,
-    SUBSTATION_ID_2,
+    SUBSTATION_ID_2;
+
+    // fields describing the structure of the network, whose values are the same in all its variants
+    private static final Set<FieldType> STATIC_FIELDS = EnumSet.of(
+        ID, NAME, FREE_PROPERTIES,
+        COUNTRY, COUNTRY_1, COUNTRY_2,
+        SUBSTATION_ID, SUBSTATION_ID_1, SUBSTATION_ID_2,
+        SUBSTATION_PROPERTIES, SUBSTATION_PROPERTIES_1, SUBSTATION_PROPERTIES_2, SUBSTATION_PROPERTIES_3,
+        VOLTAGE_LEVEL_ID, VOLTAGE_LEVEL_ID_1, VOLTAGE_LEVEL_ID_2, VOLTAGE_LEVEL_ID_3,
+        VOLTAGE_LEVEL_PROPERTIES, VOLTAGE_LEVEL_PROPERTIES_1, VOLTAGE_LEVEL_PROPERTIES_2, VOLTAGE_LEVEL_PROPERTIES_3,
+        NOMINAL_VOLTAGE, NOMINAL_VOLTAGE_1, NOMINAL_VOLTAGE_2, NOMINAL_VOLTAGE_3,
+        LOW_VOLTAGE_LIMIT, HIGH_VOLTAGE_LIMIT,
+        ENERGY_SOURCE, MIN_P, MAX_P, RATED_S, RATED_S1, RATED_S2, RATED_S3,
+        LOAD_TYPE, MAXIMUM_SECTION_COUNT,
+        RATED_VOLTAGE_0, RATED_VOLTAGE_1, RATED_VOLTAGE_2, RATED_VOLTAGE_3,
+        SERIE_RESISTANCE, SERIE_RESISTANCE_1, SERIE_RESISTANCE_2, SERIE_RESISTANCE_3,
+        SERIE_REACTANCE, SERIE_REACTANCE_1, SERIE_REACTANCE_2, SERIE_REACTANCE_3,
+        SHUNT_SUSCEPTANCE, SHUNT_SUSCEPTANCE_1, SHUNT_SUSCEPTANCE_2,
+        SHUNT_CONDUCTANCE, SHUNT_CONDUCTANCE_1, SHUNT_CONDUCTANCE_2,
+        MAGNETIZING_CONDUCTANCE, MAGNETIZING_CONDUCTANCE_1, MAGNETIZING_CONDUCTANCE_2, MAGNETIZING_CONDUCTANCE_3,
+        MAGNETIZING_SUSCEPTANCE, MAGNETIZING_SUSCEPTANCE_1, MAGNETIZING_SUSCEPTANCE_2, MAGNETIZING_SUSCEPTANCE_3,
+        HAS_RATIO_TAP_CHANGER, HAS_RATIO_TAP_CHANGER_1, HAS_RATIO_TAP_CHANGER_2, HAS_RATIO_TAP_CHANGER_3,
+        HAS_PHASE_TAP_CHANGER, HAS_PHASE_TAP_CHANGER_1, HAS_PHASE_TAP_CHANGER_2, HAS_PHASE_TAP_CHANGER_3,
+        PAIRING_KEY,
+        CONVERTER_STATION_ID_1, CONVERTER_STATION_ID_2,
+        CONVERTER_STATION_NOMINAL_VOLTAGE_1, CONVERTER_STATION_NOMINAL_VOLTAGE_2,
+        DC_NOMINAL_VOLTAGE
+    );
+
+    /**
+     * @return whether the value of the field is the same in all the variants of a network, unlike the state fields
+     * like the set points, the flows, the connection status or the tap positions
+     */
+    public boolean isStatic() {
+        return STATIC_FIELDS.contains(this);
+    }
 }
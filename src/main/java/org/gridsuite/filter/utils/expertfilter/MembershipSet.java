@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils.expertfilter;
+
+import java.util.*;
+
+/**
+ * Unmodifiable set of strings for the membership tests of the rules, like {@link OperatorType#IN} or
+ * {@link OperatorType#IS_PART_OF}, which mostly fail.
+ * <p>
+ * A set {@link #ofIgnoreCase(Collection, int) ignoring the case} contains the strings equal to one of its values
+ * according to {@link String#equalsIgnoreCase(String)}, its iterator returning the values as given. Looking a string
+ * up requires to fold its case into a new string, so from a given number of values, a Bloom filter rejects most of
+ * the missing strings in a few bit probes, hashing their folded case without creating it; the strings it accepts are
+ * verified against the exact values. A set {@link #of(Collection) respecting the case} has no Bloom filter, the hash
+ * code of the strings being cached and the lookup in the hash table of the values being as cheap.
+ *
+ * @author agent <agent at local>
+ */
+public final class MembershipSet extends AbstractSet<String> {
+
+    private static final int BLOOM_FILTER_HASH_COUNT = 3;
+    private static final int BLOOM_FILTER_BITS_PER_VALUE = 16;
+
+    private final Set<String> values;
+    // the values, or their case-insensitive keys when ignoring the case
+    private final Set<String> keys;
+    private final boolean ignoreCase;
+    private final long[] bloomFilter;
+
+    private MembershipSet(Collection<String> values, boolean ignoreCase, int bloomFilterMinimumSize) {
+        this.values = Collections.unmodifiableSet(new HashSet<>(values));
+        this.ignoreCase = ignoreCase;
+        if (ignoreCase) {
+            Set<String> caseInsensitiveKeys = HashSet.newHashSet(values.size());
+            values.forEach(value -> caseInsensitiveKeys.add(toKey(value)));
+            this.keys = caseInsensitiveKeys;
+        } else {
+            this.keys = this.values;
+        }
+        if (ignoreCase && keys.size() >= bloomFilterMinimumSize) {
+            // a power of two of at least 16 bits per value, for about 0.5% of false positives with 3 probes
+            long bitCount = Math.min(Long.highestOneBit((long) keys.size() * BLOOM_FILTER_BITS_PER_VALUE - 1) << 1, 1L << 30);
+            bloomFilter = new long[(int) Math.max(1, bitCount >>> 6)];
+            values.stream().filter(Objects::nonNull).forEach(value -> addToBloomFilter(caseInsensitiveHash(value)));
+        } else {
+            bloomFilter = null;
+        }
+    }
+
+    public static MembershipSet of(Collection<String> values) {
+        return new MembershipSet(values, false, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param bloomFilterMinimumSize the number of values from which a Bloom filter is attached to the set
+     */
+    public static MembershipSet ofIgnoreCase(Collection<String> values, int bloomFilterMinimumSize) {
+        return new MembershipSet(values, true, bloomFilterMinimumSize);
+    }
+
+    public boolean hasBloomFilter() {
+        return bloomFilter != null;
+    }
+
+    /**
+     * @return whether the Bloom filter accepts the string, {@code true} if there is no Bloom filter
+     */
+    boolean bloomFilterMightContain(String value) {
+        return bloomFilter == null || mightContain(caseInsensitiveHash(value));
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof String value)) {
+            return false;
+        }
+        if (bloomFilter != null && !mightContain(caseInsensitiveHash(value))) {
+            return false;
+        }
+        return keys.contains(ignoreCase ? toKey(value) : value);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return values.iterator();
+    }
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+
+    private void addToBloomFilter(long hash) {
+        int mask = bloomFilter.length * Long.SIZE - 1;
+        for (int i = 0; i < BLOOM_FILTER_HASH_COUNT; i++) {
+            int bit = probe(hash, i) & mask;
+            bloomFilter[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private boolean mightContain(long hash) {
+        int mask = bloomFilter.length * Long.SIZE - 1;
+        for (int i = 0; i < BLOOM_FILTER_HASH_COUNT; i++) {
+            int bit = probe(hash, i) & mask;
+            if ((bloomFilter[bit >>> 6] & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int probe(long hash, int i) {
+        return (int) hash + i * (int) (hash >>> 32);
+    }
+
+    // hash of the whole folded case of the value, computed without creating it
+    private static long caseInsensitiveHash(String value) {
+        int h = 0;
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+            h = 31 * h + foldCase(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return mix(h);
+    }
+
+    private static long mix(int hashCode) {
+        long h = hashCode * 0x9E3779B97F4A7C15L;
+        return h ^ h >>> 29;
+    }
+
+    private static String toKey(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(value.length());
+        value.codePoints().forEach(codePoint -> key.appendCodePoint(foldCase(codePoint)));
+        return key.toString();
+    }
+
+    // two code points are equal ignoring the case, as for String#equalsIgnoreCase, when they have the same folded case
+    private static int foldCase(int codePoint) {
+        return Character.toLowerCase(Character.toUpperCase(codePoint));
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils.expertfilter;
+
+import lombok.NonNull;
+import org.gridsuite.filter.AbstractFilter;
+import org.gridsuite.filter.FilterLoader;
+import org.gridsuite.filter.expertfilter.ExpertFilter;
+import org.gridsuite.filter.expertfilter.expertrule.FilterUuidExpertRule;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link FilterLoader} serving the filters referenced, directly or transitively, by the
+ * {@link FilterUuidExpertRule rules} of some filters, loaded beforehand with one delegate call per reference depth.
+ * <p>
+ * Evaluating a filter with this loader doesn't call the delegate anymore: referenced filters, including
+ * missing ones, are resolved from memory. Only {@link UUID UUIDs} which were not prefetched are requested
+ * from the delegate, along with the filters they reference.
+ *
+ * @author agent <agent at local>
+ */
+public final class PrefetchedFilterLoader implements FilterLoader {
+
+    private final FilterLoader delegate;
+    private final Map<UUID, AbstractFilter> filters = new ConcurrentHashMap<>();
+    private final Set<UUID> missingUuids = ConcurrentHashMap.newKeySet();
+
+    private PrefetchedFilterLoader(FilterLoader delegate) {
+        this.delegate = delegate;
+    }
+
+    public static PrefetchedFilterLoader prefetch(@NonNull AbstractFilter filter, @NonNull FilterLoader filterLoader) {
+        return prefetch(List.of(filter), filterLoader);
+    }
+
+    /**
+     * Loads the filters referenced by the given filters. If the given loader is already a {@link PrefetchedFilterLoader},
+     * it is completed and returned.
+     */
+    public static PrefetchedFilterLoader prefetch(@NonNull Collection<? extends AbstractFilter> filters, @NonNull FilterLoader filterLoader) {
+        PrefetchedFilterLoader prefetchedFilterLoader = filterLoader instanceof PrefetchedFilterLoader loader
+            ? loader
+            : new PrefetchedFilterLoader(filterLoader);
+        List<AbstractFilter> rootFilters = filters.stream().filter(Objects::nonNull).map(AbstractFilter.class::cast).toList();
+        // root filters are kept so that a filter referencing one of them (cycle) doesn't load it again
+        rootFilters.stream()
+            .filter(filter -> filter.getId() != null)
+            .forEach(filter -> prefetchedFilterLoader.filters.putIfAbsent(filter.getId(), filter));
+        prefetchedFilterLoader.loadReferencedFilters(rootFilters);
+        return prefetchedFilterLoader;
+    }
+
+    private void loadReferencedFilters(List<AbstractFilter> rootFilters) {
+        List<AbstractFilter> currentFilters = rootFilters;
+        while (!currentFilters.isEmpty()) {
+            Set<UUID> uuidsToLoad = new LinkedHashSet<>();
+            for (AbstractFilter filter : currentFilters) {
+                if (filter instanceof ExpertFilter expertFilter) {
+                    ExpertFilterUtils.getReferencedFilterUuids(expertFilter.getRules()).stream()
+                        .filter(uuid -> !isKnown(uuid))
+                        .forEach(uuidsToLoad::add);
+                }
+            }
+            currentFilters = uuidsToLoad.isEmpty() ? List.of() : load(new ArrayList<>(uuidsToLoad));
+        }
+    }
+
+    private List<AbstractFilter> load(List<UUID> uuids) {
+        List<AbstractFilter> newFilters = new ArrayList<>();
+        List<AbstractFilter> loadedFilters = delegate.getFilters(uuids);
+        if (loadedFilters != null) {
+            loadedFilters.stream()
+                .filter(filter -> filter != null && filter.getId() != null)
+                .filter(filter -> filters.putIfAbsent(filter.getId(), filter) == null)
+                .forEach(newFilters::add);
+        }
+        uuids.stream()
+            .filter(uuid -> !filters.containsKey(uuid))
+            .forEach(missingUuids::add);
+        return newFilters;
+    }
+
+    private boolean isKnown(UUID uuid) {
+        return filters.containsKey(uuid) || missingUuids.contains(uuid);
+    }
+
+    @Override
+    public List<AbstractFilter> getFilters(List<UUID> uuids) {
+        List<UUID> unknownUuids = uuids.stream()
+            .filter(uuid -> !isKnown(uuid))
+            .distinct()
+            .toList();
+        if (!unknownUuids.isEmpty()) {
+            loadReferencedFilters(load(unknownUuids));
+        }
+        return uuids.stream()
+            .map(filters::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+}
@@ -8,6 +8,7 @@
 
 package org.gridsuite.filter.wip;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.powsybl.iidm.network.Identifiable;
@@ -31,6 +32,7 @@ import java.util.List;
     @JsonSubTypes.Type(value = IdentifierListFilter.class, name = "IDENTIFIER_LIST"),
     @JsonSubTypes.Type(value = ExpertFilter.class, name = "EXPERT"),
 })
+@JsonPropertyOrder({"filterType"})
 public interface Filter {
 
     default List<Identifiable<?>> evaluate(Network network) {
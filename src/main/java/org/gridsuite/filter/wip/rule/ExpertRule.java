@@ -9,6 +9,7 @@
 package org.gridsuite.filter.wip.rule;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.powsybl.commons.PowsyblException;
@@ -36,6 +37,7 @@ import org.gridsuite.filter.wip.data.DataType;
     @JsonSubTypes.Type(value = CombinatorExpertRule.class, name = "COMBINATOR"),
     @JsonSubTypes.Type(value = FilterExpertRule.class, name = "FILTER")
 })
+@JsonPropertyOrder({"dataType"})
 public interface ExpertRule {
 
     boolean evaluateRule(Identifiable<?> identifiable);
@@ -0,0 +1,249 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter;
+
+import org.gridsuite.filter.identifierlistfilter.FilterAttributes;
+import org.gridsuite.filter.identifierlistfilter.IdentifierListFilter;
+import org.gridsuite.filter.utils.EquipmentType;
+import org.gridsuite.filter.utils.TimeUtils;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author agent <agent at local>
+ */
+class CachingFilterLoaderTest {
+
+    private static final UUID FILTER_1_UUID = UUID.fromString("11111111-7977-4592-ba19-88027e4254e4");
+    private static final UUID FILTER_2_UUID = UUID.fromString("22222222-7977-4592-ba19-88027e4254e4");
+    private static final UUID MISSING_FILTER_UUID = UUID.fromString("33333333-7977-4592-ba19-88027e4254e4");
+
+    private final Map<UUID, AbstractFilter> filters = new ConcurrentHashMap<>();
+    private final List<List<UUID>> loadedUuids = Collections.synchronizedList(new ArrayList<>());
+
+    private final FilterLoader delegate = uuids -> {
+        loadedUuids.add(List.copyOf(uuids));
+        return uuids.stream().map(filters::get).filter(Objects::nonNull).toList();
+    };
+
+    private static IdentifierListFilter createFilter(UUID uuid, Date modificationDate) {
+        return new IdentifierListFilter(uuid, modificationDate, EquipmentType.GENERATOR, List.of());
+    }
+
+    @Test
+    void testHitsMissesAndNegativeCaching() {
+        filters.put(FILTER_1_UUID, createFilter(FILTER_1_UUID, new Date(0)));
+        filters.put(FILTER_2_UUID, createFilter(FILTER_2_UUID, new Date(0)));
+        CachingFilterLoader loader = new CachingFilterLoader(delegate);
+
+        assertThat(loader.getFilters(List.of(FILTER_1_UUID, MISSING_FILTER_UUID)))
+            .extracting(AbstractFilter::getId).containsExactly(FILTER_1_UUID);
+        assertThat(loader.getFilters(List.of(MISSING_FILTER_UUID, FILTER_2_UUID, FILTER_1_UUID)))
+            .extracting(AbstractFilter::getId).containsExactly(FILTER_2_UUID, FILTER_1_UUID);
+
+        assertThat(loadedUuids).containsExactly(List.of(FILTER_1_UUID, MISSING_FILTER_UUID), List.of(FILTER_2_UUID));
+        assertEquals(2, loader.getHitCount());
+        assertEquals(3, loader.getMissCount());
+        assertEquals(3, loader.size());
+    }
+
+    @Test
+    void testWithoutNegativeCaching() {
+        CachingFilterLoader loader = CachingFilterLoader.builder().delegate(delegate).negativeCaching(false).build();
+
+        assertThat(loader.getFilters(List.of(MISSING_FILTER_UUID))).isEmpty();
+        assertThat(loader.getFilters(List.of(MISSING_FILTER_UUID))).isEmpty();
+
+        assertThat(loadedUuids).hasSize(2);
+        assertEquals(0, loader.size());
+    }
+
+    @Test
+    void testLruEviction() {
+        filters.put(FILTER_1_UUID, createFilter(FILTER_1_UUID, new Date(0)));
+        filters.put(FILTER_2_UUID, createFilter(FILTER_2_UUID, new Date(0)));
+        CachingFilterLoader loader = CachingFilterLoader.builder().delegate(delegate).maximumSize(2).build();
+
+        loader.getFilters(List.of(FILTER_1_UUID));
+        loader.getFilters(List.of(FILTER_2_UUID));
+        loader.getFilters(List.of(FILTER_1_UUID)); // FILTER_2 becomes the eldest entry
+        loader.getFilters(List.of(MISSING_FILTER_UUID));
+        loadedUuids.clear();
+
+        loader.getFilters(List.of(FILTER_1_UUID, FILTER_2_UUID));
+        assertThat(loadedUuids).containsExactly(List.of(FILTER_2_UUID));
+        assertEquals(2, loader.size());
+
+        assertThrows(IllegalArgumentException.class, () -> CachingFilterLoader.builder().delegate(delegate).maximumSize(0).build());
+    }
+
+    @Test
+    void testTimeToLive() {
+        filters.put(FILTER_1_UUID, createFilter(FILTER_1_UUID, new Date(0)));
+        CachingFilterLoader loader = CachingFilterLoader.builder().delegate(delegate).timeToLive(Duration.ofMinutes(1)).build();
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+
+        try (MockedStatic<TimeUtils> timeUtils = Mockito.mockStatic(TimeUtils.class)) {
+            timeUtils.when(TimeUtils::now).thenReturn(start);
+            loader.getFilters(List.of(FILTER_1_UUID));
+            timeUtils.when(TimeUtils::now).thenReturn(start.plusSeconds(59));
+            loader.getFilters(List.of(FILTER_1_UUID));
+            assertThat(loadedUuids).hasSize(1);
+
+            timeUtils.when(TimeUtils::now).thenReturn(start.plusSeconds(60));
+            loader.getFilters(List.of(FILTER_1_UUID));
+            assertThat(loadedUuids).hasSize(2);
+        }
+    }
+
+    @Test
+    void testInvalidation() {
+        filters.put(FILTER_1_UUID, createFilter(FILTER_1_UUID, new Date(1000)));
+        CachingFilterLoader loader = new CachingFilterLoader(delegate);
+        loader.getFilters(List.of(FILTER_1_UUID, MISSING_FILTER_UUID));
+
+        loader.invalidateIfOlderThan(FILTER_1_UUID, new Date(1000));
+        loader.getFilters(List.of(FILTER_1_UUID));
+        assertThat(loadedUuids).hasSize(1);
+
+        loader.invalidateIfOlderThan(FILTER_1_UUID, new Date(2000));
+        loader.getFilters(List.of(FILTER_1_UUID));
+        assertThat(loadedUuids).hasSize(2);
+
+        filters.put(MISSING_FILTER_UUID, createFilter(MISSING_FILTER_UUID, new Date(0)));
+        loader.invalidate(MISSING_FILTER_UUID);
+        assertThat(loader.getFilters(List.of(MISSING_FILTER_UUID))).hasSize(1);
+
+        loader.invalidateAll();
+        assertEquals(0, loader.size());
+    }
+
+    @Test
+    void testModificationDateCheck() {
+        filters.put(FILTER_1_UUID, createFilter(FILTER_1_UUID, new Date(1000)));
+        filters.put(FILTER_2_UUID, createFilter(FILTER_2_UUID, new Date(1000)));
+        AtomicInteger metadataRequestCount = new AtomicInteger();
+        CachingFilterLoader loader = CachingFilterLoader.builder()
+            .delegate(delegate)
+            .filterMetadataLoader(uuids -> {
+                metadataRequestCount.incrementAndGet();
+                return uuids.stream()
+                    .map(filters::get)
+                    .filter(Objects::nonNull)
+                    .map(filter -> FilterAttributes.builder().id(filter.getId()).modificationDate(filter.getModificationDate()).build())
+                    .toList();
+            })
+            .revalidationInterval(Duration.ofSeconds(10))
+            .build();
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+
+        try (MockedStatic<TimeUtils> timeUtils = Mockito.mockStatic(TimeUtils.class)) {
+            timeUtils.when(TimeUtils::now).thenReturn(start);
+            loader.getFilters(List.of(FILTER_1_UUID, FILTER_2_UUID));
+
+            filters.put(FILTER_1_UUID, createFilter(FILTER_1_UUID, new Date(2000)));
+            filters.remove(FILTER_2_UUID);
+            loadedUuids.clear();
+
+            // the modification dates are not checked before the revalidation interval
+            timeUtils.when(TimeUtils::now).thenReturn(start.plusSeconds(9));
+            assertThat(loader.getFilters(List.of(FILTER_1_UUID, FILTER_2_UUID)))
+                .extracting(AbstractFilter::getModificationDate).containsExactly(new Date(1000), new Date(1000));
+            assertEquals(0, metadataRequestCount.get());
+
+            timeUtils.when(TimeUtils::now).thenReturn(start.plusSeconds(10));
+            assertThat(loader.getFilters(List.of(FILTER_1_UUID, FILTER_2_UUID)))
+                .extracting(AbstractFilter::getModificationDate).containsExactly(new Date(2000));
+            assertThat(loadedUuids).containsExactly(List.of(FILTER_1_UUID, FILTER_2_UUID));
+            assertEquals(1, metadataRequestCount.get());
+            assertEquals(2, loader.getHitCount());
+            assertEquals(4, loader.getMissCount());
+
+            // an up-to-date filter is checked again after the next revalidation interval only
+            timeUtils.when(TimeUtils::now).thenReturn(start.plusSeconds(19));
+            loader.getFilters(List.of(FILTER_1_UUID));
+            assertEquals(1, metadataRequestCount.get());
+            timeUtils.when(TimeUtils::now).thenReturn(start.plusSeconds(20));
+            loader.getFilters(List.of(FILTER_1_UUID));
+            assertEquals(2, metadataRequestCount.get());
+            timeUtils.when(TimeUtils::now).thenReturn(start.plusSeconds(29));
+            loader.getFilters(List.of(FILTER_1_UUID));
+            assertEquals(2, metadataRequestCount.get());
+            assertThat(loadedUuids).hasSize(1);
+        }
+    }
+
+    @Test
+    void testInvalidationDuringLoad() {
+        filters.put(FILTER_1_UUID, createFilter(FILTER_1_UUID, new Date(1000)));
+        AtomicReference<CachingFilterLoader> loaderReference = new AtomicReference<>();
+        CachingFilterLoader loader = new CachingFilterLoader(uuids -> {
+            List<AbstractFilter> loadedFilters = delegate.getFilters(uuids);
+            if (loadedUuids.size() == 1) {
+                // the filter is modified while the previous version is being returned
+                loaderReference.get().invalidate(FILTER_1_UUID);
+            }
+            return loadedFilters;
+        });
+        loaderReference.set(loader);
+
+        assertThat(loader.getFilters(List.of(FILTER_1_UUID))).hasSize(1);
+        assertEquals(0, loader.size());
+        loader.getFilters(List.of(FILTER_1_UUID));
+        loader.getFilters(List.of(FILTER_1_UUID));
+        assertThat(loadedUuids).hasSize(2);
+        assertEquals(1, loader.size());
+    }
+
+    @Test
+    void testConcurrentAccess() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            UUID uuid = new UUID(0, i);
+            filters.put(uuid, createFilter(uuid, new Date(0)));
+        }
+        CachingFilterLoader loader = CachingFilterLoader.builder().delegate(delegate).maximumSize(20).build();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int task = 0; task < 8; task++) {
+                int seed = task;
+                futures.add(CompletableFuture.runAsync(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 1000; i++) {
+                        UUID uuid = new UUID(0, random.nextInt(50));
+                        List<AbstractFilter> result = loader.getFilters(List.of(uuid));
+                        if (result.size() != 1 || !uuid.equals(result.getFirst().getId())) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get();
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(0, errors.get());
+        assertEquals(8000, loader.getHitCount() + loader.getMissCount());
+        assertThat(loader.size()).isLessThanOrEqualTo(20);
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter;
+
+import org.gridsuite.filter.identifierlistfilter.IdentifierListFilter;
+import org.gridsuite.filter.utils.EquipmentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class CoalescingFilterLoaderTest {
+
+    private static final UUID FILTER_1_UUID = UUID.fromString("11111111-7977-4592-ba19-88027e4254e4");
+    private static final UUID FILTER_2_UUID = UUID.fromString("22222222-7977-4592-ba19-88027e4254e4");
+    private static final UUID MISSING_FILTER_UUID = UUID.fromString("33333333-7977-4592-ba19-88027e4254e4");
+
+    private final Map<UUID, AbstractFilter> filters = Map.of(
+        FILTER_1_UUID, new IdentifierListFilter(FILTER_1_UUID, new Date(), EquipmentType.GENERATOR, List.of()),
+        FILTER_2_UUID, new IdentifierListFilter(FILTER_2_UUID, new Date(), EquipmentType.LOAD, List.of())
+    );
+    private final List<List<UUID>> loadedUuids = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch loadLatch = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final FilterLoader delegate = uuids -> {
+        loadedUuids.add(List.copyOf(uuids));
+        try {
+            if (!loadLatch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Load not released");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return uuids.stream().map(filters::get).filter(Objects::nonNull).toList();
+    };
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSingleFlight() {
+        try (CoalescingFilterLoader loader = CoalescingFilterLoader.builder()
+            .delegate(delegate).executor(executor).batchWindow(Duration.ZERO).build()) {
+            CompletableFuture<List<AbstractFilter>> result1 = loader.getFiltersAsync(List.of(FILTER_1_UUID));
+            CompletableFuture<List<AbstractFilter>> result2 = loader.getFiltersAsync(List.of(FILTER_2_UUID, FILTER_1_UUID, FILTER_2_UUID));
+            CompletableFuture<List<AbstractFilter>> result3 = loader.getFiltersAsync(List.of(FILTER_1_UUID, MISSING_FILTER_UUID));
+            assertFalse(result1.isDone());
+            loadLatch.countDown();
+
+            assertThat(result1.join()).extracting(AbstractFilter::getId).containsExactly(FILTER_1_UUID);
+            assertThat(result2.join()).extracting(AbstractFilter::getId).containsExactly(FILTER_2_UUID, FILTER_1_UUID, FILTER_2_UUID);
+            assertThat(result3.join()).extracting(AbstractFilter::getId).containsExactly(FILTER_1_UUID);
+            assertThat(loadedUuids).containsExactlyInAnyOrder(List.of(FILTER_1_UUID), List.of(FILTER_2_UUID), List.of(MISSING_FILTER_UUID));
+
+            // nothing is kept once loaded
+            loader.getFilters(List.of(FILTER_1_UUID));
+            assertThat(loadedUuids).hasSize(4);
+        }
+    }
+
+    @Test
+    void testMicroBatching() {
+        loadLatch.countDown();
+        try (CoalescingFilterLoader loader = CoalescingFilterLoader.builder()
+            .delegate(delegate).executor(executor).batchWindow(Duration.ofMillis(500)).build()) {
+            CompletableFuture<List<AbstractFilter>> result1 = loader.getFiltersAsync(List.of(FILTER_1_UUID));
+            CompletableFuture<List<AbstractFilter>> result2 = loader.getFiltersAsync(List.of(FILTER_2_UUID, MISSING_FILTER_UUID));
+            CompletableFuture<List<AbstractFilter>> result3 = loader.getFiltersAsync(List.of(FILTER_1_UUID));
+
+            assertThat(result1.join()).extracting(AbstractFilter::getId).containsExactly(FILTER_1_UUID);
+            assertThat(result2.join()).extracting(AbstractFilter::getId).containsExactly(FILTER_2_UUID);
+            assertThat(result3.join()).extracting(AbstractFilter::getId).containsExactly(FILTER_1_UUID);
+            assertThat(loadedUuids).containsExactly(List.of(FILTER_1_UUID, FILTER_2_UUID, MISSING_FILTER_UUID));
+        }
+    }
+
+    @Test
+    void testSynchronousRequestSkipsTheBatchWindow() {
+        loadLatch.countDown();
+        try (CoalescingFilterLoader loader = CoalescingFilterLoader.builder()
+            .delegate(delegate).executor(executor).batchWindow(Duration.ofHours(1)).build()) {
+            CompletableFuture<List<AbstractFilter>> pendingResult = loader.getFiltersAsync(List.of(FILTER_2_UUID));
+            assertFalse(pendingResult.isDone());
+
+            // the pending request is loaded with the synchronous one
+            assertThat(loader.getFilters(List.of(FILTER_1_UUID))).extracting(AbstractFilter::getId).containsExactly(FILTER_1_UUID);
+            assertThat(pendingResult.join()).extracting(AbstractFilter::getId).containsExactly(FILTER_2_UUID);
+            assertThat(loadedUuids).containsExactly(List.of(FILTER_2_UUID, FILTER_1_UUID));
+        }
+    }
+
+    @Test
+    void testMaximumBatchSizeAndClose() {
+        loadLatch.countDown();
+        CoalescingFilterLoader loader = CoalescingFilterLoader.builder()
+            .delegate(delegate).executor(executor).batchWindow(Duration.ofHours(1)).maximumBatchSize(2).build();
+        CompletableFuture<List<AbstractFilter>> result = loader.getFiltersAsync(List.of(FILTER_1_UUID, FILTER_2_UUID, MISSING_FILTER_UUID));
+        // the first batch is full and loaded at once, the missing filter waits for the end of the window
+        assertFalse(result.isDone());
+
+        loader.close();
+        assertThat(result.join()).extracting(AbstractFilter::getId).containsExactly(FILTER_1_UUID, FILTER_2_UUID);
+        assertThat(loadedUuids).containsExactly(List.of(FILTER_1_UUID, FILTER_2_UUID), List.of(MISSING_FILTER_UUID));
+
+        // once closed, requests are loaded without waiting
+        assertThat(loader.getFilters(List.of(FILTER_1_UUID))).hasSize(1);
+
+        assertThrows(IllegalArgumentException.class, () -> CoalescingFilterLoader.builder().delegate(delegate).maximumBatchSize(0).build());
+        assertThrows(IllegalArgumentException.class, () -> CoalescingFilterLoader.builder().delegate(delegate).batchWindow(Duration.ofMillis(-1)).build());
+    }
+
+    @Test
+    void testLoadFailure() {
+        List<List<UUID>> failingLoads = Collections.synchronizedList(new ArrayList<>());
+        FilterLoader failingDelegate = uuids -> {
+            failingLoads.add(List.copyOf(uuids));
+            throw new IllegalStateException("Filter server unavailable");
+        };
+        try (CoalescingFilterLoader loader = CoalescingFilterLoader.builder()
+            .delegate(failingDelegate).executor(executor).batchWindow(Duration.ZERO).build()) {
+            CompletableFuture<List<AbstractFilter>> result = loader.getFiltersAsync(List.of(FILTER_1_UUID));
+            CompletionException completionException = assertThrows(CompletionException.class, result::join);
+            assertInstanceOf(IllegalStateException.class, completionException.getCause());
+
+            List<UUID> uuids = List.of(FILTER_1_UUID);
+            IllegalStateException exception = assertThrows(IllegalStateException.class, () -> loader.getFilters(uuids));
+            assertEquals("Filter server unavailable", exception.getMessage());
+            assertThat(failingLoads).hasSize(2);
+        }
+    }
+
+    @Test
+    void testShutDownScheduler() {
+        loadLatch.countDown();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.shutdown();
+        try (CoalescingFilterLoader loader = CoalescingFilterLoader.builder()
+            .delegate(delegate).executor(executor).scheduler(scheduler).batchWindow(Duration.ofMillis(500)).build()) {
+            CompletableFuture<List<AbstractFilter>> result = loader.getFiltersAsync(List.of(FILTER_1_UUID));
+            CompletionException completionException = assertThrows(CompletionException.class, result::join);
+            assertInstanceOf(RejectedExecutionException.class, completionException.getCause());
+
+            // the failed load is not shared with the next requests
+            CompletableFuture<List<AbstractFilter>> nextResult = loader.getFiltersAsync(List.of(FILTER_1_UUID, FILTER_2_UUID));
+            completionException = assertThrows(CompletionException.class, nextResult::join);
+            assertInstanceOf(RejectedExecutionException.class, completionException.getCause());
+            assertThat(loadedUuids).isEmpty();
+
+            // the synchronous requests don't need the scheduler
+            assertThat(loader.getFilters(List.of(FILTER_1_UUID))).hasSize(1);
+        }
+    }
+
+    @Test
+    void testLoadError() {
+        List<List<UUID>> failingLoads = Collections.synchronizedList(new ArrayList<>());
+        FilterLoader failingDelegate = uuids -> {
+            failingLoads.add(List.copyOf(uuids));
+            throw new AssertionError("Unexpected load");
+        };
+        try (CoalescingFilterLoader loader = CoalescingFilterLoader.builder()
+            .delegate(failingDelegate).executor(executor).batchWindow(Duration.ZERO).build()) {
+            // the error is also rethrown on the thread loading the filters
+            CompletableFuture<List<AbstractFilter>> result = loader.getFiltersAsync(List.of(FILTER_1_UUID));
+            CompletionException completionException = assertThrows(CompletionException.class, result::join);
+            assertInstanceOf(AssertionError.class, completionException.getCause());
+
+            CompletableFuture<List<AbstractFilter>> nextResult = loader.getFiltersAsync(List.of(FILTER_1_UUID));
+            assertThrows(CompletionException.class, nextResult::join);
+            assertThat(failingLoads).hasSize(2);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import org.gridsuite.filter.expertfilter.ExpertFilter;
+import org.gridsuite.filter.expertfilter.expertrule.AbstractExpertRule;
+import org.gridsuite.filter.expertfilter.expertrule.CombinatorExpertRule;
+import org.gridsuite.filter.expertfilter.expertrule.NumberExpertRule;
+import org.gridsuite.filter.expertfilter.expertrule.StringExpertRule;
+import org.gridsuite.filter.identifierlistfilter.CompactEquipmentAttributesList;
+import org.gridsuite.filter.identifierlistfilter.IdentifierListFilter;
+import org.gridsuite.filter.identifierlistfilter.IdentifierListFilterEquipmentAttributes;
+import org.gridsuite.filter.utils.EquipmentType;
+import org.gridsuite.filter.utils.expertfilter.CombinatorType;
+import org.gridsuite.filter.utils.expertfilter.FieldType;
+import org.gridsuite.filter.utils.expertfilter.OperatorType;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class FilterJsonTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testTypesAreWrittenFirst() throws Exception {
+        AbstractExpertRule rule = StringExpertRule.builder().field(FieldType.ID).operator(OperatorType.IN).values(Set.of("GEN", "GEN2")).build();
+        for (int i = 0; i < 200; i++) {
+            rule = CombinatorExpertRule.builder().combinator(i % 2 == 0 ? CombinatorType.AND : CombinatorType.OR).rules(List.of(rule,
+                NumberExpertRule.builder().field(FieldType.TARGET_P).operator(OperatorType.GREATER).value((double) i).build())).build();
+        }
+        ExpertFilter filter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR, rule);
+
+        String json = objectMapper.writeValueAsString(filter);
+        JsonNode node = objectMapper.readTree(json);
+        assertEquals("type", node.fieldNames().next());
+        for (JsonNode ruleNode = node.get("rules"); ruleNode != null; ruleNode = ruleNode.has("rules") ? ruleNode.get("rules").get(0) : null) {
+            assertEquals("dataType", ruleNode.fieldNames().next());
+        }
+        assertEquals(filter, objectMapper.readValue(json, AbstractFilter.class));
+    }
+
+    @Test
+    void testLargeIdentifierListIsReadCompactly() throws Exception {
+        int size = CompactEquipmentAttributesList.COMPACT_THRESHOLD * 2;
+        StringBuilder json = new StringBuilder("{\"id\":\"").append(UUID.randomUUID()).append("\",\"equipmentType\":\"LOAD\",\"filterEquipmentsAttributes\":[");
+        for (int i = 0; i < size; i++) {
+            json.append(i > 0 ? "," : "").append("{\"equipmentID\":\"LOAD_").append(i).append('"');
+            json.append(i % 3 == 0 ? "}" : ",\"distributionKey\":" + i + ".5}");
+        }
+        // the type last, the filter being buffered before being read
+        json.append("],\"type\":\"IDENTIFIER_LIST\"}");
+
+        IdentifierListFilter filter = (IdentifierListFilter) objectMapper.readValue(json.toString(), AbstractFilter.class);
+        List<IdentifierListFilterEquipmentAttributes> entries = filter.getFilterEquipmentsAttributes();
+        assertInstanceOf(CompactEquipmentAttributesList.class, entries);
+        assertEquals(size, entries.size());
+        assertEquals("LOAD_42", filter.getEquipmentIds().get(42));
+        assertNull(filter.getDistributionKey("LOAD_42"));
+        assertEquals(43.5, filter.getDistributionKey("LOAD_43"), 0.001);
+
+        // the entries are written without being created
+        String serializedFilter = objectMapper.writeValueAsString(filter);
+        assertTrue(serializedFilter.startsWith("{\"type\":\"IDENTIFIER_LIST\""));
+        assertTrue(((CompactEquipmentAttributesList) entries).isCompact());
+        assertEquals(filter, objectMapper.readValue(serializedFilter, AbstractFilter.class));
+
+        // the entries created on access are written the same way
+        assertNull(entries.get(42).getDistributionKey());
+        assertFalse(((CompactEquipmentAttributesList) entries).isCompact());
+        assertEquals(serializedFilter, objectMapper.writeValueAsString(filter));
+    }
+
+    @Test
+    void testSmallIdentifierList() throws Exception {
+        String json = "{\"type\":\"IDENTIFIER_LIST\",\"equipmentType\":\"GENERATOR\",\"filterEquipmentsAttributes\":["
+            + "{\"distributionKey\":\"2.5\",\"equipmentID\":\"GEN\"},{\"equipmentID\":\"GEN2\",\"distributionKey\":null}]}";
+        IdentifierListFilter filter = (IdentifierListFilter) objectMapper.readValue(json, AbstractFilter.class);
+        List<IdentifierListFilterEquipmentAttributes> entries = filter.getFilterEquipmentsAttributes();
+        assertInstanceOf(ArrayList.class, entries);
+        assertEquals(List.of("GEN", "GEN2"), entries.stream().map(IdentifierListFilterEquipmentAttributes::getEquipmentID).toList());
+        assertEquals(2.5, filter.getDistributionKey("GEN"), 0.001);
+        assertNull(filter.getDistributionKey("GEN2"));
+
+        String unknownPropertyJson = "{\"type\":\"IDENTIFIER_LIST\",\"filterEquipmentsAttributes\":[{\"equipmentID\":\"GEN\",\"name\":{\"value\":1}}]}";
+        assertThrows(UnrecognizedPropertyException.class, () -> objectMapper.readValue(unknownPropertyJson, AbstractFilter.class));
+        IdentifierListFilter lenientFilter = (IdentifierListFilter) objectMapper.copy()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .readValue(unknownPropertyJson, AbstractFilter.class);
+        assertEquals("GEN", lenientFilter.getFilterEquipmentsAttributes().getFirst().getEquipmentID());
+    }
+}
@@ -11,6 +11,7 @@ import org.gridsuite.filter.expertfilter.expertrule.*;
 import org.gridsuite.filter.identifierlistfilter.IdentifierListFilter;
 import org.gridsuite.filter.identifierlistfilter.IdentifierListFilterEquipmentAttributes;
 import org.gridsuite.filter.utils.EquipmentType;
+import org.gridsuite.filter.utils.FilterEvaluationOptions;
 import org.gridsuite.filter.utils.FiltersUtils;
 import org.gridsuite.filter.utils.UuidUtils;
 import org.gridsuite.filter.utils.expertfilter.CombinatorType;
@@ -354,7 +355,7 @@ class GlobalFilterUtilsTest implements WithAssertions {
                 final Identifiable<?> i2 = Mockito.mock(Identifiable.class);
                 when(i2.getId()).thenReturn("id2");
                 final List<Identifiable<?>> attributes = List.of(i1, i2);
-                mockedFU.when(() -> FiltersUtils.getIdentifiables(filter, network, loader)).thenReturn(attributes);
+                mockedFU.when(() -> FiltersUtils.getIdentifiables(filter, network, loader, FilterEvaluationOptions.DEFAULT)).thenReturn(attributes);
                 mockedFU.clearInvocations(); //important because stubbing static method counts as call
                 assertThat(GlobalFilterUtils.filterNetwork(filter, network, loader)).as("result")
                     .containsExactlyInAnyOrder("id1", "id2");
@@ -362,7 +363,7 @@ class GlobalFilterUtilsTest implements WithAssertions {
                 Mockito.verify(i2, Mockito.atLeastOnce()).getId();
                 Mockito.verify(filter, Mockito.atLeastOnce()).getEquipmentType();
                 Mockito.verifyNoMoreInteractions(filter, network, loader, i1, i2);
-                mockedFU.verify(() -> FiltersUtils.getIdentifiables(eq(filter), eq(network), eq(loader)), Mockito.times(1));
+                mockedFU.verify(() -> FiltersUtils.getIdentifiables(eq(filter), eq(network), eq(loader), any(FilterEvaluationOptions.class)), Mockito.times(1));
                 mockedFU.verifyNoMoreInteractions(); //check if forget to mock a method
             }
         }
@@ -383,7 +384,7 @@ class GlobalFilterUtilsTest implements WithAssertions {
                 final Identifiable<?> gen2 = Mockito.mock(Identifiable.class);
                 when(gen2.getId()).thenReturn("gen2");
                 final List<Identifiable<?>> attributes = List.of(gen1, gen2);
-                mockedFU.when(() -> FiltersUtils.getIdentifiables(filter, network, loader)).thenReturn(attributes);
+                mockedFU.when(() -> FiltersUtils.getIdentifiables(filter, network, loader, FilterEvaluationOptions.DEFAULT)).thenReturn(attributes);
                 mockedFU.clearInvocations(); //important because stubbing static method counts as call
                 assertThat(GlobalFilterUtils.applyFilterOnNetwork(filter, EquipmentType.GENERATOR, network, loader))
                     .as("result").containsExactlyInAnyOrder("gen1", "gen2");
@@ -391,7 +392,7 @@ class GlobalFilterUtilsTest implements WithAssertions {
                 Mockito.verify(gen1, Mockito.atLeastOnce()).getId();
                 Mockito.verify(gen2, Mockito.atLeastOnce()).getId();
                 Mockito.verifyNoMoreInteractions(filter, network, loader, gen1, gen2);
-                mockedFU.verify(() -> FiltersUtils.getIdentifiables(eq(filter), eq(network), eq(loader)), Mockito.atLeastOnce());
+                mockedFU.verify(() -> FiltersUtils.getIdentifiables(eq(filter), eq(network), eq(loader), any(FilterEvaluationOptions.class)), Mockito.atLeastOnce());
                 mockedFU.verifyNoMoreInteractions(); //check if forget to mock a method
             }
         }
@@ -410,7 +411,7 @@ class GlobalFilterUtilsTest implements WithAssertions {
                 final Identifiable<?> line2 = Mockito.mock(Identifiable.class);
                 when(line2.getId()).thenReturn("line2");
                 final List<Identifiable<?>> attributes = List.of(line1, line2);
-                mockedFU.when(() -> FiltersUtils.getIdentifiables(any(ExpertFilter.class), eq(network), eq(loader))).thenReturn(attributes);
+                mockedFU.when(() -> FiltersUtils.getIdentifiables(any(ExpertFilter.class), eq(network), eq(loader), any(FilterEvaluationOptions.class))).thenReturn(attributes);
                 mockedFU.clearInvocations(); //important because stubbing static method counts as call
                 assertThat(GlobalFilterUtils.applyFilterOnNetwork(filter, EquipmentType.LINE, network, loader))
                     .as("result").containsExactlyInAnyOrder("line1", "line2");
@@ -419,7 +420,7 @@ class GlobalFilterUtilsTest implements WithAssertions {
                 Mockito.verify(line1, Mockito.atLeastOnce()).getId();
                 Mockito.verify(line2, Mockito.atLeastOnce()).getId();
                 Mockito.verifyNoMoreInteractions(filter, network, loader, line1, line2);
-                mockedFU.verify(() -> FiltersUtils.getIdentifiables(any(ExpertFilter.class), eq(network), eq(loader)), Mockito.atLeastOnce());
+                mockedFU.verify(() -> FiltersUtils.getIdentifiables(any(ExpertFilter.class), eq(network), eq(loader), any(FilterEvaluationOptions.class)), Mockito.atLeastOnce());
                 mockedFU.verifyNoMoreInteractions(); //check if forget to mock a method
             }
         }
@@ -466,7 +467,7 @@ class GlobalFilterUtilsTest implements WithAssertions {
                     isPartOfFilter != null &&
                     isPartOfFilter.getRules().getDataType() == DataType.FILTER_UUID &&
                    ((FilterUuidExpertRule) isPartOfFilter.getRules()).getValues().contains(filterUuid.toString())
-                ), eq(network), eq(loader))).thenReturn(attributes);
+                ), eq(network), eq(loader), any(FilterEvaluationOptions.class))).thenReturn(attributes);
                 mockedFU.clearInvocations(); //important because stubbing static method counts as call
 
                 // call test method and check result
@@ -480,7 +481,7 @@ class GlobalFilterUtilsTest implements WithAssertions {
                 Mockito.verify(gen1, Mockito.atLeastOnce()).getId();
                 Mockito.verify(gen2, Mockito.atLeastOnce()).getId();
                 Mockito.verifyNoMoreInteractions(genericFilter, network, gen1, gen2);
-                mockedFU.verify(() -> FiltersUtils.getIdentifiables(any(ExpertFilter.class), eq(network), eq(loader)), Mockito.atLeastOnce());
+                mockedFU.verify(() -> FiltersUtils.getIdentifiables(any(ExpertFilter.class), eq(network), eq(loader), any(FilterEvaluationOptions.class)), Mockito.atLeastOnce());
             }
         }
 
@@ -499,7 +500,7 @@ class GlobalFilterUtilsTest implements WithAssertions {
                 final Identifiable<?> line2 = Mockito.mock(Identifiable.class);
                 when(line2.getId()).thenReturn("line2");
                 final List<Identifiable<?>> attributes = List.of(line1, line2);
-                mockedFU.when(() -> FiltersUtils.getIdentifiables(any(ExpertFilter.class), eq(network), eq(loader))).thenReturn(attributes);
+                mockedFU.when(() -> FiltersUtils.getIdentifiables(any(ExpertFilter.class), eq(network), eq(loader), any(FilterEvaluationOptions.class))).thenReturn(attributes);
                 mockedFU.clearInvocations(); //important because stubbing static method counts as call
                 assertThat(GlobalFilterUtils.applyGlobalFilterOnNetwork(network, globalFilter, EquipmentType.LINE, List.of(), List.of(filter), loader))
                     .as("result").containsExactlyInAnyOrder("line1", "line2");
@@ -508,7 +509,7 @@ class GlobalFilterUtilsTest implements WithAssertions {
                 Mockito.verify(line1, Mockito.atLeastOnce()).getId();
                 Mockito.verify(line2, Mockito.atLeastOnce()).getId();
                 Mockito.verifyNoMoreInteractions(filter, network, line1, line2);
-                mockedFU.verify(() -> FiltersUtils.getIdentifiables(any(ExpertFilter.class), eq(network), eq(loader)), Mockito.atLeastOnce());
+                mockedFU.verify(() -> FiltersUtils.getIdentifiables(any(ExpertFilter.class), eq(network), eq(loader), any(FilterEvaluationOptions.class)), Mockito.atLeastOnce());
             }
         }
 
@@ -527,7 +528,7 @@ class GlobalFilterUtilsTest implements WithAssertions {
                 final Identifiable<?> line2 = Mockito.mock(Identifiable.class);
                 when(line2.getId()).thenReturn("line2");
                 final List<Identifiable<?>> attributes = List.of(line1, line2);
-                mockedFU.when(() -> FiltersUtils.getIdentifiables(any(ExpertFilter.class), eq(network), eq(loader))).thenReturn(attributes);
+                mockedFU.when(() -> FiltersUtils.getIdentifiables(any(ExpertFilter.class), eq(network), eq(loader), any(FilterEvaluationOptions.class))).thenReturn(attributes);
                 mockedFU.clearInvocations(); //important because stubbing static method counts as call
                 assertThat(GlobalFilterUtils.applyGlobalFilterOnNetwork(network, globalFilter, EquipmentType.LINE, List.of(), List.of(filter), loader))
                     .as("result").containsExactlyInAnyOrder("line1", "line2");
@@ -536,7 +537,7 @@ class GlobalFilterUtilsTest implements WithAssertions {
                 Mockito.verify(line1, Mockito.atLeastOnce()).getId();
                 Mockito.verify(line2, Mockito.atLeastOnce()).getId();
                 Mockito.verifyNoMoreInteractions(filter, network, line1, line2);
-                mockedFU.verify(() -> FiltersUtils.getIdentifiables(any(ExpertFilter.class), eq(network), eq(loader)), Mockito.atLeastOnce());
+                mockedFU.verify(() -> FiltersUtils.getIdentifiables(any(ExpertFilter.class), eq(network), eq(loader), any(FilterEvaluationOptions.class)), Mockito.atLeastOnce());
             }
         }
 
@@ -596,12 +597,12 @@ class GlobalFilterUtilsTest implements WithAssertions {
                         isPartOfFilter != null &&
                         isPartOfFilter.getRules().getOperator() == OperatorType.IS_PART_OF &&
                         ((FilterUuidExpertRule) isPartOfFilter.getRules()).getValues().contains(filterLineUuid.toString())
-                ), eq(network), eq(loader))).thenReturn(lineAttributes);
+                ), eq(network), eq(loader), any(FilterEvaluationOptions.class))).thenReturn(lineAttributes);
                 mockedFU.when(() -> FiltersUtils.getIdentifiables(argThat((ExpertFilter isPartOfFilter) ->
                         isPartOfFilter != null &&
                         isPartOfFilter.getRules().getOperator() == OperatorType.IS_PART_OF &&
                         ((FilterUuidExpertRule) isPartOfFilter.getRules()).getValues().contains(filterTransUuid.toString())
-                ), eq(network), eq(loader))).thenReturn(transAttributes);
+                ), eq(network), eq(loader), any(FilterEvaluationOptions.class))).thenReturn(transAttributes);
                 mockedFU.clearInvocations(); //important because stubbing static method counts as call
 
                 // call test method and check result
@@ -617,7 +618,7 @@ class GlobalFilterUtilsTest implements WithAssertions {
                 Mockito.verify(line1, Mockito.atLeastOnce()).getId();
                 Mockito.verify(trf1, Mockito.atLeastOnce()).getId();
                 Mockito.verifyNoMoreInteractions(filterLine, filterTrans, network, line1, trf1);
-                mockedFU.verify(() -> FiltersUtils.getIdentifiables(any(ExpertFilter.class), eq(network), eq(loader)), Mockito.atLeastOnce());
+                mockedFU.verify(() -> FiltersUtils.getIdentifiables(any(ExpertFilter.class), eq(network), eq(loader), any(FilterEvaluationOptions.class)), Mockito.atLeastOnce());
             }
         }
     }
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.IdentifiableType;
+import org.gridsuite.filter.AbstractFilter;
+import org.gridsuite.filter.expertfilter.ExpertFilter;
+import org.gridsuite.filter.expertfilter.expertrule.*;
+import org.gridsuite.filter.identifierlistfilter.*;
+import org.gridsuite.filter.utils.expertfilter.CombinatorType;
+import org.gridsuite.filter.utils.expertfilter.FieldType;
+import org.gridsuite.filter.utils.expertfilter.OperatorType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class FilterBinaryCodecTest {
+
+    private final FilterBinaryCodec codec = new FilterBinaryCodec();
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+
+    private static ExpertFilter createExpertFilter() {
+        UUID referencedFilterUuid = UUID.randomUUID();
+        return new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR,
+            CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                NumberExpertRule.builder().field(FieldType.TARGET_P).operator(OperatorType.BETWEEN).values(Set.of(10., 100.)).build(),
+                StringExpertRule.builder().field(FieldType.ID).operator(OperatorType.IN).values(Set.of("GEN", "GEN2")).build(),
+                BooleanExpertRule.builder().field(FieldType.CONNECTED).operator(OperatorType.EQUALS).value(true).build(),
+                FilterUuidExpertRule.builder().field(FieldType.ID).operator(OperatorType.IS_PART_OF).values(Set.of(referencedFilterUuid.toString())).build(),
+                PropertiesExpertRule.builder().field(FieldType.FREE_PROPERTIES).operator(OperatorType.IN).propertyName("region").propertyValues(List.of("north")).build()
+            )).build());
+    }
+
+    private static List<IdentifiableAttributes> createIdentifiableAttributes(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> new IdentifiableAttributes("GENERATOR_" + i, IdentifiableType.GENERATOR, i % 2 == 0 ? null : (double) i))
+            .toList();
+    }
+
+    @Test
+    void testFiltersRoundTrip() throws Exception {
+        ExpertFilter expertFilter = createExpertFilter();
+        assertEquals(expertFilter, codec.decode(codec.encode(expertFilter), AbstractFilter.class));
+
+        List<IdentifierListFilterEquipmentAttributes> entries = IntStream.range(0, CompactEquipmentAttributesList.COMPACT_THRESHOLD)
+            .mapToObj(i -> new IdentifierListFilterEquipmentAttributes("LOAD_" + i, i % 3 == 0 ? null : i / 2.))
+            .toList();
+        IdentifierListFilter identifierListFilter = new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD, entries);
+        AbstractFilter decodedFilter = codec.decode(codec.encode(identifierListFilter), AbstractFilter.class);
+        assertEquals(identifierListFilter, decodedFilter);
+        // same result as JSON
+        assertEquals(jsonMapper.readValue(jsonMapper.writeValueAsString(identifierListFilter), AbstractFilter.class), decodedFilter);
+
+        List<AbstractFilter> filters = List.of(expertFilter, identifierListFilter);
+        assertEquals(filters, codec.decode(codec.encode(filters), new TypeReference<List<AbstractFilter>>() { }));
+    }
+
+    @Test
+    void testResultsRoundTrip() throws Exception {
+        UUID filterId = UUID.randomUUID();
+        FilterEquipments filterEquipments = new FilterEquipments(filterId, createIdentifiableAttributes(1_000), List.of("notFound1", "notFound2"));
+        FilterEquipments decodedFilterEquipments = codec.decode(codec.encode(filterEquipments), FilterEquipments.class);
+        assertEquals(filterId, decodedFilterEquipments.getFilterId());
+        assertEquals(filterEquipments.getIdentifiableAttributes(), decodedFilterEquipments.getIdentifiableAttributes());
+        assertEquals(filterEquipments.getNotFoundEquipments(), decodedFilterEquipments.getNotFoundEquipments());
+
+        FilteredIdentifiables filteredIdentifiables = new FilteredIdentifiables(createIdentifiableAttributes(10),
+            List.of(new IdentifiableAttributes("notFound", IdentifiableType.GENERATOR, null)));
+        FilteredIdentifiables decodedFilteredIdentifiables = codec.decode(codec.encode(filteredIdentifiables), FilteredIdentifiables.class);
+        assertEquals(filteredIdentifiables, decodedFilteredIdentifiables);
+        assertEquals(jsonMapper.readValue(jsonMapper.writeValueAsString(filteredIdentifiables), FilteredIdentifiables.class), decodedFilteredIdentifiables);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.encode(filterEquipments.getNotFoundEquipments(), out);
+        assertEquals(List.of("notFound1", "notFound2"), codec.decode(new ByteArrayInputStream(out.toByteArray()), List.class));
+    }
+
+    @Test
+    void testEncodedSizeComparedToJson() throws Exception {
+        FilterEquipments filterEquipments = new FilterEquipments(UUID.randomUUID(), createIdentifiableAttributes(10_000), List.of());
+        int jsonSize = jsonMapper.writeValueAsBytes(filterEquipments).length;
+        int binarySize = codec.encode(filterEquipments).length;
+        // the property names and the equipment type are only written once
+        assertThat(binarySize).isLessThan(jsonSize / 2);
+
+        ExpertFilter expertFilter = createExpertFilter();
+        assertThat(codec.encode(expertFilter).length).isLessThan(jsonMapper.writeValueAsBytes(expertFilter).length);
+    }
+
+    @Test
+    void testUnsupportedData() throws Exception {
+        SmileMapper smileMapper = new SmileMapper();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = smileMapper.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeNumberField("formatVersion", FilterBinaryCodec.FORMAT_VERSION + 1);
+            generator.writeStringField("value", "");
+            generator.writeEndObject();
+        }
+        byte[] laterVersion = out.toByteArray();
+        PowsyblException e = assertThrows(PowsyblException.class, () -> codec.decode(laterVersion, AbstractFilter.class));
+        assertTrue(e.getMessage().startsWith("Unsupported version 2"));
+
+        byte[] notEncoded = smileMapper.writeValueAsBytes(Map.of("id", "GEN"));
+        assertThrows(PowsyblException.class, () -> codec.decode(notEncoded, AbstractFilter.class));
+    }
+}
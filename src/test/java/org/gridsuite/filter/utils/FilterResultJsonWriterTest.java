@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.impl.NetworkFactoryImpl;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import org.gridsuite.filter.AbstractFilter;
+import org.gridsuite.filter.FilterLoader;
+import org.gridsuite.filter.exception.FilterEvaluationCancelledException;
+import org.gridsuite.filter.expertfilter.ExpertFilter;
+import org.gridsuite.filter.expertfilter.expertrule.NumberExpertRule;
+import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
+import org.gridsuite.filter.identifierlistfilter.IdentifiableAttributes;
+import org.gridsuite.filter.identifierlistfilter.IdentifierListFilter;
+import org.gridsuite.filter.identifierlistfilter.IdentifierListFilterEquipmentAttributes;
+import org.gridsuite.filter.utils.expertfilter.FieldType;
+import org.gridsuite.filter.utils.expertfilter.OperatorType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class FilterResultJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Network network = EurostagTutorialExample1Factory.createWithMoreGenerators(new NetworkFactoryImpl());
+    private final FilterLoader filterLoader = uuids -> List.of();
+
+    private JsonNode expectedFilterEquipments(AbstractFilter filter) throws Exception {
+        return objectMapper.readTree(objectMapper.writeValueAsString(
+            filter.toFilterEquipments(FilterServiceUtils.getIdentifiableAttributes(filter, network, filterLoader))));
+    }
+
+    private JsonNode expectedFilteredIdentifiables(AbstractFilter filter) throws Exception {
+        return objectMapper.readTree(objectMapper.writeValueAsString(
+            filter.toFilteredIdentifiables(FilterServiceUtils.getIdentifiableAttributes(filter, network, filterLoader))));
+    }
+
+    private JsonNode writeFilterEquipments(AbstractFilter filter) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        FilterResultJsonWriter.writeFilterEquipments(filter, network, filterLoader, out);
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    private JsonNode writeFilteredIdentifiables(AbstractFilter filter) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        FilterResultJsonWriter.writeFilteredIdentifiables(filter, network, filterLoader, out);
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    @Test
+    void testExpertFilter() throws Exception {
+        ExpertFilter filter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR,
+            NumberExpertRule.builder().field(FieldType.TARGET_P).operator(OperatorType.GREATER).value(0.).build());
+
+        JsonNode filterEquipments = writeFilterEquipments(filter);
+        assertEquals(expectedFilterEquipments(filter), filterEquipments);
+        assertEquals(2, filterEquipments.get("identifiableAttributes").size());
+        assertTrue(filterEquipments.get("notFoundEquipments").isNull());
+        assertEquals(expectedFilteredIdentifiables(filter), writeFilteredIdentifiables(filter));
+
+        // the written JSON is read as the result
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        FilterResultJsonWriter.writeFilterEquipments(filter, network, filterLoader, out);
+        FilterEquipments result = objectMapper.readValue(out.toByteArray(), FilterEquipments.class);
+        assertEquals(filter.getId(), result.getFilterId());
+        assertEquals(List.of("GEN", "GEN2"), result.getIdentifiableAttributes().stream().map(IdentifiableAttributes::getId).toList());
+    }
+
+    @Test
+    void testIdentifierListFilter() throws Exception {
+        IdentifierListFilter filter = new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR, List.of(
+            new IdentifierListFilterEquipmentAttributes("GEN2", 2.),
+            new IdentifierListFilterEquipmentAttributes("notFound1", 1.),
+            new IdentifierListFilterEquipmentAttributes("GEN", null),
+            new IdentifierListFilterEquipmentAttributes("GEN2", 3.),
+            new IdentifierListFilterEquipmentAttributes("notFound2", null)));
+
+        JsonNode filterEquipments = writeFilterEquipments(filter);
+        assertEquals(expectedFilterEquipments(filter), filterEquipments);
+        assertEquals(3, filterEquipments.get("identifiableAttributes").size());
+        assertEquals(2., filterEquipments.get("identifiableAttributes").get(0).get("distributionKey").asDouble(), 0.001);
+        assertEquals("notFound1", filterEquipments.get("notFoundEquipments").get(0).asText());
+
+        JsonNode filteredIdentifiables = writeFilteredIdentifiables(filter);
+        assertEquals(expectedFilteredIdentifiables(filter), filteredIdentifiables);
+        assertEquals("GENERATOR", filteredIdentifiables.get("notFoundIds").get(1).get("type").asText());
+
+        // buses can only be filtered with expert filters
+        IdentifierListFilter busFilter = new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.BUS,
+            List.of(new IdentifierListFilterEquipmentAttributes("VLGEN_0", null)));
+        assertEquals(expectedFilterEquipments(busFilter), writeFilterEquipments(busFilter));
+    }
+
+    @Test
+    void testSameJsonAsObjectMapper() throws Exception {
+        List<AbstractFilter> filters = List.of(
+            new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR,
+                NumberExpertRule.builder().field(FieldType.TARGET_P).operator(OperatorType.GREATER).value(0.).build()),
+            new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR, List.of(
+                new IdentifierListFilterEquipmentAttributes("notFound1", 1.),
+                new IdentifierListFilterEquipmentAttributes("GEN2", 2.),
+                new IdentifierListFilterEquipmentAttributes("GEN", null))),
+            new IdentifierListFilter(null, new Date(), EquipmentType.LOAD, List.of()));
+        for (AbstractFilter filter : filters) {
+            List<IdentifiableAttributes> attributes = FilterServiceUtils.getIdentifiableAttributes(filter, network, filterLoader);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            FilterResultJsonWriter.writeFilterEquipments(filter, network, filterLoader, out);
+            assertEquals(objectMapper.writeValueAsString(filter.toFilterEquipments(attributes)), out.toString(StandardCharsets.UTF_8));
+
+            out.reset();
+            FilterResultJsonWriter.writeFilteredIdentifiables(filter, network, filterLoader, out);
+            assertEquals(objectMapper.writeValueAsString(filter.toFilteredIdentifiables(attributes)), out.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testWriteToGenerator() throws Exception {
+        IdentifierListFilter filter = new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+            List.of(new IdentifierListFilterEquipmentAttributes("LOAD", 1.)));
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = objectMapper.createGenerator(writer)) {
+            generator.writeStartArray();
+            FilterResultJsonWriter.writeFilterEquipments(filter, network, filterLoader, FilterEvaluationOptions.DEFAULT, generator);
+            FilterResultJsonWriter.writeFilteredIdentifiables(filter, network, filterLoader, FilterEvaluationOptions.DEFAULT, generator);
+            generator.writeEndArray();
+        }
+        JsonNode results = objectMapper.readTree(writer.toString());
+        assertEquals(expectedFilterEquipments(filter), results.get(0));
+        assertEquals(expectedFilteredIdentifiables(filter), results.get(1));
+    }
+
+    @Test
+    void testCancellation() {
+        IdentifierListFilter filter = new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR,
+            List.of(new IdentifierListFilterEquipmentAttributes("GEN", null)));
+        FilterEvaluationOptions options = FilterEvaluationOptions.builder().deadline(Instant.EPOCH).cancellationCheckInterval(1).build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThrows(FilterEvaluationCancelledException.class,
+            () -> FilterResultJsonWriter.writeFilterEquipments(filter, network, filterLoader, options, out));
+    }
+}
@@ -14,9 +14,12 @@ import org.gridsuite.filter.expertfilter.ExpertFilter;
 import org.gridsuite.filter.expertfilter.expertrule.AbstractExpertRule;
 import org.gridsuite.filter.expertfilter.expertrule.CombinatorExpertRule;
 import org.gridsuite.filter.expertfilter.expertrule.EnumExpertRule;
+import org.gridsuite.filter.expertfilter.expertrule.NumberExpertRule;
 import org.gridsuite.filter.identifierlistfilter.FilterAttributes;
 import org.gridsuite.filter.identifierlistfilter.FilteredIdentifiables;
 import org.gridsuite.filter.identifierlistfilter.IdentifiableAttributes;
+import org.gridsuite.filter.identifierlistfilter.IdentifierListFilter;
+import org.gridsuite.filter.identifierlistfilter.IdentifierListFilterEquipmentAttributes;
 import org.gridsuite.filter.utils.expertfilter.CombinatorType;
 import org.gridsuite.filter.utils.expertfilter.FieldType;
 import org.gridsuite.filter.utils.expertfilter.OperatorType;
@@ -24,6 +27,8 @@ import org.junit.jupiter.api.Test;
 
 import java.util.*;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -90,4 +95,78 @@ class FilterServiceUtilsTest {
 
         assertTrue(result.equipmentIds().containsAll(expected));
     }
+
+    @Test
+    void testEvaluateIdentifiableAttributesWithMaxResults() {
+        IdentifierListFilter generatorFilter = new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR,
+            List.of(new IdentifierListFilterEquipmentAttributes("GEN2", 2.), new IdentifierListFilterEquipmentAttributes("GEN", 1.)));
+        Network network = EurostagTutorialExample1Factory.createWithMoreGenerators(new NetworkFactoryImpl());
+
+        FilterEvaluationResult<IdentifiableAttributes> result = FilterServiceUtils.evaluateIdentifiableAttributes(generatorFilter, network,
+            uuids -> List.of(), FilterEvaluationOptions.builder().maxResults(1).build());
+        assertEquals(List.of(new IdentifiableAttributes("GEN", IdentifiableType.GENERATOR, 1.)), result.elements());
+        assertEquals(1, result.scannedEquipmentCount());
+        assertTrue(result.truncated());
+    }
+
+    @Test
+    void testStreamIdentifiableAttributes() {
+        IdentifierListFilter generatorFilter = new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR,
+            List.of(new IdentifierListFilterEquipmentAttributes("GEN2", 2.), new IdentifierListFilterEquipmentAttributes("GEN", 1.)));
+        Network network = EurostagTutorialExample1Factory.createWithMoreGenerators(new NetworkFactoryImpl());
+
+        assertEquals(FilterServiceUtils.getIdentifiableAttributes(generatorFilter, network, uuids -> List.of()),
+            FilterServiceUtils.streamIdentifiableAttributes(generatorFilter, network, uuids -> List.of()).toList());
+    }
+
+    @Test
+    void testGetTopIdentifiableAttributes() {
+        ExpertFilter generatorFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR,
+            CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                NumberExpertRule.builder().field(FieldType.MAX_P).operator(OperatorType.GREATER).value(0.).build())).build());
+        Network network = EurostagTutorialExample1Factory.createWithMoreGenerators(new NetworkFactoryImpl());
+        network.getGenerator("GEN2").setMaxP(10_000);
+
+        assertEquals(List.of(new RankedIdentifiableAttributes(new IdentifiableAttributes("GEN2", IdentifiableType.GENERATOR, null), 10_000)),
+            FilterServiceUtils.getTopIdentifiableAttributes(generatorFilter, network, uuids -> List.of(), FieldType.MAX_P, SortDirection.DESCENDING, 1));
+        assertEquals(List.of("GEN", "GEN2"),
+            FilterServiceUtils.getTopIdentifiableAttributes(generatorFilter, network, uuids -> List.of(), FieldType.MAX_P, SortDirection.ASCENDING, 5)
+                .stream().map(ranked -> ranked.identifiableAttributes().getId()).toList());
+    }
+
+    @Test
+    void testAggregate() {
+        ExpertFilter generatorFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR,
+            CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                NumberExpertRule.builder().field(FieldType.MAX_P).operator(OperatorType.GREATER).value(0.).build())).build());
+        Network network = EurostagTutorialExample1Factory.createWithMoreGenerators(new NetworkFactoryImpl());
+        network.getGenerator("GEN").setTargetP(100);
+        network.getGenerator("GEN2").setTargetP(300);
+
+        FilterAggregationResult result = FilterServiceUtils.aggregate(generatorFilter, network, uuids -> List.of(),
+            List.of(FieldType.TARGET_P, FieldType.RATED_S));
+        assertEquals(2, result.equipmentCount());
+        assertEquals(new NumberFieldAggregation(2, 400, 100, 300, 200), result.aggregations().get(FieldType.TARGET_P));
+        // the generators have no rated S
+        assertEquals(0, result.aggregations().get(FieldType.RATED_S).count());
+        assertTrue(Double.isNaN(result.aggregations().get(FieldType.RATED_S).max()));
+    }
+
+    @Test
+    void testGroupByField() {
+        ExpertFilter generatorFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR,
+            CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                NumberExpertRule.builder().field(FieldType.MAX_P).operator(OperatorType.GREATER).value(0.).build())).build());
+        Network network = EurostagTutorialExample1Factory.createWithMoreGenerators(new NetworkFactoryImpl());
+
+        assertEquals(Map.of("VLGEN", List.of("GEN", "GEN2")),
+            FilterServiceUtils.groupIdentifiableIds(generatorFilter, network, uuids -> List.of(), FieldType.VOLTAGE_LEVEL_ID));
+        assertEquals(Map.of("FR", 2L),
+            FilterServiceUtils.countByGroup(generatorFilter, network, uuids -> List.of(), FieldType.COUNTRY));
+        // the grouping field is checked before scanning the equipments
+        assertThrows(IllegalArgumentException.class,
+            () -> FilterServiceUtils.groupIdentifiableIds(generatorFilter, network, uuids -> List.of(), FieldType.CONVERTERS_MODE));
+        assertThrows(IllegalArgumentException.class,
+            () -> FilterServiceUtils.countByGroup(generatorFilter, network, uuids -> List.of(), FieldType.CONVERTERS_MODE));
+    }
 }
@@ -6,26 +6,40 @@
  */
 package org.gridsuite.filter.utils;
 
+import com.powsybl.commons.PowsyblException;
 import com.powsybl.iidm.network.*;
 import com.powsybl.iidm.network.test.*;
 import org.apache.commons.collections4.CollectionUtils;
 import org.assertj.core.api.WithAssertions;
+import org.gridsuite.filter.AbstractFilter;
 import org.gridsuite.filter.FilterLoader;
+import org.gridsuite.filter.exception.FilterEvaluationCancelledException;
 import org.gridsuite.filter.expertfilter.ExpertFilter;
 import org.gridsuite.filter.expertfilter.expertrule.AbstractExpertRule;
 import org.gridsuite.filter.expertfilter.expertrule.CombinatorExpertRule;
+import org.gridsuite.filter.expertfilter.expertrule.NumberExpertRule;
 import org.gridsuite.filter.expertfilter.expertrule.StringExpertRule;
 import org.gridsuite.filter.identifierlistfilter.*;
 import org.gridsuite.filter.utils.expertfilter.CombinatorType;
+import org.gridsuite.filter.utils.expertfilter.EvaluationContext;
+import org.gridsuite.filter.utils.expertfilter.FieldType;
 import org.gridsuite.filter.utils.expertfilter.OperatorType;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.gridsuite.filter.utils.expertfilter.FieldType.ID;
 import static org.gridsuite.filter.utils.expertfilter.FieldType.NAME;
+import static org.gridsuite.filter.utils.expertfilter.FieldType.P0;
 import static org.gridsuite.filter.utils.expertfilter.OperatorType.IS;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
 
 /**
  * @author Franck Lecuyer <franck.lecuyer at rte-france.com>
@@ -518,6 +532,124 @@ class FiltersUtilsTest implements WithAssertions {
         assertEquals("GEN2", filteredIdentifiables.equipmentIds().get(1).getId());
     }
 
+    @Test
+    void testIdentifierListFilterIndex() {
+        IdentifierListFilter identifierListFilter = new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR, List.of(
+            new IdentifierListFilterEquipmentAttributes("GEN2", 10.),
+            new IdentifierListFilterEquipmentAttributes("notFound", 20.),
+            new IdentifierListFilterEquipmentAttributes("GEN", 30.),
+            new IdentifierListFilterEquipmentAttributes("GEN2", 40.)));
+
+        // the first entry of an equipment gives its distribution key
+        assertEquals(10., identifierListFilter.getDistributionKey("GEN2"), 0.001);
+        assertNull(identifierListFilter.getDistributionKey("GEN3"));
+        assertTrue(identifierListFilter.containsEquipment("notFound"));
+        assertFalse(identifierListFilter.containsEquipment("GEN3"));
+
+        // the equipments keep the order of the entries of the filter
+        FilterEquipments filterEquipments = identifierListFilter.toFilterEquipments(List.of(
+            new IdentifiableAttributes("GEN", IdentifiableType.GENERATOR, 50.),
+            new IdentifiableAttributes("GEN2", IdentifiableType.GENERATOR, 70.)));
+        assertEquals(List.of("GEN2", "GEN", "GEN2"), filterEquipments.getIdentifiableAttributes().stream().map(IdentifiableAttributes::getId).toList());
+        assertEquals(List.of("notFound"), filterEquipments.getNotFoundEquipments());
+
+        // the index follows the entries modified in place
+        List<IdentifierListFilterEquipmentAttributes> entries = new ArrayList<>(identifierListFilter.getFilterEquipmentsAttributes());
+        identifierListFilter.setFilterEquipmentsAttributes(entries);
+        entries.getFirst().setDistributionKey(15.);
+        assertEquals(15., identifierListFilter.getDistributionKey("GEN2"), 0.001);
+        entries.add(new IdentifierListFilterEquipmentAttributes("GEN3", 50.));
+        assertEquals(50., identifierListFilter.getDistributionKey("GEN3"), 0.001);
+        entries.remove(1);
+        assertFalse(identifierListFilter.containsEquipment("notFound"));
+        entries.get(1).setEquipmentID("GEN4");
+        assertFalse(identifierListFilter.containsEquipment("GEN"));
+        assertEquals(30., identifierListFilter.getDistributionKey("GEN4"), 0.001);
+
+        // the index follows the replacement of the entries
+        identifierListFilter.setFilterEquipmentsAttributes(List.of(new IdentifierListFilterEquipmentAttributes("GEN3", 60.)));
+        assertEquals(60., identifierListFilter.getDistributionKey("GEN3"), 0.001);
+        assertFalse(identifierListFilter.containsEquipment("GEN2"));
+    }
+
+    @Test
+    void testCompactIdentifierListFilter() {
+        final Network network = prepareNetwork();
+        List<IdentifierListFilterEquipmentAttributes> filterEquipmentAttributes = new ArrayList<>();
+        filterEquipmentAttributes.add(new IdentifierListFilterEquipmentAttributes("GEN2", null));
+        for (int i = 0; i < CompactEquipmentAttributesList.COMPACT_THRESHOLD; i++) {
+            filterEquipmentAttributes.add(new IdentifierListFilterEquipmentAttributes("notFound" + i, (double) i));
+        }
+        filterEquipmentAttributes.add(new IdentifierListFilterEquipmentAttributes("GEN", 30.));
+        filterEquipmentAttributes.add(new IdentifierListFilterEquipmentAttributes("GEN2", 40.));
+
+        IdentifierListFilter identifierListFilter = IdentifierListFilter.builder()
+            .id(UUID.randomUUID())
+            .equipmentType(EquipmentType.GENERATOR)
+            .filterEquipmentsAttributes(filterEquipmentAttributes)
+            .build();
+        List<IdentifierListFilterEquipmentAttributes> compactList = identifierListFilter.getFilterEquipmentsAttributes();
+        assertInstanceOf(CompactEquipmentAttributesList.class, compactList);
+        assertEquals(filterEquipmentAttributes.size(), compactList.size());
+        assertEquals(filterEquipmentAttributes.stream().map(IdentifierListFilterEquipmentAttributes::getEquipmentID).toList(),
+            identifierListFilter.getEquipmentIds());
+
+        // the first entry of an equipment gives its distribution key
+        assertNull(identifierListFilter.getDistributionKey("GEN2"));
+        assertEquals(30., identifierListFilter.getDistributionKey("GEN"), 0.001);
+        assertEquals(42., identifierListFilter.getDistributionKey("notFound42"), 0.001);
+        assertTrue(identifierListFilter.containsEquipment("notFound0"));
+        assertFalse(identifierListFilter.containsEquipment("GEN3"));
+
+        assertThat(FiltersUtils.getIdentifiables(identifierListFilter, network, filterLoader)).extracting(Identifiable::getId)
+            .containsExactly("GEN", "GEN2");
+        FilterEquipments filterEquipments = identifierListFilter.toFilterEquipments(List.of(
+            new IdentifiableAttributes("GEN", IdentifiableType.GENERATOR, 50.),
+            new IdentifiableAttributes("GEN2", IdentifiableType.GENERATOR, 70.)));
+        assertThat(filterEquipments.getIdentifiableAttributes()).extracting(IdentifiableAttributes::getId).containsExactly("GEN2", "GEN", "GEN2");
+        assertEquals(CompactEquipmentAttributesList.COMPACT_THRESHOLD, filterEquipments.getNotFoundEquipments().size());
+
+        // the entries are read without being created, and the same entries give equal filters
+        assertTrue(((CompactEquipmentAttributesList) compactList).isCompact());
+        assertEquals(compactList, CompactEquipmentAttributesList.of(filterEquipmentAttributes));
+        assertEquals(compactList.hashCode(), CompactEquipmentAttributesList.of(filterEquipmentAttributes).hashCode());
+        assertEquals(identifierListFilter, new IdentifierListFilter(identifierListFilter.getId(), null, EquipmentType.GENERATOR, filterEquipmentAttributes));
+
+        // the small lists are not compacted
+        identifierListFilter.setFilterEquipmentsAttributes(filterEquipmentAttributes.subList(0, 3));
+        assertFalse(identifierListFilter.getFilterEquipmentsAttributes() instanceof CompactEquipmentAttributesList);
+        assertNull(identifierListFilter.getDistributionKey("GEN2"));
+    }
+
+    @Test
+    void testIdentifierListFilterAroundCompactThreshold() {
+        for (int size : new int[] {CompactEquipmentAttributesList.COMPACT_THRESHOLD - 1, CompactEquipmentAttributesList.COMPACT_THRESHOLD}) {
+            List<IdentifierListFilterEquipmentAttributes> filterEquipmentAttributes = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                filterEquipmentAttributes.add(new IdentifierListFilterEquipmentAttributes("GEN" + i, i % 2 == 0 ? (double) i : null));
+            }
+            IdentifierListFilter identifierListFilter = new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR, filterEquipmentAttributes);
+            List<IdentifierListFilterEquipmentAttributes> entries = identifierListFilter.getFilterEquipmentsAttributes();
+            assertEquals(size >= CompactEquipmentAttributesList.COMPACT_THRESHOLD, entries instanceof CompactEquipmentAttributesList);
+            assertEquals(2., identifierListFilter.getDistributionKey("GEN2"), 0.001);
+
+            // the entries are modified in place whatever their number
+            entries.get(2).setDistributionKey(3.);
+            assertEquals(3., entries.get(2).getDistributionKey(), 0.001);
+            assertEquals(3., identifierListFilter.getDistributionKey("GEN2"), 0.001);
+            entries.add(new IdentifierListFilterEquipmentAttributes("GEN", 1.));
+            assertEquals(size + 1, entries.size());
+            assertEquals(1., identifierListFilter.getDistributionKey("GEN"), 0.001);
+            assertEquals("GEN", identifierListFilter.getEquipmentIds().getLast());
+            entries.remove(0);
+            assertFalse(identifierListFilter.containsEquipment("GEN0"));
+            assertNull(identifierListFilter.getDistributionKey("GEN1"));
+
+            // and written as they are
+            assertEquals(size, identifierListFilter.toFilterEquipments(List.of()).getNotFoundEquipments().size());
+        }
+    }
+
     @Test
     void testFilterLoader() {
         final Network network = prepareNetwork();
@@ -617,4 +749,412 @@ class FiltersUtilsTest implements WithAssertions {
                 List.of("item5")), false))
             .as("result").containsExactlyInAnyOrder("item1", "item2", "item3", "item4", "item5");
     }
+
+    private static Network prepareNetworkWithManyLoads(int loadCount) {
+        Network network = EurostagTutorialExample1Factory.create();
+        VoltageLevel vlLoad = network.getVoltageLevel("VLLOAD");
+        for (int i = 0; i < loadCount; i++) {
+            vlLoad.newLoad()
+                .setId("LOAD_" + i)
+                .setBus("NLOAD")
+                .setConnectableBus("NLOAD")
+                .setP0(i)
+                .setQ0(0)
+                .add();
+        }
+        return network;
+    }
+
+    @Test
+    void testParallelEvaluation() {
+        Network network = prepareNetworkWithManyLoads(1000);
+        ExpertFilter expertFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+            CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                NumberExpertRule.builder().field(P0).operator(OperatorType.GREATER_OR_EQUALS).value(500.).build())).build());
+        IdentifierListFilter identifierListFilter = new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+            List.of(new IdentifierListFilterEquipmentAttributes("LOAD_999", null),
+                new IdentifierListFilterEquipmentAttributes("LOAD_3", null),
+                new IdentifierListFilterEquipmentAttributes("LOAD", null)));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            FilterEvaluationOptions options = FilterEvaluationOptions.builder()
+                .parallel(true)
+                .forkJoinPool(pool)
+                .minimumEquipmentCount(0)
+                .build();
+
+            List<Identifiable<?>> sequential = FiltersUtils.getIdentifiables(expertFilter, network, filterLoader);
+            List<Identifiable<?>> parallel = FiltersUtils.getIdentifiables(expertFilter, network, filterLoader, options);
+            assertEquals(500, parallel.size());
+            // equipments are returned in the network order, whatever the evaluation order
+            assertEquals(sequential, parallel);
+
+            assertEquals(FiltersUtils.getIdentifiables(identifierListFilter, network, filterLoader),
+                FiltersUtils.getIdentifiables(identifierListFilter, network, filterLoader, options));
+
+            // below the thresholds, the equipments are evaluated sequentially
+            assertEquals(sequential, FiltersUtils.getIdentifiables(expertFilter, network, filterLoader,
+                options.toBuilder().minimumEquipmentCount(10_000).build()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelEvaluationOnWorkingVariant() {
+        Network network = prepareNetworkWithManyLoads(100);
+        network.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "variant");
+        network.getVariantManager().allowVariantMultiThreadAccess(true);
+        network.getVariantManager().setWorkingVariant("variant");
+        network.getLoad("LOAD_0").setP0(1000);
+        ExpertFilter expertFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+            CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                NumberExpertRule.builder().field(P0).operator(OperatorType.GREATER_OR_EQUALS).value(99.).build())).build());
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            FilterEvaluationOptions options = FilterEvaluationOptions.builder()
+                .parallel(true)
+                .forkJoinPool(pool)
+                .minimumEquipmentCount(0)
+                .build();
+            assertThat(FiltersUtils.getIdentifiables(expertFilter, network, filterLoader, options))
+                .extracting(Identifiable::getId)
+                .containsExactly("LOAD", "LOAD_0", "LOAD_99");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testCancelledEvaluation() {
+        Network network = prepareNetworkWithManyLoads(1000);
+        CancellationToken cancellationToken = new CancellationToken();
+        AtomicInteger evaluatedCount = new AtomicInteger();
+        AbstractExpertRule rule = mock(AbstractExpertRule.class);
+        when(rule.evaluateRule(any(Identifiable.class), any(EvaluationContext.class))).thenAnswer(invocation -> {
+            if (evaluatedCount.incrementAndGet() == 150) {
+                cancellationToken.cancel();
+            }
+            return true;
+        });
+        ExpertFilter expertFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD, rule);
+        FilterEvaluationOptions options = FilterEvaluationOptions.builder()
+            .cancellationToken(cancellationToken)
+            .cancellationCheckInterval(100)
+            .build();
+
+        // the token is checked every 100 equipments
+        FilterEvaluationCancelledException exception = assertThrows(FilterEvaluationCancelledException.class,
+            () -> FiltersUtils.getIdentifiables(expertFilter, network, filterLoader, options));
+        assertEquals(FilterEvaluationCancelledException.Reason.CANCELLED, exception.getReason());
+        assertEquals(199, evaluatedCount.get());
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            FilterEvaluationOptions parallelOptions = options.toBuilder()
+                .parallel(true)
+                .forkJoinPool(pool)
+                .minimumEquipmentCount(0)
+                .build();
+            assertThrows(FilterEvaluationCancelledException.class,
+                () -> FiltersUtils.getIdentifiables(expertFilter, network, filterLoader, parallelOptions));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testEvaluationDeadline() {
+        Network network = prepareNetwork();
+        ExpertFilter expertFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR,
+            StringExpertRule.builder().combinator(CombinatorType.AND).field(ID).operator(OperatorType.IS).value("GEN").build());
+
+        FilterEvaluationOptions expiredOptions = FilterEvaluationOptions.builder()
+            .deadline(Instant.now().minusSeconds(1))
+            .build();
+        FilterEvaluationCancelledException exception = assertThrows(FilterEvaluationCancelledException.class,
+            () -> FiltersUtils.getIdentifiables(expertFilter, network, filterLoader, expiredOptions));
+        assertEquals(FilterEvaluationCancelledException.Reason.DEADLINE_EXCEEDED, exception.getReason());
+
+        FilterEvaluationOptions options = FilterEvaluationOptions.builder()
+            .deadline(Instant.now().plusSeconds(3600))
+            .build();
+        assertThat(FiltersUtils.getIdentifiables(expertFilter, network, filterLoader, options))
+            .extracting(Identifiable::getId).containsExactly("GEN");
+    }
+
+    @Test
+    void testLimitedEvaluation() {
+        Network network = prepareNetworkWithManyLoads(1000);
+        ExpertFilter expertFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+            CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                NumberExpertRule.builder().field(P0).operator(OperatorType.GREATER_OR_EQUALS).value(500.).build())).build());
+
+        // LOAD (P0 = 600) then LOAD_500 to LOAD_508, the evaluation is sequential even if parallel is requested
+        FilterEvaluationResult<Identifiable<?>> result = FiltersUtils.evaluate(expertFilter, network, filterLoader,
+            FilterEvaluationOptions.builder().maxResults(10).parallel(true).minimumEquipmentCount(0).build());
+        assertThat(result.elements()).hasSize(10).first().extracting(Identifiable::getId).isEqualTo("LOAD");
+        assertEquals("LOAD_508", result.elements().getLast().getId());
+        assertEquals(510, result.scannedEquipmentCount());
+        assertTrue(result.truncated());
+
+        // all the matching equipments found before the end of the network
+        result = FiltersUtils.evaluate(expertFilter, network, filterLoader,
+            FilterEvaluationOptions.builder().maxResults(501).timeBudget(Duration.ofHours(1)).build());
+        assertEquals(501, result.elements().size());
+        assertEquals(1001, result.scannedEquipmentCount());
+        assertFalse(result.truncated());
+
+        result = FiltersUtils.evaluate(expertFilter, network, filterLoader,
+            FilterEvaluationOptions.builder().timeBudget(Duration.ofSeconds(-1)).build());
+        assertThat(result.elements()).isEmpty();
+        assertEquals(0, result.scannedEquipmentCount());
+        assertTrue(result.truncated());
+    }
+
+    @Test
+    void testStreamingEvaluation() {
+        Network network = prepareNetworkWithManyLoads(1000);
+        ExpertFilter expertFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+            CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                NumberExpertRule.builder().field(P0).operator(OperatorType.GREATER_OR_EQUALS).value(500.).build())).build());
+        List<Identifiable<?>> expected = FiltersUtils.getIdentifiables(expertFilter, network, filterLoader);
+
+        List<Identifiable<?>> matches = new ArrayList<>();
+        FiltersUtils.forEachMatch(expertFilter, network, filterLoader, matches::add);
+        assertEquals(expected, matches);
+
+        // the stream is lazy: only the equipments up to the third match are evaluated
+        AtomicInteger evaluatedCount = new AtomicInteger();
+        AbstractExpertRule rule = mock(AbstractExpertRule.class);
+        when(rule.evaluateRule(any(Identifiable.class), any(EvaluationContext.class))).thenAnswer(invocation -> {
+            evaluatedCount.incrementAndGet();
+            return true;
+        });
+        ExpertFilter countingFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD, rule);
+        assertThat(FiltersUtils.streamIdentifiables(countingFilter, network, filterLoader).limit(3))
+            .extracting(Identifiable::getId).containsExactly("LOAD", "LOAD_0", "LOAD_1");
+        assertEquals(3, evaluatedCount.get());
+    }
+
+    @Test
+    void testCountAndExists() {
+        Network network = prepareNetworkWithManyLoads(1000);
+        network.getLoad("LOAD_3").addAlias("LOAD_3_ALIAS");
+        ExpertFilter expertFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+            CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                NumberExpertRule.builder().field(P0).operator(OperatorType.GREATER_OR_EQUALS).value(500.).build())).build());
+        assertEquals(501, FiltersUtils.count(expertFilter, network, filterLoader));
+        assertTrue(FiltersUtils.exists(expertFilter, network, filterLoader));
+
+        ExpertFilter emptyFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+            CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                NumberExpertRule.builder().field(P0).operator(OperatorType.LOWER).value(0.).build())).build());
+        assertEquals(0, FiltersUtils.count(emptyFilter, network, filterLoader));
+        assertFalse(FiltersUtils.exists(emptyFilter, network, filterLoader));
+
+        // duplicated, unknown, alias and other equipment type IDs are not counted, like when scanning the network
+        IdentifierListFilter identifierListFilter = new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+            List.of(new IdentifierListFilterEquipmentAttributes("LOAD_1", null),
+                new IdentifierListFilterEquipmentAttributes("LOAD_1", null),
+                new IdentifierListFilterEquipmentAttributes("UNKNOWN", null),
+                new IdentifierListFilterEquipmentAttributes("LOAD_3_ALIAS", null),
+                new IdentifierListFilterEquipmentAttributes("GEN", null),
+                new IdentifierListFilterEquipmentAttributes("LOAD_2", null)));
+        assertEquals(FiltersUtils.getIdentifiables(identifierListFilter, network, filterLoader).size(),
+            FiltersUtils.count(identifierListFilter, network, filterLoader));
+        assertEquals(2, FiltersUtils.count(identifierListFilter, network, filterLoader));
+        assertTrue(FiltersUtils.exists(identifierListFilter, network, filterLoader));
+        assertFalse(FiltersUtils.exists(new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+            List.of(new IdentifierListFilterEquipmentAttributes("GEN", null))), network, filterLoader));
+    }
+
+    @Test
+    void testSharedScanEvaluation() {
+        Network network = prepareNetworkWithManyLoads(100);
+        List<AbstractFilter> filters = List.of(
+            new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+                CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                    NumberExpertRule.builder().field(P0).operator(OperatorType.GREATER_OR_EQUALS).value(50.).build())).build()),
+            new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.BUS,
+                StringExpertRule.builder().combinator(CombinatorType.AND).field(ID).operator(OperatorType.IS).value("NGEN").build()),
+            new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+                List.of(new IdentifierListFilterEquipmentAttributes("LOAD_7", null), new IdentifierListFilterEquipmentAttributes("LOAD", null))),
+            new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+                CombinatorExpertRule.builder().combinator(CombinatorType.OR).rules(List.of(
+                    NumberExpertRule.builder().field(P0).operator(OperatorType.LOWER).value(3.).build(),
+                    NumberExpertRule.builder().field(P0).operator(OperatorType.GREATER).value(98.).build())).build()),
+            new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR,
+                StringExpertRule.builder().combinator(CombinatorType.AND).field(ID).operator(OperatorType.IS).value("GEN").build()),
+            new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.BUS,
+                List.of(new IdentifierListFilterEquipmentAttributes("NGEN", null))));
+
+        List<List<Identifiable<?>>> results = FiltersUtils.getIdentifiables(filters, network, filterLoader);
+
+        assertEquals(filters.size(), results.size());
+        for (int i = 0; i < filters.size(); i++) {
+            assertEquals(FiltersUtils.getIdentifiables(filters.get(i), network, filterLoader), results.get(i));
+        }
+        assertThat(results.get(3)).extracting(Identifiable::getId).containsExactly("LOAD", "LOAD_0", "LOAD_1", "LOAD_2", "LOAD_99");
+        assertThat(results.get(5)).isEmpty();
+    }
+
+    @Test
+    void testEvaluationByVariant() {
+        Network network = prepareNetworkWithManyLoads(100);
+        VariantManager variantManager = network.getVariantManager();
+        variantManager.cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, List.of("variant1", "variant2"));
+        variantManager.setWorkingVariant("variant1");
+        network.getLoad("LOAD_0").setP0(1000);
+        variantManager.setWorkingVariant("variant2");
+        network.getLoad("LOAD_1").setP0(1000);
+        network.getLoad("LOAD_99").setP0(0);
+        variantManager.setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+        List<String> variantIds = List.of("variant2", VariantManagerConstants.INITIAL_VARIANT_ID, "variant1");
+        List<AbstractFilter> filters = List.of(
+            // a static part, on the ID, and a state part, on P0
+            new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+                CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                    StringExpertRule.builder().field(ID).operator(OperatorType.BEGINS_WITH).value("LOAD_").build(),
+                    CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                        StringExpertRule.builder().field(ID).operator(OperatorType.CONTAINS).value("9").build(),
+                        NumberExpertRule.builder().field(P0).operator(OperatorType.GREATER_OR_EQUALS).value(90.).build())).build(),
+                    NumberExpertRule.builder().field(P0).operator(OperatorType.LOWER).value(100.).build())).build()),
+            new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+                CombinatorExpertRule.builder().combinator(CombinatorType.OR).rules(List.of(
+                    StringExpertRule.builder().field(ID).operator(OperatorType.IS).value("LOAD").build(),
+                    NumberExpertRule.builder().field(P0).operator(OperatorType.GREATER).value(500.).build())).build()),
+            new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+                StringExpertRule.builder().field(ID).operator(OperatorType.ENDS_WITH).value("_7").build()),
+            new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+                List.of(new IdentifierListFilterEquipmentAttributes("LOAD_7", null))),
+            new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.BUS,
+                StringExpertRule.builder().field(ID).operator(OperatorType.IS).value("NGEN").build()));
+
+        for (AbstractFilter filter : filters) {
+            Map<String, List<Identifiable<?>>> results = FiltersUtils.getIdentifiablesByVariant(filter, network, filterLoader, variantIds);
+
+            assertEquals(VariantManagerConstants.INITIAL_VARIANT_ID, variantManager.getWorkingVariantId());
+            assertEquals(variantIds, List.copyOf(results.keySet()));
+            for (String variantId : variantIds) {
+                variantManager.setWorkingVariant(variantId);
+                assertEquals(FiltersUtils.getIdentifiables(filter, network, filterLoader), results.get(variantId), variantId);
+            }
+            variantManager.setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+        }
+        assertThat(FiltersUtils.getIdentifiablesByVariant(filters.getFirst(), network, filterLoader, variantIds))
+            .extractingByKeys(variantIds.toArray(String[]::new))
+            .map(identifiables -> identifiables.stream().map(Identifiable::getId).toList())
+            .containsExactly(List.of("LOAD_90", "LOAD_91", "LOAD_92", "LOAD_93", "LOAD_94", "LOAD_95", "LOAD_96", "LOAD_97", "LOAD_98"),
+                List.of("LOAD_90", "LOAD_91", "LOAD_92", "LOAD_93", "LOAD_94", "LOAD_95", "LOAD_96", "LOAD_97", "LOAD_98", "LOAD_99"),
+                List.of("LOAD_90", "LOAD_91", "LOAD_92", "LOAD_93", "LOAD_94", "LOAD_95", "LOAD_96", "LOAD_97", "LOAD_98", "LOAD_99"));
+
+        List<String> unknownVariantIds = List.of("unknown");
+        assertThrows(PowsyblException.class, () -> FiltersUtils.getIdentifiablesByVariant(filters.getFirst(), network, filterLoader, unknownVariantIds));
+        assertEquals(VariantManagerConstants.INITIAL_VARIANT_ID, variantManager.getWorkingVariantId());
+    }
+
+    @Test
+    void testDiffBetweenVariants() {
+        Network network = prepareNetworkWithManyLoads(100);
+        VariantManager variantManager = network.getVariantManager();
+        variantManager.cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "variant");
+        variantManager.setWorkingVariant("variant");
+        network.getLoad("LOAD_0").setP0(1000);
+        network.getLoad("LOAD_99").setP0(0);
+        network.getLoad("LOAD_95").setQ0(10);
+        variantManager.setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+        ExpertFilter expertFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+            CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                StringExpertRule.builder().field(ID).operator(OperatorType.BEGINS_WITH).value("LOAD_").build(),
+                NumberExpertRule.builder().field(P0).operator(OperatorType.GREATER_OR_EQUALS).value(90.).build())).build());
+
+        FilterResultDiff diff = FiltersUtils.diff(expertFilter, network, filterLoader, VariantManagerConstants.INITIAL_VARIANT_ID, "variant");
+        assertEquals(new FilterResultDiff(Set.of("LOAD_0"), Set.of("LOAD_99")), diff);
+        assertEquals(new FilterResultDiff(Set.of("LOAD_99"), Set.of("LOAD_0")),
+            FiltersUtils.diff(expertFilter, network, filterLoader, "variant", VariantManagerConstants.INITIAL_VARIANT_ID));
+        assertTrue(FiltersUtils.diff(expertFilter, network, filterLoader, "variant", "variant").isEmpty());
+        assertEquals(VariantManagerConstants.INITIAL_VARIANT_ID, variantManager.getWorkingVariantId());
+
+        // static filters and identifier lists don't change between variants
+        ExpertFilter staticFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+            StringExpertRule.builder().field(ID).operator(OperatorType.ENDS_WITH).value("9").build());
+        IdentifierListFilter identifierListFilter = new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD,
+            List.of(new IdentifierListFilterEquipmentAttributes("LOAD_0", null)));
+        ExpertFilter busFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.BUS,
+            StringExpertRule.builder().field(ID).operator(OperatorType.IS).value("NGEN").build());
+        for (AbstractFilter filter : List.of(staticFilter, identifierListFilter, busFilter)) {
+            assertTrue(FiltersUtils.diff(filter, network, filterLoader, VariantManagerConstants.INITIAL_VARIANT_ID, "variant").isEmpty());
+        }
+
+        assertThrows(PowsyblException.class, () -> FiltersUtils.diff(expertFilter, network, filterLoader, "unknown", "variant"));
+        assertEquals(VariantManagerConstants.INITIAL_VARIANT_ID, variantManager.getWorkingVariantId());
+    }
+
+    @Test
+    void testBusFilterPrunesVoltageLevels() {
+        Network network = EurostagTutorialExample1Factory.create();
+        ExpertFilter expertFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.BUS,
+            CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                NumberExpertRule.builder().field(FieldType.NOMINAL_VOLTAGE).operator(OperatorType.GREATER).value(100.).build(),
+                CombinatorExpertRule.builder().combinator(CombinatorType.OR).rules(List.of(
+                    StringExpertRule.builder().field(ID).operator(OperatorType.IS).value("NHV1").build(),
+                    StringExpertRule.builder().field(ID).operator(OperatorType.IS).value("NLOAD").build())).build())).build());
+
+        try (BusTopologyCache busTopologyCache = spy(new BusTopologyCache(network))) {
+            FilterEvaluationOptions options = FilterEvaluationOptions.builder().busTopologyCache(busTopologyCache).build();
+            List<Identifiable<?>> identifiables = FiltersUtils.getIdentifiables(expertFilter, network, filterLoader, options);
+
+            assertThat(identifiables).extracting(Identifiable::getId).containsExactly("NHV1", "NLOAD");
+            assertEquals(FiltersUtils.getIdentifiables(expertFilter, network, filterLoader), identifiables);
+            // the buses of the voltage level below 100 kV are not computed
+            verify(busTopologyCache, times(3)).getBuses(any());
+            verify(busTopologyCache, never()).getBuses(argThat(voltageLevel -> voltageLevel.getId().equals("VLGEN")));
+
+            // the buses are only computed again after a modification of the topology
+            VoltageLevel vlLoad = network.getVoltageLevel("VLLOAD");
+            List<Bus> buses = busTopologyCache.getBuses(vlLoad);
+            assertSame(buses, busTopologyCache.getBuses(vlLoad));
+            network.getLoad("LOAD").setP0(100);
+            assertSame(buses, busTopologyCache.getBuses(vlLoad));
+            network.getLoad("LOAD").getTerminal().disconnect();
+            assertNotSame(buses, busTopologyCache.getBuses(vlLoad));
+            assertEquals(buses, busTopologyCache.getBuses(vlLoad));
+            buses = busTopologyCache.getBuses(vlLoad);
+            busTopologyCache.invalidate();
+            assertNotSame(buses, busTopologyCache.getBuses(vlLoad));
+        }
+    }
+
+    @Test
+    void testParallelBusEvaluation() {
+        Network network = FourSubstationsNodeBreakerFactory.create();
+        network.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "variant");
+        network.getVariantManager().allowVariantMultiThreadAccess(true);
+        network.getVariantManager().setWorkingVariant("variant");
+        network.getSwitch("S1VL2_COUPLER").setOpen(true);
+        ExpertFilter expertFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.BUS,
+            CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                NumberExpertRule.builder().field(FieldType.NOMINAL_VOLTAGE).operator(OperatorType.GREATER).value(0.).build())).build());
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            FilterEvaluationOptions options = FilterEvaluationOptions.builder()
+                .parallel(true)
+                .forkJoinPool(pool)
+                .minimumVoltageLevelCount(0)
+                .build();
+            List<Identifiable<?>> sequential = FiltersUtils.getIdentifiables(expertFilter, network, filterLoader);
+            FilterEvaluationResult<Identifiable<?>> parallel = FiltersUtils.evaluate(expertFilter, network, filterLoader, options);
+
+            // buses are returned in the voltage level order, computed on the working variant of each thread
+            assertEquals(sequential, parallel.elements());
+            assertEquals(sequential.size(), parallel.scannedEquipmentCount());
+            assertFalse(sequential.isEmpty());
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
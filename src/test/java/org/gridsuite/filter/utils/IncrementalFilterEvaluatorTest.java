@@ -0,0 +1,265 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import com.powsybl.iidm.network.*;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import org.gridsuite.filter.AbstractFilter;
+import org.gridsuite.filter.FilterLoader;
+import org.gridsuite.filter.expertfilter.ExpertFilter;
+import org.gridsuite.filter.expertfilter.expertrule.*;
+import org.gridsuite.filter.identifierlistfilter.IdentifierListFilter;
+import org.gridsuite.filter.identifierlistfilter.IdentifierListFilterEquipmentAttributes;
+import org.gridsuite.filter.utils.expertfilter.CombinatorType;
+import org.gridsuite.filter.utils.expertfilter.FieldType;
+import org.gridsuite.filter.utils.expertfilter.OperatorType;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author agent <agent at local>
+ */
+class IncrementalFilterEvaluatorTest {
+
+    private static final String VARIANT_ID = "variant";
+
+    private final Map<UUID, AbstractFilter> filters = new HashMap<>();
+    private final FilterLoader filterLoader = uuids -> uuids.stream().map(filters::get).filter(Objects::nonNull).toList();
+
+    private static Network createNetwork() {
+        Network network = EurostagTutorialExample1Factory.create();
+        for (int i = 0; i < 20; i++) {
+            createLoad(network, "LOAD_" + i, i % 2 == 0 ? "VLLOAD" : "VLGEN", i * 5.);
+        }
+        network.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, VARIANT_ID);
+        return network;
+    }
+
+    private static void createLoad(Network network, String id, String voltageLevelId, double p0) {
+        String busId = "VLLOAD".equals(voltageLevelId) ? "NLOAD" : "NGEN";
+        network.getVoltageLevel(voltageLevelId).newLoad()
+            .setId(id)
+            .setBus(busId)
+            .setConnectableBus(busId)
+            .setP0(p0)
+            .setQ0(0)
+            .add();
+    }
+
+    private static ExpertFilter createExpertFilter(EquipmentType equipmentType, AbstractExpertRule rule) {
+        return new ExpertFilter(UUID.randomUUID(), new Date(), equipmentType, rule);
+    }
+
+    private static AbstractExpertRule and(AbstractExpertRule... rules) {
+        return CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(rules)).build();
+    }
+
+    private static AbstractExpertRule or(AbstractExpertRule... rules) {
+        return CombinatorExpertRule.builder().combinator(CombinatorType.OR).rules(List.of(rules)).build();
+    }
+
+    private static AbstractExpertRule number(FieldType field, OperatorType operator, double value) {
+        return NumberExpertRule.builder().field(field).operator(operator).value(value).build();
+    }
+
+    private static AbstractExpertRule property(FieldType field, String propertyName, String propertyValue) {
+        return PropertiesExpertRule.builder().field(field).operator(OperatorType.IN)
+            .propertyName(propertyName).propertyValues(List.of(propertyValue)).build();
+    }
+
+    private List<AbstractFilter> createFilters() {
+        ExpertFilter referencedFilter = createExpertFilter(EquipmentType.LOAD, and(number(FieldType.P0, OperatorType.GREATER_OR_EQUALS, 50.)));
+        filters.put(referencedFilter.getId(), referencedFilter);
+        return List.of(
+            referencedFilter,
+            createExpertFilter(EquipmentType.LOAD, and(property(FieldType.VOLTAGE_LEVEL_PROPERTIES, "zone", "A"))),
+            createExpertFilter(EquipmentType.LOAD, and(property(FieldType.SUBSTATION_PROPERTIES, "region", "north"),
+                number(FieldType.Q0, OperatorType.LOWER, 5.))),
+            createExpertFilter(EquipmentType.LOAD, and(
+                BooleanExpertRule.builder().field(FieldType.CONNECTED).operator(OperatorType.EQUALS).value(true).build())),
+            createExpertFilter(EquipmentType.LOAD, and(number(FieldType.NOMINAL_VOLTAGE, OperatorType.GREATER, 200.))),
+            createExpertFilter(EquipmentType.LOAD, or(
+                StringExpertRule.builder().field(FieldType.ID).operator(OperatorType.BEGINS_WITH).value("NEW").build(),
+                number(FieldType.P0, OperatorType.LOWER, 10.))),
+            createExpertFilter(EquipmentType.VOLTAGE_LEVEL, and(property(FieldType.FREE_PROPERTIES, "zone", "B"))),
+            createExpertFilter(EquipmentType.LOAD, and(FilterUuidExpertRule.builder().field(FieldType.ID).operator(OperatorType.IS_PART_OF)
+                .values(Set.of(referencedFilter.getId().toString())).build(), number(FieldType.Q0, OperatorType.GREATER_OR_EQUALS, 0.))),
+            createExpertFilter(EquipmentType.BUS, and(StringExpertRule.builder().field(FieldType.ID).operator(OperatorType.IS).value("NGEN").build())),
+            new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.LOAD, List.of(
+                new IdentifierListFilterEquipmentAttributes("LOAD_1", null),
+                new IdentifierListFilterEquipmentAttributes("NEW_3", null),
+                new IdentifierListFilterEquipmentAttributes("LOAD", null))));
+    }
+
+    private static void modifyRandomly(Network network, Random random, int step) {
+        List<Load> loads = network.getLoadStream().toList();
+        Load load = loads.get(random.nextInt(loads.size()));
+        VoltageLevel voltageLevel = random.nextBoolean() ? network.getVoltageLevel("VLLOAD") : network.getVoltageLevel("VLGEN");
+        switch (random.nextInt(10)) {
+            case 0 -> load.setP0(random.nextInt(100));
+            case 1 -> load.setQ0(random.nextInt(10));
+            case 2 -> {
+                if (random.nextBoolean()) {
+                    voltageLevel.setProperty("zone", random.nextBoolean() ? "A" : "B");
+                } else {
+                    voltageLevel.removeProperty("zone");
+                }
+            }
+            case 3 -> voltageLevel.getNullableSubstation().setProperty("region", random.nextBoolean() ? "north" : "south");
+            case 4 -> {
+                // a removed load may be created again with the same ID
+                String removedId = "LOAD_" + random.nextInt(20);
+                createLoad(network, network.getLoad(removedId) == null ? removedId : "NEW_" + step, voltageLevel.getId(), random.nextInt(100));
+            }
+            case 5 -> {
+                if (loads.size() > 1) {
+                    load.remove();
+                }
+            }
+            case 6 -> {
+                if (load.getTerminal().isConnected()) {
+                    load.getTerminal().disconnect();
+                } else {
+                    load.getTerminal().connect();
+                }
+            }
+            case 7 -> voltageLevel.setNominalV(random.nextBoolean() ? 150 : 380);
+            case 8 -> {
+                // modifications of another variant
+                network.getVariantManager().setWorkingVariant(VARIANT_ID);
+                load.setP0(random.nextInt(100));
+                network.getVariantManager().setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+            }
+            default -> load.setProperty("flag", String.valueOf(random.nextBoolean()));
+        }
+    }
+
+    @Test
+    void testRandomModifications() {
+        for (long seed = 0; seed < 10; seed++) {
+            Network network = createNetwork();
+            List<AbstractFilter> testedFilters = createFilters();
+            Random random = new Random(seed);
+            try (IncrementalFilterEvaluator evaluator = new IncrementalFilterEvaluator(network, filterLoader)) {
+                for (int step = 0; step < 200; step++) {
+                    modifyRandomly(network, random, step);
+                    if (random.nextInt(3) == 0) {
+                        for (AbstractFilter filter : testedFilters) {
+                            assertEquals(FiltersUtils.getIdentifiables(filter, network, filterLoader), evaluator.getIdentifiables(filter),
+                                "seed " + seed + ", step " + step + ", filter " + filter.getId());
+                        }
+                    }
+                }
+                // the results of the other variants are computed too
+                network.getVariantManager().setWorkingVariant(VARIANT_ID);
+                for (AbstractFilter filter : testedFilters) {
+                    assertEquals(FiltersUtils.getIdentifiables(filter, network, filterLoader), evaluator.getIdentifiables(filter));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testOnlyModifiedEquipmentsAreEvaluated() {
+        Network network = createNetwork();
+        ExpertFilter stateFilter = createExpertFilter(EquipmentType.LOAD, and(number(FieldType.P0, OperatorType.GREATER_OR_EQUALS, 50.)));
+        ExpertFilter staticFilter = createExpertFilter(EquipmentType.LOAD, and(number(FieldType.NOMINAL_VOLTAGE, OperatorType.GREATER, 100.)));
+        try (IncrementalFilterEvaluator evaluator = new IncrementalFilterEvaluator(network, filterLoader)) {
+            assertThat(evaluator.getIdentifiables(stateFilter)).extracting(Identifiable::getId)
+                .containsExactly("LOAD", "LOAD_10", "LOAD_11", "LOAD_12", "LOAD_13", "LOAD_14", "LOAD_15", "LOAD_16", "LOAD_17", "LOAD_18", "LOAD_19");
+            assertThat(evaluator.getIdentifiables(staticFilter)).extracting(Identifiable::getId)
+                .containsExactly("LOAD", "LOAD_0", "LOAD_2", "LOAD_4", "LOAD_6", "LOAD_8", "LOAD_10", "LOAD_12", "LOAD_14", "LOAD_16", "LOAD_18");
+            assertEquals(42, evaluator.getEvaluatedEquipmentCount());
+
+            network.getLoad("LOAD_0").setP0(100);
+            network.getLoad("LOAD_19").setP0(0);
+            createLoad(network, "NEW", "VLGEN", 60);
+            assertThat(evaluator.getIdentifiables(stateFilter)).extracting(Identifiable::getId)
+                .containsExactly("LOAD", "LOAD_0", "LOAD_10", "LOAD_11", "LOAD_12", "LOAD_13", "LOAD_14", "LOAD_15", "LOAD_16", "LOAD_17", "LOAD_18", "NEW");
+            assertEquals(45, evaluator.getEvaluatedEquipmentCount());
+
+            // the set points don't change the result of a filter on static fields, only the created load is evaluated
+            assertEquals(FiltersUtils.getIdentifiables(staticFilter, network, filterLoader), evaluator.getIdentifiables(staticFilter));
+            assertEquals(46, evaluator.getEvaluatedEquipmentCount());
+
+            // the loads of a modified voltage level are evaluated again
+            network.getVoltageLevel("VLGEN").setNominalV(150);
+            List<Identifiable<?>> identifiables = evaluator.getIdentifiables(staticFilter);
+            assertEquals(FiltersUtils.getIdentifiables(staticFilter, network, filterLoader), identifiables);
+            assertThat(identifiables).hasSize(22);
+            assertEquals(57, evaluator.getEvaluatedEquipmentCount());
+        }
+    }
+
+    @Test
+    void testRemovedEquipmentCreatedAgain() {
+        Network network = createNetwork();
+        ExpertFilter filter = createExpertFilter(EquipmentType.LOAD, and(number(FieldType.P0, OperatorType.GREATER_OR_EQUALS, 0.)));
+        try (IncrementalFilterEvaluator evaluator = new IncrementalFilterEvaluator(network, filterLoader)) {
+            evaluator.getIdentifiables(filter);
+
+            network.getLoad("LOAD_0").remove();
+            createLoad(network, "NEW_0", "VLGEN", 10);
+            createLoad(network, "LOAD_0", "VLLOAD", 10);
+            createLoad(network, "NEW_1", "VLGEN", 10);
+            network.getLoad("LOAD_1").remove();
+            List<Identifiable<?>> identifiables = evaluator.getIdentifiables(filter);
+            assertEquals(FiltersUtils.getIdentifiables(filter, network, filterLoader), identifiables);
+            assertThat(identifiables).extracting(Identifiable::getId).endsWith("NEW_0", "LOAD_0", "NEW_1");
+        }
+    }
+
+    @Test
+    void testFilterModifiedInPlace() {
+        Network network = createNetwork();
+        NumberExpertRule rule = NumberExpertRule.builder().field(FieldType.P0).operator(OperatorType.LOWER).value(5.).build();
+        ExpertFilter filter = createExpertFilter(EquipmentType.LOAD, and(rule));
+        try (IncrementalFilterEvaluator evaluator = new IncrementalFilterEvaluator(network, filterLoader)) {
+            assertThat(evaluator.getIdentifiables(filter)).extracting(Identifiable::getId).containsExactly("LOAD_0");
+
+            rule.setValue(10.);
+            assertThat(evaluator.getIdentifiables(filter)).extracting(Identifiable::getId).containsExactly("LOAD_0", "LOAD_1");
+        }
+    }
+
+    @Test
+    void testIdentifierListFilterModifiedInPlace() {
+        Network network = createNetwork();
+        UUID filterId = UUID.randomUUID();
+        List<IdentifierListFilterEquipmentAttributes> entries = new ArrayList<>(List.of(new IdentifierListFilterEquipmentAttributes("LOAD_0", null)));
+        IdentifierListFilter filter = new IdentifierListFilter(filterId, null, EquipmentType.LOAD, entries);
+        try (IncrementalFilterEvaluator evaluator = new IncrementalFilterEvaluator(network, filterLoader)) {
+            assertThat(evaluator.getIdentifiables(filter)).extracting(Identifiable::getId).containsExactly("LOAD_0");
+
+            // a filter with the same entries gets the same result without evaluating anything
+            long evaluatedEquipmentCount = evaluator.getEvaluatedEquipmentCount();
+            IdentifierListFilter sameFilter = new IdentifierListFilter(filterId, null, EquipmentType.LOAD,
+                List.of(new IdentifierListFilterEquipmentAttributes("LOAD_0", null)));
+            assertThat(evaluator.getIdentifiables(sameFilter)).extracting(Identifiable::getId).containsExactly("LOAD_0");
+            assertEquals(evaluatedEquipmentCount, evaluator.getEvaluatedEquipmentCount());
+
+            entries.getFirst().setEquipmentID("LOAD_1");
+            assertThat(evaluator.getIdentifiables(filter)).extracting(Identifiable::getId).containsExactly("LOAD_1");
+            entries.add(new IdentifierListFilterEquipmentAttributes("LOAD_2", null));
+            assertThat(evaluator.getIdentifiables(filter)).extracting(Identifiable::getId).containsExactly("LOAD_1", "LOAD_2");
+        }
+    }
+
+    @Test
+    void testFilterWithoutId() {
+        Network network = createNetwork();
+        ExpertFilter filter = new ExpertFilter(null, new Date(), EquipmentType.LOAD, and(number(FieldType.P0, OperatorType.GREATER, 0.)));
+        try (IncrementalFilterEvaluator evaluator = new IncrementalFilterEvaluator(network, filterLoader)) {
+            assertThrows(IllegalArgumentException.class, () -> evaluator.getIdentifiables(filter));
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManager;
+import com.powsybl.iidm.network.VariantManagerConstants;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import org.gridsuite.filter.FilterLoader;
+import org.gridsuite.filter.expertfilter.ExpertFilter;
+import org.gridsuite.filter.expertfilter.expertrule.CombinatorExpertRule;
+import org.gridsuite.filter.expertfilter.expertrule.FilterUuidExpertRule;
+import org.gridsuite.filter.expertfilter.expertrule.NumberExpertRule;
+import org.gridsuite.filter.utils.expertfilter.CombinatorType;
+import org.gridsuite.filter.utils.expertfilter.FieldType;
+import org.gridsuite.filter.utils.expertfilter.OperatorType;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class MaterializedFilterViewRegistryTest {
+
+    private static final String VARIANT_ID = "variant";
+
+    private final FilterLoader filterLoader = uuids -> List.of();
+
+    private static Network createNetwork() {
+        Network network = EurostagTutorialExample1Factory.createWithMoreGenerators();
+        network.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, VARIANT_ID);
+        return network;
+    }
+
+    private static ExpertFilter createGeneratorFilter(double minTargetP) {
+        return new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR,
+            CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                NumberExpertRule.builder().field(FieldType.TARGET_P).operator(OperatorType.GREATER).value(minTargetP).build())).build());
+    }
+
+    @Test
+    void testViewsAreRefreshed() {
+        Network network = createNetwork();
+        VariantManager variantManager = network.getVariantManager();
+        ExpertFilter filter = createGeneratorFilter(100);
+        try (MaterializedFilterViewRegistry registry = new MaterializedFilterViewRegistry(network, filterLoader, 10, 1_000)) {
+            MaterializedFilterView initialView = registry.register(filter, VariantManagerConstants.INITIAL_VARIANT_ID);
+            MaterializedFilterView variantView = registry.register(filter, VARIANT_ID);
+            assertEquals(List.of("GEN", "GEN2"), List.copyOf(initialView.ids()));
+            assertEquals(1, initialView.version());
+            assertSame(initialView, registry.get(filter.getId(), VariantManagerConstants.INITIAL_VARIANT_ID));
+            assertEquals(4, registry.getIdentifiableCount());
+
+            variantManager.setWorkingVariant(VARIANT_ID);
+            network.getGenerator("GEN2").setTargetP(50);
+            // the snapshots are only replaced on refresh, the stale ones being no longer returned
+            assertTrue(registry.isStale(filter.getId(), VARIANT_ID));
+            assertNull(registry.get(filter.getId(), VARIANT_ID));
+            assertSame(variantView, registry.getLastPublished(filter.getId(), VARIANT_ID));
+            // the views of the other variants are still current
+            assertFalse(registry.isStale(filter.getId(), VariantManagerConstants.INITIAL_VARIANT_ID));
+            assertSame(initialView, registry.get(filter.getId(), VariantManagerConstants.INITIAL_VARIANT_ID));
+            registry.refresh();
+            assertFalse(registry.isStale(filter.getId(), VARIANT_ID));
+            assertEquals(VARIANT_ID, variantManager.getWorkingVariantId());
+
+            MaterializedFilterView refreshedView = registry.get(filter.getId(), VARIANT_ID);
+            assertEquals(2, refreshedView.version());
+            assertThat(refreshedView.identifiables()).containsExactly(network.getGenerator("GEN"));
+            assertTrue(refreshedView.contains("GEN"));
+            assertFalse(refreshedView.contains("GEN2"));
+            assertSame(initialView, registry.get(filter.getId(), VariantManagerConstants.INITIAL_VARIANT_ID));
+            assertEquals(3, registry.getIdentifiableCount());
+            assertThrows(UnsupportedOperationException.class, () -> refreshedView.identifiables().clear());
+
+            // the views of a removed variant are dropped
+            variantManager.setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+            variantManager.removeVariant(VARIANT_ID);
+            registry.refresh();
+            assertNull(registry.get(filter.getId(), VARIANT_ID));
+            assertEquals(1, registry.getViewCount());
+        }
+    }
+
+    @Test
+    void testLeastRecentlyUsedViewsAreDropped() {
+        Network network = createNetwork();
+        ExpertFilter filterA = createGeneratorFilter(100);
+        ExpertFilter filterB = createGeneratorFilter(200);
+        ExpertFilter filterC = createGeneratorFilter(0);
+        ExpertFilter emptyFilter = createGeneratorFilter(1_000);
+        try (MaterializedFilterViewRegistry registry = new MaterializedFilterViewRegistry(network, filterLoader, 3, 5)) {
+            registry.register(filterA, VariantManagerConstants.INITIAL_VARIANT_ID);
+            registry.register(filterB, VariantManagerConstants.INITIAL_VARIANT_ID);
+            assertNotNull(registry.get(filterA.getId(), VariantManagerConstants.INITIAL_VARIANT_ID));
+
+            // too many equipments
+            registry.register(filterC, VariantManagerConstants.INITIAL_VARIANT_ID);
+            assertNull(registry.get(filterB.getId(), VariantManagerConstants.INITIAL_VARIANT_ID));
+            assertEquals(2, registry.getViewCount());
+            assertEquals(4, registry.getIdentifiableCount());
+
+            // too many views
+            registry.register(emptyFilter, VariantManagerConstants.INITIAL_VARIANT_ID);
+            registry.register(filterB, VARIANT_ID);
+            assertNull(registry.get(filterA.getId(), VariantManagerConstants.INITIAL_VARIANT_ID));
+            assertNotNull(registry.get(filterC.getId(), VariantManagerConstants.INITIAL_VARIANT_ID));
+            assertNotNull(registry.get(emptyFilter.getId(), VariantManagerConstants.INITIAL_VARIANT_ID));
+            assertNotNull(registry.get(filterB.getId(), VARIANT_ID));
+            assertEquals(3, registry.getViewCount());
+            assertEquals(4, registry.getIdentifiableCount());
+
+            registry.unregister(filterC.getId(), VariantManagerConstants.INITIAL_VARIANT_ID);
+            assertEquals(2, registry.getViewCount());
+            assertEquals(2, registry.getIdentifiableCount());
+        }
+    }
+
+    @Test
+    void testStaleViewIsRefreshedOnRegistration() {
+        Network network = createNetwork();
+        ExpertFilter filter = createGeneratorFilter(100);
+        try (MaterializedFilterViewRegistry registry = new MaterializedFilterViewRegistry(network, filterLoader, 10, 1_000)) {
+            MaterializedFilterView view = registry.register(filter, VariantManagerConstants.INITIAL_VARIANT_ID);
+            assertSame(view, registry.register(filter, VariantManagerConstants.INITIAL_VARIANT_ID));
+
+            network.getGenerator("GEN2").setTargetP(50);
+            assertNull(registry.get(filter.getId(), VariantManagerConstants.INITIAL_VARIANT_ID));
+            MaterializedFilterView refreshedView = registry.register(filter, VariantManagerConstants.INITIAL_VARIANT_ID);
+            assertEquals(2, refreshedView.version());
+            assertEquals(Set.of("GEN"), refreshedView.ids());
+            assertSame(refreshedView, registry.get(filter.getId(), VariantManagerConstants.INITIAL_VARIANT_ID));
+        }
+    }
+
+    @Test
+    void testFilterModifiedInPlace() {
+        Network network = createNetwork();
+        ExpertFilter filter = createGeneratorFilter(100);
+        try (MaterializedFilterViewRegistry registry = new MaterializedFilterViewRegistry(network, filterLoader, 10, 1_000)) {
+            assertEquals(Set.of("GEN", "GEN2"), registry.register(filter, VariantManagerConstants.INITIAL_VARIANT_ID).ids());
+
+            filter.setRules(createGeneratorFilter(1_000).getRules());
+            assertEquals(Set.of(), registry.register(filter, VariantManagerConstants.INITIAL_VARIANT_ID).ids());
+            assertEquals(0, registry.getIdentifiableCount());
+        }
+    }
+
+    @Test
+    void testFailedRegistrationKeepsTheView() {
+        Network network = createNetwork();
+        ExpertFilter filter = createGeneratorFilter(100);
+        FilterLoader failingLoader = uuids -> {
+            throw new IllegalStateException("Filter server unavailable");
+        };
+        try (MaterializedFilterViewRegistry registry = new MaterializedFilterViewRegistry(network, failingLoader, 10, 1_000)) {
+            MaterializedFilterView view = registry.register(filter, VariantManagerConstants.INITIAL_VARIANT_ID);
+
+            filter.setRules(FilterUuidExpertRule.builder().field(FieldType.ID).operator(OperatorType.IS_PART_OF)
+                .values(Set.of(UUID.randomUUID().toString())).build());
+            assertThrows(IllegalStateException.class, () -> registry.register(filter, VariantManagerConstants.INITIAL_VARIANT_ID));
+            assertSame(view, registry.get(filter.getId(), VariantManagerConstants.INITIAL_VARIANT_ID));
+            assertEquals(2, registry.getIdentifiableCount());
+        }
+    }
+
+    @Test
+    void testViewIsASnapshot() {
+        Network network = createNetwork();
+        List<Identifiable<?>> identifiables = new ArrayList<>(List.of(network.getGenerator("GEN")));
+        Set<String> ids = new LinkedHashSet<>(Set.of("GEN"));
+        MaterializedFilterView view = new MaterializedFilterView(UUID.randomUUID(), VARIANT_ID, identifiables, ids, 1);
+        identifiables.add(network.getGenerator("GEN2"));
+        ids.add("GEN2");
+        assertEquals(1, view.size());
+        assertFalse(view.contains("GEN2"));
+    }
+}
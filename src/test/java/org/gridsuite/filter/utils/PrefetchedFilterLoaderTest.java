@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import org.gridsuite.filter.AbstractFilter;
+import org.gridsuite.filter.FilterLoader;
+import org.gridsuite.filter.expertfilter.ExpertFilter;
+import org.gridsuite.filter.expertfilter.expertrule.CombinatorExpertRule;
+import org.gridsuite.filter.expertfilter.expertrule.FilterUuidExpertRule;
+import org.gridsuite.filter.identifierlistfilter.IdentifierListFilter;
+import org.gridsuite.filter.identifierlistfilter.IdentifierListFilterEquipmentAttributes;
+import org.gridsuite.filter.utils.expertfilter.CombinatorType;
+import org.gridsuite.filter.utils.expertfilter.FieldType;
+import org.gridsuite.filter.utils.expertfilter.OperatorType;
+import org.gridsuite.filter.utils.expertfilter.PrefetchedFilterLoader;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author agent <agent at local>
+ */
+class PrefetchedFilterLoaderTest {
+
+    private static final UUID FILTER_A_UUID = UUID.fromString("aaaaaaaa-7977-4592-ba19-88027e4254e4");
+    private static final UUID FILTER_B_UUID = UUID.fromString("bbbbbbbb-7977-4592-ba19-88027e4254e4");
+    private static final UUID FILTER_C_UUID = UUID.fromString("cccccccc-7977-4592-ba19-88027e4254e4");
+    private static final UUID FILTER_D_UUID = UUID.fromString("dddddddd-7977-4592-ba19-88027e4254e4");
+    private static final UUID FILTER_E_UUID = UUID.fromString("eeeeeeee-7977-4592-ba19-88027e4254e4");
+    private static final UUID MISSING_FILTER_UUID = UUID.fromString("ffffffff-7977-4592-ba19-88027e4254e4");
+
+    private final Map<UUID, AbstractFilter> filters = new HashMap<>();
+    private final List<List<UUID>> loadedUuids = new ArrayList<>();
+    private final FilterLoader filterLoader = uuids -> {
+        loadedUuids.add(List.copyOf(uuids));
+        return uuids.stream().map(filters::get).filter(Objects::nonNull).toList();
+    };
+
+    private static ExpertFilter createExpertFilter(UUID uuid, UUID... referencedUuids) {
+        FilterUuidExpertRule rule = FilterUuidExpertRule.builder()
+            .field(FieldType.ID)
+            .operator(OperatorType.IS_PART_OF)
+            .values(Arrays.stream(referencedUuids).map(UUID::toString).collect(LinkedHashSet::new, Set::add, Set::addAll))
+            .build();
+        return new ExpertFilter(uuid, new Date(), EquipmentType.GENERATOR,
+            CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(rule)).build());
+    }
+
+    @Test
+    void testOneLoadPerDepth() {
+        ExpertFilter filterA = createExpertFilter(FILTER_A_UUID, FILTER_B_UUID, FILTER_C_UUID);
+        filters.put(FILTER_B_UUID, createExpertFilter(FILTER_B_UUID, FILTER_D_UUID));
+        filters.put(FILTER_C_UUID, createExpertFilter(FILTER_C_UUID, FILTER_D_UUID, FILTER_A_UUID));
+        filters.put(FILTER_D_UUID, createExpertFilter(FILTER_D_UUID, MISSING_FILTER_UUID));
+        filters.put(FILTER_E_UUID, createExpertFilter(FILTER_E_UUID, FILTER_B_UUID));
+
+        PrefetchedFilterLoader loader = PrefetchedFilterLoader.prefetch(filterA, filterLoader);
+        assertThat(loadedUuids).containsExactly(
+            List.of(FILTER_B_UUID, FILTER_C_UUID),
+            List.of(FILTER_D_UUID),
+            List.of(MISSING_FILTER_UUID));
+
+        // prefetched filters, including missing ones, are served from memory
+        assertThat(loader.getFilters(List.of(FILTER_D_UUID, MISSING_FILTER_UUID, FILTER_A_UUID, FILTER_B_UUID)))
+            .extracting(AbstractFilter::getId).containsExactly(FILTER_D_UUID, FILTER_A_UUID, FILTER_B_UUID);
+        assertThat(loadedUuids).hasSize(3);
+
+        // unknown filters are loaded with the filters they reference
+        assertThat(loader.getFilters(List.of(FILTER_E_UUID))).extracting(AbstractFilter::getId).containsExactly(FILTER_E_UUID);
+        assertThat(loadedUuids).hasSize(4).last().isEqualTo(List.of(FILTER_E_UUID));
+
+        assertSame(loader, PrefetchedFilterLoader.prefetch(filterA, loader));
+        assertThat(loadedUuids).hasSize(4);
+    }
+
+    @Test
+    void testNullLoaderResult() {
+        ExpertFilter filterA = createExpertFilter(FILTER_A_UUID, FILTER_B_UUID);
+        PrefetchedFilterLoader loader = PrefetchedFilterLoader.prefetch(filterA, uuids -> null);
+        assertThat(loader.getFilters(List.of(FILTER_B_UUID))).isEmpty();
+    }
+
+    @Test
+    void testGetIdentifiablesLoadsReferencedFiltersOnce() {
+        Network network = EurostagTutorialExample1Factory.createWithMoreGenerators();
+        filters.put(FILTER_B_UUID, new IdentifierListFilter(FILTER_B_UUID, new Date(), EquipmentType.GENERATOR,
+            List.of(new IdentifierListFilterEquipmentAttributes("GEN2", null))));
+        ExpertFilter filterA = createExpertFilter(FILTER_A_UUID, FILTER_B_UUID);
+
+        List<Identifiable<?>> identifiables = FiltersUtils.getIdentifiables(filterA, network, filterLoader);
+
+        assertThat(identifiables).extracting(Identifiable::getId).containsExactly("GEN2");
+        assertThat(loadedUuids).containsExactly(List.of(FILTER_B_UUID));
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class TopKSelectorTest {
+
+    private static List<String> select(int k, SortDirection direction, double... values) {
+        TopKSelector<String> selector = new TopKSelector<>(k, direction);
+        for (int i = 0; i < values.length; i++) {
+            selector.offer("e" + i, values[i]);
+        }
+        return selector.drain((element, value) -> element + "=" + value);
+    }
+
+    @Test
+    void testSelection() {
+        assertEquals(List.of("e3=9.0", "e1=7.0", "e4=5.0"), select(3, SortDirection.DESCENDING, 1, 7, 3, 9, 5, Double.NaN, 2));
+        assertEquals(List.of("e0=1.0", "e6=2.0"), select(2, SortDirection.ASCENDING, 1, 7, 3, 9, 5, Double.NaN, 2));
+        // the first offered element wins ties
+        assertEquals(List.of("e1=4.0", "e2=4.0"), select(2, SortDirection.DESCENDING, 1, 4, 4, 4));
+        assertEquals(List.of("e0=1.0"), select(5, SortDirection.DESCENDING, 1));
+        assertEquals(List.of(), select(0, SortDirection.DESCENDING, 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> new TopKSelector<String>(-1, SortDirection.ASCENDING));
+    }
+
+    @Test
+    void testSelectionMatchesSort() {
+        Random random = new Random(42);
+        double[] values = IntStream.range(0, 10_000).mapToDouble(i -> random.nextInt(1_000)).toArray();
+        List<String> expected = IntStream.range(0, values.length).boxed()
+            .sorted(Comparator.<Integer>comparingDouble(i -> values[i]).reversed().thenComparing(Comparator.naturalOrder()))
+            .limit(50)
+            .map(i -> "e" + i + "=" + values[i])
+            .toList();
+        assertEquals(expected, select(50, SortDirection.DESCENDING, values));
+    }
+}
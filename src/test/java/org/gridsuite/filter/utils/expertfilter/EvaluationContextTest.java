@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils.expertfilter;
+
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.IdentifiableType;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import org.gridsuite.filter.FilterLoader;
+import org.gridsuite.filter.exception.FilterEvaluationCancelledException;
+import org.gridsuite.filter.expertfilter.expertrule.AbstractExpertRule;
+import org.gridsuite.filter.expertfilter.expertrule.StringExpertRule;
+import org.gridsuite.filter.identifierlistfilter.FilterEquipments;
+import org.gridsuite.filter.identifierlistfilter.IdentifiableAttributes;
+import org.gridsuite.filter.utils.CancellationToken;
+import org.gridsuite.filter.utils.FilterEvaluationOptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class EvaluationContextTest {
+
+    private static final UUID FILTER_UUID = UUID.fromString("11111111-7977-4592-ba19-88027e4254e4");
+
+    private final FilterLoader filterLoader = uuids -> List.of();
+
+    private static FilterEquipments createFilterEquipments(String... ids) {
+        return new FilterEquipments(FILTER_UUID,
+            Arrays.stream(ids).map(id -> new IdentifiableAttributes(id, IdentifiableType.GENERATOR, null)).toList(),
+            List.of());
+    }
+
+    @Test
+    void testReferencedFilterComputedOnce() throws Exception {
+        EvaluationContext context = new EvaluationContext(filterLoader);
+        AtomicInteger computationCount = new AtomicInteger();
+        CountDownLatch computationStarted = new CountDownLatch(1);
+        CountDownLatch releaseComputation = new CountDownLatch(1);
+        Function<UUID, FilterEquipments> computation = uuid -> {
+            computationCount.incrementAndGet();
+            computationStarted.countDown();
+            try {
+                assertTrue(releaseComputation.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return createFilterEquipments("GEN");
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<FilterEquipments>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> context.getReferencedFilterEquipments(FILTER_UUID, computation)));
+            assertTrue(computationStarted.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                futures.add(executor.submit(() -> context.getReferencedFilterEquipments(FILTER_UUID, computation)));
+            }
+            releaseComputation.countDown();
+            FilterEquipments first = futures.getFirst().get();
+            for (Future<FilterEquipments> future : futures) {
+                assertSame(first, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, computationCount.get());
+        assertEquals(1, context.getReferencedFilterEvaluationCount());
+        assertEquals(3, context.getReferencedFilterHitCount());
+        assertEquals(Set.of("GEN"), context.getReferencedFilterIds(FILTER_UUID, computation));
+    }
+
+    @Test
+    void testFailedComputationIsNotKept() {
+        EvaluationContext context = new EvaluationContext(filterLoader);
+        Function<UUID, FilterEquipments> failingComputation = uuid -> {
+            throw new IllegalStateException("Filter server unavailable");
+        };
+        assertThrows(IllegalStateException.class, () -> context.getReferencedFilterEquipments(FILTER_UUID, failingComputation));
+
+        assertNull(context.getReferencedFilterEquipments(FILTER_UUID, uuid -> null));
+        assertThat(context.getReferencedFilterIds(FILTER_UUID, failingComputation)).isEmpty();
+        assertEquals(2, context.getReferencedFilterEvaluationCount());
+    }
+
+    @Test
+    void testLegacyCache() {
+        Map<UUID, FilterEquipments> cachedUuidFilters = new HashMap<>();
+        EvaluationContext context = EvaluationContext.of(filterLoader, cachedUuidFilters);
+        FilterEquipments filterEquipments = createFilterEquipments("GEN", "GEN2");
+
+        assertSame(filterEquipments, context.getReferencedFilterEquipments(FILTER_UUID, uuid -> filterEquipments));
+        assertSame(filterEquipments, cachedUuidFilters.get(FILTER_UUID));
+        assertEquals(Set.of("GEN", "GEN2"), EvaluationContext.of(filterLoader, cachedUuidFilters)
+            .getReferencedFilterIds(FILTER_UUID, uuid -> fail("Filter should be cached")));
+    }
+
+    @Test
+    void testRuleImplementingTheLegacyMethod() {
+        Network network = EurostagTutorialExample1Factory.create();
+        List<Map<UUID, FilterEquipments>> receivedCaches = new ArrayList<>();
+        AbstractExpertRule rule = new AbstractExpertRule() {
+            @Override
+            public boolean evaluateRule(Identifiable<?> identifiable, FilterLoader loader, Map<UUID, FilterEquipments> cachedUuidFilters) {
+                assertSame(filterLoader, loader);
+                receivedCaches.add(cachedUuidFilters);
+                return "GEN".equals(identifiable.getId());
+            }
+
+            @Override
+            public DataType getDataType() {
+                return DataType.STRING;
+            }
+
+            @Override
+            public String getStringValue() {
+                return null;
+            }
+        };
+
+        Map<UUID, FilterEquipments> cachedUuidFilters = new HashMap<>();
+        assertTrue(rule.evaluateRule(network.getGenerator("GEN"), EvaluationContext.of(filterLoader, cachedUuidFilters)));
+        assertSame(cachedUuidFilters, receivedCaches.getFirst());
+
+        // the evaluations with the same context share the cache
+        EvaluationContext context = new EvaluationContext(filterLoader);
+        assertTrue(context.evaluate(rule, network.getGenerator("GEN")));
+        assertFalse(context.evaluate(rule, network.getLoad("LOAD")));
+        assertSame(receivedCaches.get(1), receivedCaches.get(2));
+        assertSame(context.getCachedUuidFilters(), receivedCaches.get(1));
+    }
+
+    @Test
+    void testCancellation() {
+        Network network = EurostagTutorialExample1Factory.create();
+        EvaluationContext context = new EvaluationContext(filterLoader);
+        StringExpertRule rule = StringExpertRule.builder().field(FieldType.ID).operator(OperatorType.IS).value("GEN").build();
+
+        assertTrue(context.evaluate(rule, network.getGenerator("GEN")));
+        assertEquals(1, context.getEvaluatedEquipmentCount());
+
+        context.cancel();
+        assertTrue(context.isCancelled());
+        assertThrows(CancellationException.class, () -> context.evaluate(rule, network.getGenerator("GEN")));
+        assertThrows(CancellationException.class, () -> context.getReferencedFilterEquipments(FILTER_UUID, uuid -> null));
+    }
+
+    @Test
+    void testCancellationToken() {
+        CancellationToken cancellationToken = new CancellationToken();
+        EvaluationContext context = new EvaluationContext(filterLoader,
+            FilterEvaluationOptions.builder().cancellationToken(cancellationToken).build());
+        Function<UUID, FilterEquipments> computation = uuid -> {
+            cancellationToken.cancel();
+            return createFilterEquipments("GEN");
+        };
+
+        // the token is checked before each referenced filter, a cancelled computation is not kept
+        assertSame(context.getReferencedFilterEquipments(FILTER_UUID, computation), context.getReferencedFilterEquipments(FILTER_UUID, computation));
+        UUID otherUuid = UUID.randomUUID();
+        assertThrows(FilterEvaluationCancelledException.class, () -> context.getReferencedFilterEquipments(otherUuid, computation));
+        assertEquals(1, context.getReferencedFilterEvaluationCount());
+        assertThrows(FilterEvaluationCancelledException.class, () -> context.getReferencedFilterEquipments(otherUuid, computation));
+    }
+
+    @Test
+    void testAttributes() {
+        EvaluationContext context = new EvaluationContext(filterLoader);
+        assertNull(context.getAttribute("ids"));
+        Set<String> ids = context.computeAttributeIfAbsent("ids", name -> new HashSet<>(Set.of("GEN")));
+        assertSame(ids, context.computeAttributeIfAbsent("ids", name -> fail("Attribute should be kept")));
+        context.setAttribute("count", 2);
+        assertEquals(2, (int) context.getAttribute("count"));
+    }
+
+    @Test
+    void testIgnoreCaseMembershipSet() {
+        EvaluationContext context = new EvaluationContext(filterLoader, FilterEvaluationOptions.builder().bloomFilterMinimumSize(2).build());
+        Set<String> values = new HashSet<>(Set.of("GEN", "gen2"));
+        MembershipSet membershipSet = context.getIgnoreCaseMembershipSet(values);
+        assertTrue(membershipSet.hasBloomFilter());
+        assertTrue(membershipSet.contains("Gen2"));
+        assertFalse(membershipSet.contains("LOAD"));
+        assertSame(membershipSet, context.getIgnoreCaseMembershipSet(values));
+        // the sets are kept by the identity of the values
+        assertNotSame(membershipSet, context.getIgnoreCaseMembershipSet(new HashSet<>(values)));
+
+        assertNull(EvaluationContext.of(filterLoader, new HashMap<>()).getIgnoreCaseMembershipSet(values));
+    }
+
+    @Test
+    void testSmallInRuleScansTheValues() {
+        Network network = EurostagTutorialExample1Factory.create();
+        StringExpertRule rule = StringExpertRule.builder().field(FieldType.ID).operator(OperatorType.IN)
+            .values(new HashSet<>(Set.of("gen", "gen2", "gen3"))).build();
+        StringExpertRule otherRule = StringExpertRule.builder().field(FieldType.ID).operator(OperatorType.IN)
+            .values(new HashSet<>(Set.of("gen2", "gen3", "gen4"))).build();
+
+        // below the Bloom filter minimum size, the values are scanned without building a set
+        EvaluationContext context = new EvaluationContext(filterLoader);
+        assertTrue(rule.evaluateRule(network.getGenerator("GEN"), context));
+        assertFalse(otherRule.evaluateRule(network.getGenerator("GEN"), context));
+        assertNull(context.getIgnoreCaseMembershipSet(rule.getValues()));
+
+        EvaluationContext largeSetContext = new EvaluationContext(filterLoader, FilterEvaluationOptions.builder().bloomFilterMinimumSize(3).build());
+        assertTrue(rule.evaluateRule(network.getGenerator("GEN"), largeSetContext));
+        assertFalse(otherRule.evaluateRule(network.getGenerator("GEN"), largeSetContext));
+        assertTrue(largeSetContext.getIgnoreCaseMembershipSet(rule.getValues()).hasBloomFilter());
+    }
+}
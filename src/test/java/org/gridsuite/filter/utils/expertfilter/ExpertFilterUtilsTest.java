@@ -6,6 +6,8 @@ import org.assertj.core.api.WithAssertions;
 import org.gridsuite.filter.expertfilter.expertrule.AbstractExpertRule;
 import org.gridsuite.filter.expertfilter.expertrule.CombinatorExpertRule;
 import org.gridsuite.filter.expertfilter.expertrule.FilterUuidExpertRule;
+import org.gridsuite.filter.expertfilter.expertrule.NumberExpertRule;
+import org.gridsuite.filter.expertfilter.expertrule.StringExpertRule;
 import org.gridsuite.filter.utils.EquipmentType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -13,6 +15,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -68,4 +71,37 @@ class ExpertFilterUtilsTest implements WithAssertions {
                 )
         );
     }
+
+    @Test
+    void shouldDetectStaticRules() {
+        final AbstractExpertRule idRule = StringExpertRule.builder().field(FieldType.ID).operator(OperatorType.BEGINS_WITH).value("LOAD").build();
+        final AbstractExpertRule maxPRule = NumberExpertRule.builder().field(FieldType.MAX_P).operator(OperatorType.GREATER).value(100.).build();
+        final AbstractExpertRule targetPRule = NumberExpertRule.builder().field(FieldType.TARGET_P).operator(OperatorType.GREATER).value(100.).build();
+        final AbstractExpertRule filterRule = FilterUuidExpertRule.builder().field(FieldType.ID).operator(OperatorType.IS_PART_OF)
+            .values(Set.of(UUID.randomUUID().toString())).build();
+
+        assertThat(FieldType.VOLTAGE_LEVEL_ID.isStatic()).isTrue();
+        assertThat(FieldType.CONNECTED.isStatic()).isFalse();
+        assertThat(ExpertFilterUtils.isStatic(idRule)).isTrue();
+        assertThat(ExpertFilterUtils.isStatic(targetPRule)).isFalse();
+        assertThat(ExpertFilterUtils.isStatic(filterRule)).isFalse();
+        assertThat(ExpertFilterUtils.isStatic(ExpertFilterUtils.buildOrCombination(List.of(idRule, maxPRule)).orElseThrow())).isTrue();
+        assertThat(ExpertFilterUtils.isStatic(ExpertFilterUtils.buildAndCombination(List.of(idRule, targetPRule)).orElseThrow())).isFalse();
+    }
+
+    @Test
+    void shouldExtractBusVoltageLevelRule() {
+        final AbstractExpertRule idRule = StringExpertRule.builder().field(FieldType.ID).operator(OperatorType.IS).value("NGEN").build();
+        final AbstractExpertRule nominalVoltageRule = NumberExpertRule.builder().field(FieldType.NOMINAL_VOLTAGE).operator(OperatorType.GREATER).value(100.).build();
+        final AbstractExpertRule countryRule = StringExpertRule.builder().field(FieldType.COUNTRY).operator(OperatorType.IS).value("FR").build();
+        final AbstractExpertRule orRule = ExpertFilterUtils.buildOrCombination(List.of(nominalVoltageRule, countryRule)).orElseThrow();
+
+        assertThat(ExpertFilterUtils.getBusVoltageLevelRule(idRule)).isEmpty();
+        assertThat(ExpertFilterUtils.getBusVoltageLevelRule(orRule)).contains(orRule);
+        assertThat(ExpertFilterUtils.getBusVoltageLevelRule(ExpertFilterUtils.buildOrCombination(List.of(idRule, countryRule)).orElseThrow())).isEmpty();
+        assertThat(ExpertFilterUtils.getBusVoltageLevelRule(ExpertFilterUtils.buildAndCombination(List.of(idRule, orRule)).orElseThrow())).contains(orRule);
+        assertThat(ExpertFilterUtils.getBusVoltageLevelRule(ExpertFilterUtils.buildAndCombination(List.of(nominalVoltageRule, idRule, countryRule)).orElseThrow()))
+            .get().asInstanceOf(InstanceOfAssertFactories.type(CombinatorExpertRule.class))
+            .satisfies(rule -> assertThat(rule.getRules()).containsExactly(nominalVoltageRule, countryRule));
+    }
 }
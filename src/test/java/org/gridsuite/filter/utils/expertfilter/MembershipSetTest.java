@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.filter.utils.expertfilter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class MembershipSetTest {
+
+    @Test
+    void testExactMembership() {
+        List<String> values = IntStream.range(0, 5_000).mapToObj(i -> "LINE_" + i).toList();
+        MembershipSet membershipSet = MembershipSet.of(values);
+        // the hash table of the values is as cheap as a Bloom filter when respecting the case
+        assertFalse(membershipSet.hasBloomFilter());
+        assertEquals(5_000, membershipSet.size());
+        assertThat(membershipSet).containsExactlyInAnyOrderElementsOf(values);
+        values.forEach(value -> assertTrue(membershipSet.contains(value)));
+        IntStream.range(5_000, 50_000).forEach(i -> assertFalse(membershipSet.contains("LINE_" + i)));
+        assertFalse(membershipSet.contains("line_1"));
+        assertFalse(membershipSet.contains(null));
+        assertThrows(UnsupportedOperationException.class, () -> membershipSet.add("LINE_5000"));
+
+        MembershipSet smallSet = MembershipSet.of(values.subList(0, 10));
+        assertTrue(smallSet.contains("LINE_9"));
+        assertFalse(smallSet.contains("LINE_10"));
+        assertEquals(Set.copyOf(values.subList(0, 10)), smallSet);
+    }
+
+    @Test
+    void testIgnoreCaseMembershipMatchesEqualsIgnoreCase() {
+        List<String> values = List.of("NHV1_NHV2_1", "G\u00E9n\u00E9rateur", "stra\u00DFe", "\u01C5emal", "\uD801\uDC00bc", "\u0130stanbul", "",
+            "VOLTAGE_LEVEL_GENERATOR_0001");
+        List<String> candidates = List.of("nhv1_nhv2_1", "G\u00C9N\u00C9RATEUR", "STRASSE", "STRA\u00DFE", "\u01C6EMAL", "\u01C4emal", "\uD801\uDC28BC",
+            "istanbul", "\u0130STANBUL", "", " ", "NHV1_NHV2_2", "Generateur",
+            "voltage_level_generator_0001", "VOLTAGE_LEVEL_GENERATOR_0002", "VOLTAGE_LEVEL_LOAD_0001", "VOLTAGE_LEVEL_GENERATOR_00001");
+        for (int bloomFilterMinimumSize : new int[] {0, Integer.MAX_VALUE}) {
+            MembershipSet membershipSet = MembershipSet.ofIgnoreCase(values, bloomFilterMinimumSize);
+            assertEquals(bloomFilterMinimumSize == 0, membershipSet.hasBloomFilter());
+            assertThat(membershipSet).containsExactlyInAnyOrderElementsOf(values);
+            for (String candidate : candidates) {
+                assertEquals(values.stream().anyMatch(candidate::equalsIgnoreCase), membershipSet.contains(candidate), candidate);
+            }
+        }
+    }
+
+    @Test
+    void testIgnoreCaseBloomFilterRejectsMissingValues() {
+        // IDs only differing in their middle, far from both ends
+        List<String> values = IntStream.range(0, 5_000).mapToObj(i -> "VOLTAGE_LEVEL_" + i + "_GENERATOR_UNIT").toList();
+        MembershipSet membershipSet = MembershipSet.ofIgnoreCase(values, 1_000);
+        assertTrue(membershipSet.hasBloomFilter());
+        values.forEach(value -> {
+            assertTrue(membershipSet.bloomFilterMightContain(value.toLowerCase(Locale.ROOT)));
+            assertTrue(membershipSet.contains(value.toLowerCase(Locale.ROOT)));
+        });
+
+        // most of the missing values are rejected by the Bloom filter, the others by the exact values
+        long falsePositiveCount = IntStream.range(5_000, 50_000)
+            .mapToObj(i -> "voltage_level_" + i + "_generator_unit")
+            .filter(membershipSet::bloomFilterMightContain)
+            .count();
+        assertThat(falsePositiveCount).isLessThan(45_000 / 50);
+        IntStream.range(5_000, 50_000).forEach(i -> assertFalse(membershipSet.contains("voltage_level_" + i + "_generator_unit")));
+
+        assertFalse(MembershipSet.ofIgnoreCase(values, Integer.MAX_VALUE).hasBloomFilter());
+    }
+
+    @Test
+    void testRandomIgnoreCaseMembership() {
+        Random random = new Random(0);
+        List<String> values = IntStream.range(0, 2_000).mapToObj(i -> randomId(random)).toList();
+        MembershipSet membershipSet = MembershipSet.ofIgnoreCase(values, 100);
+        for (int i = 0; i < 20_000; i++) {
+            String candidate = i % 4 == 0 ? flipCase(values.get(random.nextInt(values.size())), random) : randomId(random);
+            assertEquals(values.stream().anyMatch(candidate::equalsIgnoreCase), membershipSet.contains(candidate), candidate);
+        }
+    }
+
+    private static String randomId(Random random) {
+        StringBuilder id = new StringBuilder();
+        for (int i = 0; i < 3; i++) {
+            id.append((char) ('a' + random.nextInt(26)));
+        }
+        return id.toString();
+    }
+
+    private static String flipCase(String value, Random random) {
+        StringBuilder flipped = new StringBuilder();
+        value.chars().forEach(c -> flipped.append(random.nextBoolean() ? Character.toUpperCase((char) c) : (char) c));
+        return flipped.toString();
+    }
+}